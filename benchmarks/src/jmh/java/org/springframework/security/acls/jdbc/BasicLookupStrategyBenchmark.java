@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.acls.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.acls.domain.AclAuthorizationStrategyImpl;
+import org.springframework.security.acls.domain.ConsoleAuditLogger;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Measures {@link BasicLookupStrategy#readAclsById} against an embedded HSQLDB database,
+ * with caching disabled so that every lookup queries the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BasicLookupStrategyBenchmark {
+
+	private static final String TARGET_CLASS = "org.springframework.security.acls.TargetObject";
+
+	@Param({ "1", "50" })
+	public int objects;
+
+	private SingleConnectionDataSource dataSource;
+
+	private BasicLookupStrategy strategy;
+
+	private List<ObjectIdentity> objectIdentities;
+
+	private final List<Sid> sids = List.of(new PrincipalSid("ben"));
+
+	@Setup
+	public void setup() throws SQLException {
+		this.dataSource = new SingleConnectionDataSource("jdbc:hsqldb:mem:basiclookupstrategybenchmark", "sa", "",
+				true);
+		this.dataSource.setDriverClassName("org.hsqldb.jdbcDriver");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+		ScriptUtils.executeSqlScript(this.dataSource.getConnection(), new ClassPathResource("createAclSchema.sql"));
+		jdbcTemplate.update("INSERT INTO acl_sid(ID,PRINCIPAL,SID) VALUES (1,1,'ben')");
+		jdbcTemplate.update("INSERT INTO acl_class(ID,CLASS) VALUES (2,?)", TARGET_CLASS);
+		this.objectIdentities = new ArrayList<>();
+		for (long id = 1; id <= this.objects; id++) {
+			jdbcTemplate.update("INSERT INTO acl_object_identity(ID,OBJECT_ID_CLASS,OBJECT_ID_IDENTITY,PARENT_OBJECT,"
+					+ "OWNER_SID,ENTRIES_INHERITING) VALUES (?,2,?,null,1,1)", id, id);
+			jdbcTemplate.update("INSERT INTO acl_entry(ID,ACL_OBJECT_IDENTITY,ACE_ORDER,SID,MASK,GRANTING,"
+					+ "AUDIT_SUCCESS,AUDIT_FAILURE) VALUES (?,?,0,1,1,1,0,0)", id, id);
+			this.objectIdentities.add(new ObjectIdentityImpl(TARGET_CLASS, id));
+		}
+		PermissionGrantingStrategy permissionGrantingStrategy = new DefaultPermissionGrantingStrategy(
+				new ConsoleAuditLogger());
+		AclAuthorizationStrategyImpl aclAuthorizationStrategy = new AclAuthorizationStrategyImpl(
+				new SimpleGrantedAuthority("ROLE_ADMINISTRATOR"));
+		SpringCacheBasedAclCache aclCache = new SpringCacheBasedAclCache(new NoOpCache("acls"),
+				permissionGrantingStrategy, aclAuthorizationStrategy);
+		this.strategy = new BasicLookupStrategy(this.dataSource, aclCache, aclAuthorizationStrategy,
+				permissionGrantingStrategy);
+	}
+
+	@TearDown
+	public void tearDown() {
+		new JdbcTemplate(this.dataSource).execute("SHUTDOWN");
+		this.dataSource.destroy();
+	}
+
+	@Benchmark
+	public Map<ObjectIdentity, Acl> readAclsById() {
+		return this.strategy.readAclsById(this.objectIdentities, this.sids);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.HstsHeaderWriter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
+import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+/**
+ * Measures {@link FilterChainProxy#doFilter} with a typical stateless filter chain,
+ * selected from a varying number of {@link SecurityFilterChain}s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterChainProxyBenchmark {
+
+	@Param({ "1", "120" })
+	public int chains;
+
+	@Param({ "false", "true" })
+	public boolean filterChainIndexEnabled;
+
+	private FilterChainProxy filterChainProxy;
+
+	private final FilterChain chain = (request, response) -> {
+	};
+
+	@Setup
+	public void setup() {
+		List<SecurityFilterChain> filterChains = new ArrayList<>();
+		for (int i = 1; i < this.chains; i++) {
+			filterChains.add(
+					new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/tenant" + i + "/**"), filters()));
+		}
+		filterChains.add(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, filters()));
+		this.filterChainProxy = new FilterChainProxy(filterChains);
+		this.filterChainProxy.setFilterChainIndexEnabled(this.filterChainIndexEnabled);
+		this.filterChainProxy.afterPropertiesSet();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse doFilter() throws IOException, ServletException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/messages");
+		request.setServletPath("/api/messages");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filterChainProxy.doFilter(request, response, this.chain);
+		return response;
+	}
+
+	private static List<Filter> filters() {
+		List<Filter> filters = new ArrayList<>();
+		filters.add(new SecurityContextHolderFilter(new HttpSessionSecurityContextRepository()));
+		filters.add(new HeaderWriterFilter(List.of(new XContentTypeOptionsHeaderWriter(),
+				new XXssProtectionHeaderWriter(), new CacheControlHeadersWriter(), new HstsHeaderWriter(),
+				new XFrameOptionsHeaderWriter())));
+		filters.add(new CsrfFilter(new HttpSessionCsrfTokenRepository()));
+		filters.add(new AnonymousAuthenticationFilter("key"));
+		filters.add(new ExceptionTranslationFilter(new Http403ForbiddenEntryPoint()));
+		filters.add(new AuthorizationFilter((authentication, request) -> new AuthorizationDecision(true)));
+		return filters;
+	}
+
+}
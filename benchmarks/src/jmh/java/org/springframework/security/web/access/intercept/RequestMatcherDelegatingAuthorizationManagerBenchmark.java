@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.access.intercept;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+/**
+ * Measures {@link RequestMatcherDelegatingAuthorizationManager#check} against a varying
+ * number of mappings, where the request matches one of the last mappings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestMatcherDelegatingAuthorizationManagerBenchmark {
+
+	@Param({ "10", "200" })
+	public int mappings;
+
+	@Param({ "false", "true" })
+	public boolean mappingIndexEnabled;
+
+	private final Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password",
+			"ROLE_USER");
+
+	private RequestMatcherDelegatingAuthorizationManager manager;
+
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setup() {
+		RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager
+			.builder();
+		for (int i = 0; i < this.mappings; i++) {
+			builder.add(AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/resource" + i + "/**"),
+					AuthorityAuthorizationManager.hasRole("ADMIN"));
+			builder.add(AntPathRequestMatcher.antMatcher("/resource" + i + "/{id}"),
+					AuthorityAuthorizationManager.hasRole("USER"));
+		}
+		this.manager = builder.anyRequest().denyAll().mappingIndexEnabled(this.mappingIndexEnabled).build();
+		String path = "/resource" + (this.mappings - 1) + "/1";
+		this.request = new MockHttpServletRequest("GET", path);
+		this.request.setServletPath(path);
+	}
+
+	@Benchmark
+	public AuthorizationDecision check() {
+		return this.manager.check(this.authentication, this.request);
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Measures {@link StrictHttpFirewall#getFirewalledRequest} for a typical request that is
+ * accepted by the default configuration. The {@code multiPassBaseline} benchmark performs
+ * the same URL checks the way the firewall used to, with one scan of the URL components
+ * per blocklisted string, as a point of comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrictHttpFirewallBenchmark {
+
+	@Param({ "/api/messages", "/api/tenants/acme/messages/42/attachments/report.pdf" })
+	public String path;
+
+	private final StrictHttpFirewall firewall = new StrictHttpFirewall();
+
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setup() {
+		this.request = new MockHttpServletRequest("GET", "/context" + this.path);
+		this.request.setContextPath("/context");
+		this.request.setServletPath(this.path);
+		this.request.setQueryString("page=1&size=20");
+		this.request.addHeader("Accept", "application/json");
+		this.request.addHeader("Authorization", "Bearer token");
+	}
+
+	@Benchmark
+	public FirewalledRequest getFirewalledRequest() {
+		return this.firewall.getFirewalledRequest(this.request);
+	}
+
+	@Benchmark
+	public boolean multiPassBaseline() {
+		for (String forbidden : this.firewall.getEncodedUrlBlocklist()) {
+			if (contains(this.request.getContextPath(), forbidden)
+					|| contains(this.request.getRequestURI(), forbidden)) {
+				return false;
+			}
+		}
+		for (String forbidden : this.firewall.getDecodedUrlBlocklist()) {
+			if (contains(this.request.getServletPath(), forbidden) || contains(this.request.getPathInfo(), forbidden)) {
+				return false;
+			}
+		}
+		return isNormalized(this.request.getRequestURI()) && isNormalized(this.request.getContextPath())
+				&& isNormalized(this.request.getServletPath()) && isNormalized(this.request.getPathInfo())
+				&& isPrintableAscii(this.request.getRequestURI());
+	}
+
+	private static boolean contains(String value, String contains) {
+		return value != null && value.contains(contains);
+	}
+
+	private static boolean isNormalized(String path) {
+		if (path == null) {
+			return true;
+		}
+		for (int i = path.length(); i > 0;) {
+			int slashIndex = path.lastIndexOf('/', i - 1);
+			int gap = i - slashIndex;
+			if (gap == 2 && path.charAt(slashIndex + 1) == '.') {
+				return false;
+			}
+			if (gap == 3 && path.charAt(slashIndex + 1) == '.' && path.charAt(slashIndex + 2) == '.') {
+				return false;
+			}
+			i = slashIndex;
+		}
+		return true;
+	}
+
+	private static boolean isPrintableAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < '\u0020' || c > '\u007e') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
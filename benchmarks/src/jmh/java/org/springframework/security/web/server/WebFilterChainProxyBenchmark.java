@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.web.server.authentication.AnonymousAuthenticationWebFilter;
+import org.springframework.security.web.server.authorization.AuthorizationWebFilter;
+import org.springframework.security.web.server.authorization.ExceptionTranslationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.context.ReactorContextWebFilter;
+import org.springframework.security.web.server.header.CacheControlServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.CompositeServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.HttpHeaderWriterWebFilter;
+import org.springframework.security.web.server.header.StrictTransportSecurityServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XContentTypeOptionsServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XXssProtectionServerHttpHeadersWriter;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Measures {@link WebFilterChainProxy#filter} with a typical stateless filter chain,
+ * selected from a varying number of {@link SecurityWebFilterChain}s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebFilterChainProxyBenchmark {
+
+	@Param({ "1", "120" })
+	public int chains;
+
+	private final WebFilterChain chain = (exchange) -> Mono.empty();
+
+	private WebFilterChainProxy proxy;
+
+	@Setup
+	public void setup() {
+		List<SecurityWebFilterChain> filterChains = new ArrayList<>();
+		for (int i = 1; i < this.chains; i++) {
+			filterChains.add(new MatcherSecurityWebFilterChain(
+					ServerWebExchangeMatchers.pathMatchers("/tenant" + i + "/**"), filters()));
+		}
+		filterChains.add(new MatcherSecurityWebFilterChain(ServerWebExchangeMatchers.anyExchange(), filters()));
+		this.proxy = new WebFilterChainProxy(filterChains);
+	}
+
+	@Benchmark
+	public ServerWebExchange filter() {
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages"));
+		this.proxy.filter(exchange, this.chain).block();
+		return exchange;
+	}
+
+	private static List<WebFilter> filters() {
+		List<WebFilter> filters = new ArrayList<>();
+		filters.add(new HttpHeaderWriterWebFilter(new CompositeServerHttpHeadersWriter(
+				new XContentTypeOptionsServerHttpHeadersWriter(), new XXssProtectionServerHttpHeadersWriter(),
+				new CacheControlServerHttpHeadersWriter(), new StrictTransportSecurityServerHttpHeadersWriter(),
+				new XFrameOptionsServerHttpHeadersWriter())));
+		filters.add(new ReactorContextWebFilter(NoOpServerSecurityContextRepository.getInstance()));
+		filters.add(new AnonymousAuthenticationWebFilter("key"));
+		filters.add(new ExceptionTranslationWebFilter());
+		filters.add(new AuthorizationWebFilter(
+				(authentication, exchange) -> Mono.just(new AuthorizationDecision(true))));
+		return filters;
+	}
+
+}
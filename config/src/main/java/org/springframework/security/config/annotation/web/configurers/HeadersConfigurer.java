@@ -39,6 +39,7 @@ import org.springframework.security.web.header.writers.FeaturePolicyHeaderWriter
 import org.springframework.security.web.header.writers.HpkpHeaderWriter;
 import org.springframework.security.web.header.writers.HstsHeaderWriter;
 import org.springframework.security.web.header.writers.PermissionsPolicyHeaderWriter;
+import org.springframework.security.web.header.writers.PrecomputedHeadersWriter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter.ReferrerPolicy;
 import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
@@ -108,6 +109,8 @@ public class HeadersConfigurer<H extends HttpSecurityBuilder<H>>
 
 	private final CrossOriginResourcePolicyConfig crossOriginResourcePolicy = new CrossOriginResourcePolicyConfig();
 
+	private boolean precomputeStaticHeaders;
+
 	/**
 	 * Creates a new instance
 	 *
@@ -404,6 +407,25 @@ public class HeadersConfigurer<H extends HttpSecurityBuilder<H>>
 		return this;
 	}
 
+	/**
+	 * Specifies whether the headers that do not depend on the request, such as
+	 * {@code X-Content-Type-Options} or {@code Content-Security-Policy}, should be
+	 * computed once and written in a single pass. The {@link HeaderWriter}s that depend
+	 * on the request or on the response, such as the ones for
+	 * {@code Strict-Transport-Security} or {@code Cache-Control}, and the ones added with
+	 * {@link #addHeaderWriter(HeaderWriter)} are still invoked for each request. The
+	 * default is {@code false}.
+	 * @param precomputeStaticHeaders whether to precompute the headers that do not depend
+	 * on the request
+	 * @return the {@link HeadersConfigurer} for additional customizations
+	 * @since 6.3
+	 * @see PrecomputedHeadersWriter
+	 */
+	public HeadersConfigurer<H> precomputeStaticHeaders(boolean precomputeStaticHeaders) {
+		this.precomputeStaticHeaders = precomputeStaticHeaders;
+		return this;
+	}
+
 	@Override
 	public void configure(H http) {
 		HeaderWriterFilter headersFilter = createHeaderWriterFilter();
@@ -444,6 +466,9 @@ public class HeadersConfigurer<H extends HttpSecurityBuilder<H>>
 		addIfNotNull(writers, this.crossOriginOpenerPolicy.writer);
 		addIfNotNull(writers, this.crossOriginEmbedderPolicy.writer);
 		addIfNotNull(writers, this.crossOriginResourcePolicy.writer);
+		if (this.precomputeStaticHeaders && !writers.isEmpty()) {
+			writers = new ArrayList<>(List.of(new PrecomputedHeadersWriter(writers)));
+		}
 		writers.addAll(this.headerWriters);
 		return writers;
 	}
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -113,6 +114,7 @@ import org.springframework.security.oauth2.server.resource.web.server.authentica
 import org.springframework.security.web.PortMapper;
 import org.springframework.security.web.authentication.preauth.x509.SubjectDnX509PrincipalExtractor;
 import org.springframework.security.web.authentication.preauth.x509.X509PrincipalExtractor;
+import org.springframework.security.web.server.CompositeWebFilter;
 import org.springframework.security.web.server.DefaultServerRedirectStrategy;
 import org.springframework.security.web.server.DelegatingServerAuthenticationEntryPoint;
 import org.springframework.security.web.server.DelegatingServerAuthenticationEntryPoint.DelegateEntry;
@@ -342,6 +344,8 @@ public class ServerHttpSecurity {
 
 	private Throwable built;
 
+	private boolean fuseWebFilters;
+
 	private AnonymousSpec anonymous;
 
 	protected ServerHttpSecurity() {
@@ -360,6 +364,23 @@ public class ServerHttpSecurity {
 		return this;
 	}
 
+	/**
+	 * Specifies whether consecutive {@link WebFilter}s that only wrap the rest of the
+	 * chain, such as the ones loading the security context, populating anonymous
+	 * authentication or translating exceptions, should be fused into a single
+	 * {@link CompositeWebFilter}. This saves the {@link Mono} assembly that each
+	 * {@link WebFilter} otherwise requires for each request, at the expense of seeing the
+	 * {@link CompositeWebFilter} instead of the fused {@link WebFilter}s in
+	 * {@link SecurityWebFilterChain#getWebFilters()}. The default is {@code false}.
+	 * @param fuseWebFilters whether to fuse consecutive {@link WebFilter}s
+	 * @return the {@link ServerHttpSecurity} to continue configuring
+	 * @since 6.3
+	 */
+	public ServerHttpSecurity fuseWebFilters(boolean fuseWebFilters) {
+		this.fuseWebFilters = fuseWebFilters;
+		return this;
+	}
+
 	/**
 	 * Adds a {@link WebFilter} at a specific position.
 	 * @param webFilter the {@link WebFilter} to add
@@ -1661,7 +1682,43 @@ public class ServerHttpSecurity {
 			sortedWebFilters.add(f);
 		});
 		sortedWebFilters.add(0, new ServerWebExchangeReactorContextWebFilter());
-		return new MatcherSecurityWebFilterChain(getSecurityMatcher(), sortedWebFilters);
+		List<WebFilter> webFilters = (this.fuseWebFilters) ? fuse(sortedWebFilters) : sortedWebFilters;
+		return new MatcherSecurityWebFilterChain(getSecurityMatcher(), webFilters);
+	}
+
+	/**
+	 * Replaces each run of consecutive {@link WebFilter}s that are safe to invoke
+	 * directly with a {@link CompositeWebFilter}. Only the exact types known to invoke
+	 * the rest of the chain and subscribe to it, without other side effects, are fused.
+	 * For example, {@link HttpHeaderWriterWebFilter} is not, since it registers an action
+	 * to run before the response is committed as soon as it is invoked.
+	 */
+	private static List<WebFilter> fuse(List<WebFilter> webFilters) {
+		Set<Class<?>> fusable = Set.of(ServerWebExchangeReactorContextWebFilter.class, ReactorContextWebFilter.class,
+				AnonymousAuthenticationWebFilter.class, SecurityContextServerWebExchangeWebFilter.class,
+				ExceptionTranslationWebFilter.class);
+		List<WebFilter> fused = new ArrayList<>();
+		List<WebFilter> run = new ArrayList<>();
+		for (WebFilter webFilter : webFilters) {
+			if (fusable.contains(webFilter.getClass())) {
+				run.add(webFilter);
+				continue;
+			}
+			addFused(run, fused);
+			fused.add(webFilter);
+		}
+		addFused(run, fused);
+		return fused;
+	}
+
+	private static void addFused(List<WebFilter> run, List<WebFilter> fused) {
+		if (run.size() == 1) {
+			fused.add(run.get(0));
+		}
+		else if (run.size() > 1) {
+			fused.add(new CompositeWebFilter(run));
+		}
+		run.clear();
 	}
 
 	private String buildToString() {
@@ -103,6 +103,31 @@ public class HeadersConfigurerTests {
 				HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.PRAGMA, HttpHeaders.X_XSS_PROTECTION);
 	}
 
+	@Test
+	public void getWhenStaticHeadersPrecomputedThenDefaultHeadersInResponse() throws Exception {
+		this.spring.register(PrecomputedHeadersConfig.class).autowire();
+		MvcResult mvcResult = this.mvc.perform(get("/").secure(true))
+			.andExpect(header().string(HttpHeaders.X_CONTENT_TYPE_OPTIONS, "nosniff"))
+			.andExpect(header().string(HttpHeaders.X_FRAME_OPTIONS, XFrameOptionsMode.DENY.name()))
+			.andExpect(header().string(HttpHeaders.STRICT_TRANSPORT_SECURITY, "max-age=31536000 ; includeSubDomains"))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, max-age=0, must-revalidate"))
+			.andExpect(header().string(HttpHeaders.EXPIRES, "0"))
+			.andExpect(header().string(HttpHeaders.PRAGMA, "no-cache"))
+			.andExpect(header().string(HttpHeaders.X_XSS_PROTECTION, "0"))
+			.andReturn();
+		assertThat(mvcResult.getResponse().getHeaderNames()).containsExactlyInAnyOrder(
+				HttpHeaders.X_CONTENT_TYPE_OPTIONS, HttpHeaders.X_FRAME_OPTIONS, HttpHeaders.STRICT_TRANSPORT_SECURITY,
+				HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.PRAGMA, HttpHeaders.X_XSS_PROTECTION);
+	}
+
+	@Test
+	public void getWhenStaticHeadersPrecomputedAndInsecureThenNoHstsHeaderInResponse() throws Exception {
+		this.spring.register(PrecomputedHeadersConfig.class).autowire();
+		this.mvc.perform(get("/"))
+			.andExpect(header().doesNotExist(HttpHeaders.STRICT_TRANSPORT_SECURITY))
+			.andExpect(header().string(HttpHeaders.X_CONTENT_TYPE_OPTIONS, "nosniff"));
+	}
+
 	@Test
 	public void getWhenHeaderDefaultsDisabledAndContentTypeConfiguredThenOnlyContentTypeHeaderInResponse()
 			throws Exception {
@@ -604,6 +629,23 @@ public class HeadersConfigurerTests {
 
 	}
 
+	@Configuration
+	@EnableWebSecurity
+	static class PrecomputedHeadersConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.headers((headers) -> headers
+					.precomputeStaticHeaders(true)
+				);
+			return http.build();
+			// @formatter:on
+		}
+
+	}
+
 	@Configuration
 	@EnableWebSecurity
 	static class ContentTypeOptionsConfig {
@@ -50,6 +50,7 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequ
 import org.springframework.security.oauth2.core.endpoint.TestOAuth2AuthorizationRequests;
 import org.springframework.security.test.web.reactive.server.WebTestClientBuilder;
 import org.springframework.security.web.authentication.preauth.x509.X509PrincipalExtractor;
+import org.springframework.security.web.server.CompositeWebFilter;
 import org.springframework.security.web.server.DefaultServerRedirectStrategy;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
@@ -66,6 +67,7 @@ import org.springframework.security.web.server.authentication.logout.DelegatingS
 import org.springframework.security.web.server.authentication.logout.LogoutWebFilter;
 import org.springframework.security.web.server.authentication.logout.SecurityContextServerLogoutHandler;
 import org.springframework.security.web.server.authentication.logout.ServerLogoutHandler;
+import org.springframework.security.web.server.context.ReactorContextWebFilter;
 import org.springframework.security.web.server.context.SecurityContextServerWebExchangeWebFilter;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
 import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
@@ -76,6 +78,7 @@ import org.springframework.security.web.server.csrf.DefaultCsrfToken;
 import org.springframework.security.web.server.csrf.ServerCsrfTokenRepository;
 import org.springframework.security.web.server.csrf.ServerCsrfTokenRequestHandler;
 import org.springframework.security.web.server.csrf.XorServerCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.server.header.HttpHeaderWriterWebFilter;
 import org.springframework.security.web.server.savedrequest.ServerRequestCache;
 import org.springframework.security.web.server.savedrequest.WebSessionServerRequestCache;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -165,6 +168,49 @@ public class ServerHttpSecurityTests {
 		assertThat(result.getResponseCookies().getFirst("SESSION")).isNull();
 	}
 
+	@Test
+	public void basicWhenFuseWebFiltersThenAuthenticates() {
+		given(this.authenticationManager.authenticate(any()))
+			.willReturn(Mono.just(new TestingAuthenticationToken("rob", "rob", "ROLE_USER", "ROLE_ADMIN")));
+		this.http.fuseWebFilters(true);
+		this.http.httpBasic(withDefaults());
+		this.http.authorizeExchange((authorize) -> authorize.anyExchange().authenticated());
+		WebTestClient client = buildClient();
+		// @formatter:off
+		client.get()
+				.uri("/")
+				.headers((headers) -> headers
+						.setBasicAuth("rob", "rob")
+				)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueMatches(HttpHeaders.CACHE_CONTROL, ".+")
+				.expectBody(String.class).consumeWith((b) -> assertThat(b.getResponseBody()).isEqualTo("ok"));
+		client.get()
+				.uri("/")
+				.exchange()
+				.expectStatus().isUnauthorized()
+				.expectHeader().valueMatches(HttpHeaders.CACHE_CONTROL, ".+");
+		// @formatter:on
+	}
+
+	@Test
+	public void buildWhenFuseWebFiltersThenConsecutiveWrappingFiltersFused() {
+		this.http.fuseWebFilters(true);
+		this.http.csrf((csrf) -> csrf.disable());
+		List<WebFilter> filters = this.http.build().getWebFilters().collectList().block();
+		List<CompositeWebFilter> composites = filters.stream()
+			.filter(CompositeWebFilter.class::isInstance)
+			.map(CompositeWebFilter.class::cast)
+			.toList();
+		assertThat(composites).isNotEmpty();
+		assertThat(composites).flatExtracting(CompositeWebFilter::getWebFilters)
+			.extracting(WebFilter::getClass)
+			.contains(ReactorContextWebFilter.class, SecurityContextServerWebExchangeWebFilter.class)
+			.doesNotContain(HttpHeaderWriterWebFilter.class);
+		assertThat(filters).hasAtLeastOneElementOfType(HttpHeaderWriterWebFilter.class);
+	}
+
 	@Test
 	public void basicWithGlobalWebSessionServerSecurityContextRepository() {
 		given(this.authenticationManager.authenticate(any()))
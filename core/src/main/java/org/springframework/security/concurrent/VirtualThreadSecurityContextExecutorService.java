@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * An {@link ExecutorService} that runs each task with the {@link SecurityContext} that
+ * was current when the task was submitted, designed for executors that run each task on a
+ * new thread, such as {@link #newVirtualThreadPerTaskExecutor()}.
+ * <p>
+ * Unlike {@link DelegatingSecurityContextExecutorService}, each task is wrapped only
+ * once, in the {@link java.util.concurrent.Future} that is returned for it, and its
+ * {@link SecurityContext} is set when it starts and cleared when it completes rather than
+ * swapped with the previous {@link SecurityContext} of the thread. This means the threads
+ * of the delegate {@link ExecutorService} are expected not to carry a
+ * {@link SecurityContext} of their own, which is the case for new threads and for the
+ * threads of a pool that only runs such tasks. {@link #invokeAll(java.util.Collection)}
+ * creates the {@link java.util.concurrent.Future}s directly from the provided tasks,
+ * without an intermediate collection of wrapped tasks.
+ * {@link #invokeAny(java.util.Collection)} passes the wrapped tasks on to the delegate
+ * {@link ExecutorService}, which decides how many of them are started, so they are all
+ * counted as submitted.
+ * <p>
+ * The number of submitted, active and completed tasks is exposed for monitoring.
+ *
+ * @since 6.3
+ * @see DelegatingSecurityContextExecutorService
+ */
+public final class VirtualThreadSecurityContextExecutorService extends AbstractExecutorService {
+
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = ClassUtils
+		.getMethodIfAvailable(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+	private final ExecutorService delegate;
+
+	private final SecurityContext securityContext;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private final LongAdder submitted = new LongAdder();
+
+	private final LongAdder active = new LongAdder();
+
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 * Creates a new {@link VirtualThreadSecurityContextExecutorService} that uses the
+	 * specified {@link SecurityContext}.
+	 * @param delegate the {@link ExecutorService} to delegate to. Cannot be null.
+	 * @param securityContext the {@link SecurityContext} to run each task with or null to
+	 * default to the current {@link SecurityContext} at the time the task is submitted
+	 */
+	public VirtualThreadSecurityContextExecutorService(ExecutorService delegate, SecurityContext securityContext) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+		this.securityContext = securityContext;
+	}
+
+	/**
+	 * Creates a new {@link VirtualThreadSecurityContextExecutorService} that uses the
+	 * current {@link SecurityContext} from the {@link SecurityContextHolderStrategy} at
+	 * the time the task is submitted.
+	 * @param delegate the {@link ExecutorService} to delegate to. Cannot be null.
+	 */
+	public VirtualThreadSecurityContextExecutorService(ExecutorService delegate) {
+		this(delegate, null);
+	}
+
+	/**
+	 * Creates a new {@link VirtualThreadSecurityContextExecutorService} that runs each
+	 * task on a new virtual thread, using the current {@link SecurityContext} at the time
+	 * the task is submitted. When virtual threads are not available, which is the case
+	 * before Java 21, tasks run on the threads of {@link Executors#newCachedThreadPool()}
+	 * instead.
+	 * @return the {@link VirtualThreadSecurityContextExecutorService}
+	 */
+	public static VirtualThreadSecurityContextExecutorService newVirtualThreadPerTaskExecutor() {
+		ExecutorService delegate = (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null)
+				? (ExecutorService) ReflectionUtils.invokeMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR, null)
+				: Executors.newCachedThreadPool();
+		return new VirtualThreadSecurityContextExecutorService(delegate);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		Assert.notNull(command, "command cannot be null");
+		Runnable task = isOwnTask(command) ? command : new SecurityContextRunnable(command, getSecurityContext());
+		this.submitted.increment();
+		try {
+			this.delegate.execute(task);
+		}
+		catch (RuntimeException ex) {
+			this.submitted.decrement();
+			throw ex;
+		}
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new SecurityContextFutureTask<>(runnable, value, getSecurityContext());
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new SecurityContextFutureTask<>(callable, getSecurityContext());
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		return this.delegate.invokeAny(createTasks(tasks));
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		return this.delegate.invokeAny(createTasks(tasks), timeout, unit);
+	}
+
+	@Override
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return this.delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.delegate.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Returns the number of tasks that were accepted by the delegate
+	 * {@link ExecutorService}
+	 * @return the number of submitted tasks
+	 */
+	public long getSubmittedTaskCount() {
+		return this.submitted.sum();
+	}
+
+	/**
+	 * Returns the number of tasks that are currently running
+	 * @return the number of active tasks
+	 */
+	public long getActiveTaskCount() {
+		return this.active.sum();
+	}
+
+	/**
+	 * Returns the number of tasks that have finished running, whether normally or with an
+	 * exception. Tasks that were cancelled before they started are not counted.
+	 * @return the number of completed tasks
+	 */
+	public long getCompletedTaskCount() {
+		return this.completed.sum();
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
+	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [delegate=" + this.delegate + ", submitted=" + getSubmittedTaskCount()
+				+ ", active=" + getActiveTaskCount() + ", completed=" + getCompletedTaskCount() + "]";
+	}
+
+	private SecurityContext getSecurityContext() {
+		return (this.securityContext != null) ? this.securityContext
+				: this.securityContextHolderStrategy.getContext();
+	}
+
+	private boolean isOwnTask(Runnable command) {
+		return command instanceof SecurityContextFutureTask<?> task && task.getExecutor() == this;
+	}
+
+	private void runWithContext(SecurityContext securityContext, Runnable task) {
+		try {
+			callWithContext(securityContext, () -> {
+				task.run();
+				return null;
+			});
+		}
+		catch (RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private <T> T callWithContext(SecurityContext securityContext, Callable<T> task) throws Exception {
+		SecurityContextHolderStrategy strategy = this.securityContextHolderStrategy;
+		this.active.increment();
+		try {
+			if (strategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+				return scoped.callWithContext(() -> securityContext, task);
+			}
+			strategy.setContext(securityContext);
+			try {
+				return task.call();
+			}
+			finally {
+				strategy.clearContext();
+			}
+		}
+		finally {
+			this.active.decrement();
+			this.completed.increment();
+		}
+	}
+
+	private <T> List<Callable<T>> createTasks(Collection<? extends Callable<T>> tasks) {
+		Assert.notNull(tasks, "tasks cannot be null");
+		SecurityContext securityContext = getSecurityContext();
+		List<Callable<T>> results = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			Assert.notNull(task, "tasks cannot contain null");
+			results.add(() -> callWithContext(securityContext, task));
+		}
+		this.submitted.add(results.size());
+		return results;
+	}
+
+	private final class SecurityContextRunnable implements Runnable {
+
+		private final Runnable delegate;
+
+		private final SecurityContext securityContext;
+
+		private SecurityContextRunnable(Runnable delegate, SecurityContext securityContext) {
+			this.delegate = delegate;
+			this.securityContext = securityContext;
+		}
+
+		@Override
+		public void run() {
+			runWithContext(this.securityContext, this.delegate);
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+
+	}
+
+	private final class SecurityContextFutureTask<T> extends FutureTask<T> {
+
+		private final SecurityContext securityContext;
+
+		private SecurityContextFutureTask(Callable<T> callable, SecurityContext securityContext) {
+			super(callable);
+			this.securityContext = securityContext;
+		}
+
+		private SecurityContextFutureTask(Runnable runnable, T result, SecurityContext securityContext) {
+			super(runnable, result);
+			this.securityContext = securityContext;
+		}
+
+		@Override
+		public void run() {
+			if (!isDone()) {
+				runWithContext(this.securityContext, super::run);
+			}
+		}
+
+		private VirtualThreadSecurityContextExecutorService getExecutor() {
+			return VirtualThreadSecurityContextExecutorService.this;
+		}
+
+	}
+
+}
@@ -53,6 +53,10 @@ final class InheritableThreadLocalSecurityContextHolderStrategy implements Secur
 		return result;
 	}
 
+	Supplier<SecurityContext> peekDeferredContext() {
+		return contextHolder.get();
+	}
+
 	@Override
 	public void setContext(SecurityContext context) {
 		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
@@ -150,6 +150,10 @@ public final class ListeningSecurityContextHolderStrategy implements SecurityCon
 		return this.delegate.getDeferredContext();
 	}
 
+	Supplier<SecurityContext> peekDeferredContext() {
+		return SecurityContextThreadLocalAccessor.peekDeferredContext(this.delegate);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.util.function.Supplier;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ThreadLocalAccessor} that bridges the {@code Mono<SecurityContext>} stored by
+ * {@link ReactiveSecurityContextHolder} in the Reactor
+ * {@link reactor.util.context.Context} and the {@link SecurityContext} of a
+ * {@link SecurityContextHolderStrategy}.
+ * <p>
+ * Capturing, for example with {@code Mono.contextCapture()}, makes the current
+ * {@link SecurityContext} available to {@link ReactiveSecurityContextHolder#getContext()}
+ * downstream. Since the {@link SecurityContext} is published with {@code Mono.just},
+ * capturing resolves the {@link SecurityContextHolderStrategy#getDeferredContext()
+ * deferred context} when one is set; nothing is captured when it is not set or is empty,
+ * and no empty {@link SecurityContext} is stored by capturing. When Reactor restores
+ * thread locals from a {@link reactor.util.context.Context}, for example with its
+ * automatic context propagation enabled, the {@link SecurityContext} is set when it is
+ * already known, as is the case with
+ * {@link ReactiveSecurityContextHolder#withAuthentication} and {@code Mono.just}. Since a
+ * {@code Mono<SecurityContext>} that still needs to be subscribed to cannot be resolved
+ * without blocking, the {@link SecurityContext} is cleared instead in that case.
+ * <p>
+ * Unlike {@link SecurityContextThreadLocalAccessor}, this accessor requires Reactor and
+ * is not registered automatically. It can be registered with
+ * {@code io.micrometer.context.ContextRegistry#registerThreadLocalAccessor}.
+ *
+ * @since 6.3
+ * @see SecurityContextThreadLocalAccessor
+ */
+public final class ReactiveSecurityContextHolderThreadLocalAccessor
+		implements ThreadLocalAccessor<Mono<? extends SecurityContext>> {
+
+	private final Supplier<SecurityContextHolderStrategy> securityContextHolderStrategy;
+
+	private final SecurityContextThreadLocalAccessor delegate;
+
+	/**
+	 * Creates a new instance that uses the {@link SecurityContextHolderStrategy} of the
+	 * {@link SecurityContextHolder}
+	 */
+	public ReactiveSecurityContextHolderThreadLocalAccessor() {
+		this.securityContextHolderStrategy = SecurityContextHolder::getContextHolderStrategy;
+		this.delegate = new SecurityContextThreadLocalAccessor();
+	}
+
+	/**
+	 * Creates a new instance that uses the provided {@link SecurityContextHolderStrategy}
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public ReactiveSecurityContextHolderThreadLocalAccessor(
+			SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = () -> securityContextHolderStrategy;
+		this.delegate = new SecurityContextThreadLocalAccessor(securityContextHolderStrategy);
+	}
+
+	/**
+	 * Returns the key used by {@link ReactiveSecurityContextHolder}
+	 * @return the key
+	 */
+	@Override
+	public Object key() {
+		return SecurityContext.class;
+	}
+
+	@Override
+	@Nullable
+	public Mono<? extends SecurityContext> getValue() {
+		SecurityContextHolderStrategy strategy = this.securityContextHolderStrategy.get();
+		Supplier<SecurityContext> deferredContext = SecurityContextThreadLocalAccessor.peekDeferredContext(strategy);
+		if (deferredContext == null) {
+			return null;
+		}
+		SecurityContext context = deferredContext.get();
+		return strategy.createEmptyContext().equals(context) ? null : Mono.just(context);
+	}
+
+	@Override
+	public void setValue(Mono<? extends SecurityContext> value) {
+		SecurityContext context = resolve(value);
+		if (context != null) {
+			this.delegate.setValue(() -> context);
+		}
+		else {
+			this.delegate.setValue();
+		}
+	}
+
+	@Override
+	public void setValue() {
+		this.delegate.setValue();
+	}
+
+	@Nullable
+	private static SecurityContext resolve(Mono<? extends SecurityContext> value) {
+		if (!(value instanceof Fuseable.ScalarCallable<?> scalar)) {
+			return null;
+		}
+		try {
+			return (SecurityContext) scalar.call();
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SecurityContextHolderStrategy} that binds the {@link SecurityContext} to a
+ * scope, such as the processing of a request or of a task, rather than to a thread.
+ * <p>
+ * A scope is opened with {@link #runWithContext(Supplier, Runnable)} or
+ * {@link #callWithContext(Supplier, Callable)}. Within it, the {@link SecurityContext}
+ * can be read and replaced as usual, and it is discarded when the scope exits, without
+ * {@link #clearContext()} being needed. Scopes can be nested, in which case the outer
+ * {@link SecurityContext} is visible again once the inner scope exits. Code that accesses
+ * the {@link SecurityContext} outside of any scope uses a {@link ThreadLocal}, like
+ * {@link SecurityContextHolder#MODE_THREADLOCAL} does.
+ * <p>
+ * On Java 25 and later, scopes are bound with {@code java.lang.ScopedValue}, which does
+ * not keep a per-thread map entry and is cheap to bind on virtual threads. On earlier
+ * versions, scopes are bound with a {@link ThreadLocal} that is removed when the
+ * outermost scope exits. In both cases the {@link SecurityContext} is not inherited by
+ * child threads.
+ *
+ * @since 6.3
+ * @see SecurityContextHolder#setContextHolderStrategy(SecurityContextHolderStrategy)
+ */
+public final class ScopedValueSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+	private final Scopes scopes = Scopes.create();
+
+	private final ThreadLocal<Holder> fallback = new ThreadLocal<>();
+
+	/**
+	 * Runs the provided {@link Runnable} in a new scope
+	 * @param deferredContext the {@link SecurityContext} of the scope, or {@code null} to
+	 * start with an empty {@link SecurityContext}
+	 * @param runnable the {@link Runnable} to run
+	 */
+	public void runWithContext(@Nullable Supplier<SecurityContext> deferredContext, Runnable runnable) {
+		Assert.notNull(runnable, "runnable cannot be null");
+		try {
+			callWithContext(deferredContext, () -> {
+				runnable.run();
+				return null;
+			});
+		}
+		catch (RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Calls the provided {@link Callable} in a new scope
+	 * @param deferredContext the {@link SecurityContext} of the scope, or {@code null} to
+	 * start with an empty {@link SecurityContext}
+	 * @param callable the {@link Callable} to call
+	 * @param <T> the type of the result
+	 * @return the result of the {@link Callable}
+	 * @throws Exception if the {@link Callable} throws an exception
+	 */
+	public <T> T callWithContext(@Nullable Supplier<SecurityContext> deferredContext, Callable<T> callable)
+			throws Exception {
+		Assert.notNull(callable, "callable cannot be null");
+		Holder holder = new Holder();
+		if (deferredContext != null) {
+			holder.deferredContext = notNull(deferredContext);
+		}
+		return this.scopes.call(holder, callable);
+	}
+
+	/**
+	 * Returns whether the current thread is running in a scope opened by this strategy
+	 * @return {@code true} if a scope is bound
+	 */
+	public boolean isBound() {
+		return this.scopes.current() != null;
+	}
+
+	@Override
+	public void clearContext() {
+		Holder holder = this.scopes.current();
+		if (holder != null) {
+			holder.deferredContext = null;
+		}
+		else {
+			this.fallback.remove();
+		}
+	}
+
+	@Override
+	public SecurityContext getContext() {
+		return getDeferredContext().get();
+	}
+
+	@Override
+	public Supplier<SecurityContext> getDeferredContext() {
+		Holder holder = getHolder();
+		Supplier<SecurityContext> result = holder.deferredContext;
+		if (result == null) {
+			SecurityContext context = createEmptyContext();
+			result = () -> context;
+			holder.deferredContext = result;
+		}
+		return result;
+	}
+
+	Supplier<SecurityContext> peekDeferredContext() {
+		Holder holder = this.scopes.current();
+		if (holder == null) {
+			holder = this.fallback.get();
+		}
+		return (holder != null) ? holder.deferredContext : null;
+	}
+
+	@Override
+	public void setContext(SecurityContext context) {
+		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+		getHolder().deferredContext = () -> context;
+	}
+
+	@Override
+	public void setDeferredContext(Supplier<SecurityContext> deferredContext) {
+		Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+		getHolder().deferredContext = notNull(deferredContext);
+	}
+
+	@Override
+	public SecurityContext createEmptyContext() {
+		return new SecurityContextImpl();
+	}
+
+	private Holder getHolder() {
+		Holder holder = this.scopes.current();
+		if (holder != null) {
+			return holder;
+		}
+		holder = this.fallback.get();
+		if (holder == null) {
+			holder = new Holder();
+			this.fallback.set(holder);
+		}
+		return holder;
+	}
+
+	private static Supplier<SecurityContext> notNull(Supplier<SecurityContext> deferredContext) {
+		return () -> {
+			SecurityContext result = deferredContext.get();
+			Assert.notNull(result, "A Supplier<SecurityContext> returned null and is not allowed.");
+			return result;
+		};
+	}
+
+	/**
+	 * The mutable {@link SecurityContext} of a scope or of a thread outside of any scope
+	 */
+	private static final class Holder {
+
+		private Supplier<SecurityContext> deferredContext;
+
+	}
+
+	/**
+	 * Binds a {@link Holder} for the duration of a {@link Callable}
+	 */
+	private abstract static class Scopes {
+
+		abstract Holder current();
+
+		abstract <T> T call(Holder holder, Callable<T> callable) throws Exception;
+
+		static Scopes create() {
+			if (Runtime.version().feature() >= 25) {
+				try {
+					return new ScopedValueScopes();
+				}
+				catch (Throwable ex) {
+					// fall back to a ThreadLocal
+				}
+			}
+			return new ThreadLocalScopes();
+		}
+
+	}
+
+	private static final class ThreadLocalScopes extends Scopes {
+
+		private final ThreadLocal<Holder> holders = new ThreadLocal<>();
+
+		@Override
+		Holder current() {
+			return this.holders.get();
+		}
+
+		@Override
+		<T> T call(Holder holder, Callable<T> callable) throws Exception {
+			Holder previous = this.holders.get();
+			this.holders.set(holder);
+			try {
+				return callable.call();
+			}
+			finally {
+				if (previous != null) {
+					this.holders.set(previous);
+				}
+				else {
+					this.holders.remove();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Uses {@code java.lang.ScopedValue}, which is looked up reflectively since it is not
+	 * available on the Java version this class is compiled for
+	 */
+	private static final class ScopedValueScopes extends Scopes {
+
+		private final MethodHandle isBound;
+
+		private final MethodHandle get;
+
+		private final MethodHandle where;
+
+		private final MethodHandle run;
+
+		private ScopedValueScopes() throws Throwable {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+			Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+			Object scopedValue = lookup
+				.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+				.invoke();
+			this.isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+				.bindTo(scopedValue);
+			this.get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+				.bindTo(scopedValue);
+			this.where = lookup
+				.findStatic(scopedValueClass, "where",
+						MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+				.bindTo(scopedValue)
+				.asType(MethodType.methodType(Object.class, Holder.class));
+			this.run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+				.asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+		}
+
+		@Override
+		Holder current() {
+			try {
+				return ((boolean) this.isBound.invokeExact()) ? (Holder) (Object) this.get.invokeExact() : null;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		<T> T call(Holder holder, Callable<T> callable) throws Exception {
+			Outcome<T> outcome = new Outcome<>();
+			try {
+				Object carrier = (Object) this.where.invokeExact(holder);
+				this.run.invokeExact(carrier, (Runnable) () -> outcome.complete(callable));
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+			return outcome.get();
+		}
+
+	}
+
+	/**
+	 * The result or the failure of a {@link Callable} invoked through a {@link Runnable}
+	 */
+	private static final class Outcome<T> {
+
+		private T result;
+
+		private Throwable failure;
+
+		private void complete(Callable<T> callable) {
+			try {
+				this.result = callable.call();
+			}
+			catch (Throwable ex) {
+				this.failure = ex;
+			}
+		}
+
+		private T get() throws Exception {
+			if (this.failure instanceof Exception ex) {
+				throw ex;
+			}
+			if (this.failure instanceof Error error) {
+				throw error;
+			}
+			return this.result;
+		}
+
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.util.function.Supplier;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ThreadLocalAccessor} that lets the Micrometer context propagation library
+ * capture the {@link SecurityContext} of a {@link SecurityContextHolderStrategy} and
+ * restore it on another thread, for example across the {@code publishOn} and
+ * {@code subscribeOn} operators of Reactor when its automatic context propagation is
+ * enabled.
+ * <p>
+ * The {@link SecurityContextHolderStrategy#getDeferredContext() deferred context} is
+ * captured and restored, so that capturing does not resolve a {@link SecurityContext}
+ * that is loaded lazily, for example from the session. Nothing is captured when no
+ * {@link SecurityContext} is set, without storing an empty one either. A custom
+ * {@link SecurityContextHolderStrategy} cannot tell whether a {@link SecurityContext} is
+ * set, so its deferred context is always captured.
+ * <p>
+ * This accessor is registered with {@code io.micrometer.context.ContextRegistry} through
+ * the {@link java.util.ServiceLoader} mechanism, and uses the
+ * {@link SecurityContextHolderStrategy} of the {@link SecurityContextHolder} at the time
+ * it is accessed.
+ *
+ * @since 6.3
+ * @see ReactiveSecurityContextHolderThreadLocalAccessor
+ */
+public final class SecurityContextThreadLocalAccessor implements ThreadLocalAccessor<Supplier<SecurityContext>> {
+
+	/**
+	 * The key under which the {@link SecurityContext} is captured
+	 */
+	public static final String KEY = "spring.security.context";
+
+	private final Supplier<SecurityContextHolderStrategy> securityContextHolderStrategy;
+
+	/**
+	 * Creates a new instance that uses the {@link SecurityContextHolderStrategy} of the
+	 * {@link SecurityContextHolder}
+	 */
+	public SecurityContextThreadLocalAccessor() {
+		this.securityContextHolderStrategy = SecurityContextHolder::getContextHolderStrategy;
+	}
+
+	/**
+	 * Creates a new instance that uses the provided {@link SecurityContextHolderStrategy}
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public SecurityContextThreadLocalAccessor(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = () -> securityContextHolderStrategy;
+	}
+
+	@Override
+	public Object key() {
+		return KEY;
+	}
+
+	@Override
+	@Nullable
+	public Supplier<SecurityContext> getValue() {
+		return peekDeferredContext(this.securityContextHolderStrategy.get());
+	}
+
+	@Override
+	public void setValue(Supplier<SecurityContext> value) {
+		this.securityContextHolderStrategy.get().setDeferredContext(value);
+	}
+
+	@Override
+	public void setValue() {
+		this.securityContextHolderStrategy.get().clearContext();
+	}
+
+	/**
+	 * Returns the deferred {@link SecurityContext} of the provided
+	 * {@link SecurityContextHolderStrategy}, without storing an empty one when none is
+	 * set, as {@link SecurityContextHolderStrategy#getDeferredContext()} does
+	 * @param strategy the {@link SecurityContextHolderStrategy} to use
+	 * @return the deferred {@link SecurityContext}, or {@code null} if none is set
+	 */
+	@Nullable
+	static Supplier<SecurityContext> peekDeferredContext(SecurityContextHolderStrategy strategy) {
+		if (strategy instanceof ThreadLocalSecurityContextHolderStrategy threadLocal) {
+			return threadLocal.peekDeferredContext();
+		}
+		if (strategy instanceof InheritableThreadLocalSecurityContextHolderStrategy inheritableThreadLocal) {
+			return inheritableThreadLocal.peekDeferredContext();
+		}
+		if (strategy instanceof ScopedValueSecurityContextHolderStrategy scopedValue) {
+			return scopedValue.peekDeferredContext();
+		}
+		if (strategy instanceof ListeningSecurityContextHolderStrategy listening) {
+			return listening.peekDeferredContext();
+		}
+		return strategy.getDeferredContext();
+	}
+
+}
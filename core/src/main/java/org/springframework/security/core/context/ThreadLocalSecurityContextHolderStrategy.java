@@ -54,6 +54,10 @@ final class ThreadLocalSecurityContextHolderStrategy implements SecurityContextH
 		return result;
 	}
 
+	Supplier<SecurityContext> peekDeferredContext() {
+		return contextHolder.get();
+	}
+
 	@Override
 	public void setContext(SecurityContext context) {
 		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveSessionRegistry} that, unlike {@link InMemoryReactiveSessionRegistry},
+ * evicts sessions whose last access time was not updated for longer than a maximum
+ * inactive interval, so that sessions that are abandoned without being removed do not
+ * accumulate. Memory is bounded by the number of sessions registered within one interval.
+ * <p>
+ * Idle sessions are evicted by a timer wheel that is advanced periodically on a
+ * {@link Scheduler}, {@link Schedulers#parallel()} by default, without blocking any
+ * request. A session is evicted at most 1/256 of the maximum inactive interval after it
+ * became idle. The time of the {@link Scheduler} is used to determine whether a session
+ * is idle.
+ * <p>
+ * The sessions of each principal are kept ordered by their last access time and counted
+ * as they are saved and removed, so that {@link #getLeastRecentlyUsedSessions(Object)}
+ * does not sort and {@link #getSessionCount(Object)} does not iterate.
+ *
+ * @since 6.3
+ * @see InMemoryReactiveSessionRegistry
+ */
+public class IdleTimeoutReactiveSessionRegistry implements ReactiveSessionRegistry, DisposableBean {
+
+	private static final int WHEEL_SIZE = 256;
+
+	// <principal:Object,<sessionId,RegisteredSession> ordered by last access time>
+	private final ConcurrentMap<Object, Map<String, RegisteredSession>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, RegisteredSession> sessionById = new ConcurrentHashMap<>();
+
+	private final long maxInactiveMillis;
+
+	private final Scheduler scheduler;
+
+	private final TimerWheel<RegisteredSession> timerWheel;
+
+	private final Disposable evictionTask;
+
+	private final LongAdder evictedSessionCount = new LongAdder();
+
+	/**
+	 * Creates a new instance that evicts idle sessions on {@link Schedulers#parallel()}
+	 * @param maxInactiveInterval the time after which a session whose last access time
+	 * was not updated is evicted
+	 */
+	public IdleTimeoutReactiveSessionRegistry(Duration maxInactiveInterval) {
+		this(maxInactiveInterval, Schedulers.parallel());
+	}
+
+	/**
+	 * Creates a new instance
+	 * @param maxInactiveInterval the time after which a session whose last access time
+	 * was not updated is evicted
+	 * @param scheduler the {@link Scheduler} to evict idle sessions on
+	 */
+	public IdleTimeoutReactiveSessionRegistry(Duration maxInactiveInterval, Scheduler scheduler) {
+		Assert.notNull(maxInactiveInterval, "maxInactiveInterval cannot be null");
+		Assert.isTrue(maxInactiveInterval.toMillis() > 0, "maxInactiveInterval must be at least one millisecond");
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.maxInactiveMillis = maxInactiveInterval.toMillis();
+		this.scheduler = scheduler;
+		long tickMillis = Math.max(1, this.maxInactiveMillis / WHEEL_SIZE);
+		this.timerWheel = new TimerWheel<>(tickMillis, WHEEL_SIZE);
+		this.evictionTask = scheduler.schedulePeriodically(this::evictIdleSessions, tickMillis, tickMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The sessions are ordered by their last access time, least recently used first.
+	 */
+	@Override
+	public Flux<ReactiveSessionInformation> getAllSessions(Object principal) {
+		return Flux.defer(() -> {
+			Map<String, RegisteredSession> sessions = this.sessionsByPrincipal.get(principal);
+			if (sessions == null) {
+				return Flux.empty();
+			}
+			List<ReactiveSessionInformation> result;
+			synchronized (sessions) {
+				result = new ArrayList<>(sessions.size());
+				for (RegisteredSession session : sessions.values()) {
+					result.add(session.information);
+				}
+			}
+			return Flux.fromIterable(result);
+		});
+	}
+
+	@Override
+	public Flux<ReactiveSessionInformation> getLeastRecentlyUsedSessions(Object principal) {
+		return getAllSessions(principal);
+	}
+
+	@Override
+	public Mono<Integer> getSessionCount(Object principal) {
+		return Mono.fromSupplier(() -> {
+			Map<String, RegisteredSession> sessions = this.sessionsByPrincipal.get(principal);
+			if (sessions == null) {
+				return 0;
+			}
+			synchronized (sessions) {
+				return sessions.size();
+			}
+		});
+	}
+
+	@Override
+	public Mono<Void> saveSessionInformation(ReactiveSessionInformation information) {
+		return Mono.fromRunnable(() -> {
+			long now = now();
+			RegisteredSession session = new RegisteredSession(information, now);
+			RegisteredSession previous = this.sessionById.put(information.getSessionId(), session);
+			if (previous != null) {
+				removeFromPrincipal(previous);
+			}
+			this.sessionsByPrincipal.compute(information.getPrincipal(), (key, sessions) -> {
+				if (sessions == null) {
+					sessions = new LinkedHashMap<>(4, 0.75f, true);
+				}
+				synchronized (sessions) {
+					sessions.put(information.getSessionId(), session);
+				}
+				return sessions;
+			});
+			this.timerWheel.schedule(session, now + this.maxInactiveMillis);
+		});
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> getSessionInformation(String sessionId) {
+		return Mono.fromSupplier(() -> {
+			RegisteredSession session = this.sessionById.get(sessionId);
+			return (session != null) ? session.information : null;
+		});
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> removeSessionInformation(String sessionId) {
+		return Mono.fromSupplier(() -> {
+			RegisteredSession session = this.sessionById.remove(sessionId);
+			if (session == null) {
+				return null;
+			}
+			removeFromPrincipal(session);
+			return session.information;
+		});
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> updateLastAccessTime(String sessionId) {
+		return Mono.defer(() -> {
+			RegisteredSession session = this.sessionById.get(sessionId);
+			if (session == null) {
+				return Mono.empty();
+			}
+			session.lastAccessedMillis = now();
+			Map<String, RegisteredSession> sessions = this.sessionsByPrincipal.get(session.information.getPrincipal());
+			if (sessions != null) {
+				synchronized (sessions) {
+					// moves the session to the end of the access ordered map
+					sessions.get(sessionId);
+				}
+			}
+			return session.information.refreshLastRequest().thenReturn(session.information);
+		});
+	}
+
+	/**
+	 * Evicts the sessions whose last access time was not updated for longer than the
+	 * maximum inactive interval. This method is invoked periodically on the
+	 * {@link Scheduler} and does not need to be called otherwise.
+	 */
+	public void evictIdleSessions() {
+		long now = now();
+		this.timerWheel.advance(now, (session) -> {
+			if (this.sessionById.get(session.information.getSessionId()) != session) {
+				return -1;
+			}
+			long deadline = session.lastAccessedMillis + this.maxInactiveMillis;
+			if (deadline > now) {
+				return deadline;
+			}
+			if (this.sessionById.remove(session.information.getSessionId(), session)) {
+				this.evictedSessionCount.increment();
+				removeFromPrincipal(session);
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Returns the number of sessions in the registry, which can be used as a gauge
+	 * @return the number of sessions
+	 */
+	public int getLiveSessionCount() {
+		return this.sessionById.size();
+	}
+
+	/**
+	 * Returns the number of sessions that were evicted because they were idle
+	 * @return the number of evicted sessions
+	 */
+	public long getEvictedSessionCount() {
+		return this.evictedSessionCount.sum();
+	}
+
+	/**
+	 * Stops evicting idle sessions
+	 */
+	@Override
+	public void destroy() {
+		this.evictionTask.dispose();
+	}
+
+	private long now() {
+		return this.scheduler.now(TimeUnit.MILLISECONDS);
+	}
+
+	private void removeFromPrincipal(RegisteredSession session) {
+		this.sessionsByPrincipal.computeIfPresent(session.information.getPrincipal(), (key, sessions) -> {
+			synchronized (sessions) {
+				sessions.remove(session.information.getSessionId(), session);
+				return (sessions.isEmpty()) ? null : sessions;
+			}
+		});
+	}
+
+	private static final class RegisteredSession {
+
+		private final ReactiveSessionInformation information;
+
+		private volatile long lastAccessedMillis;
+
+		private RegisteredSession(ReactiveSessionInformation information, long lastAccessedMillis) {
+			this.information = information;
+			this.lastAccessedMillis = lastAccessedMillis;
+		}
+
+	}
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRegistry} that, unlike {@link SessionRegistryImpl}, evicts sessions
+ * that have not been used for longer than a maximum inactive interval. This bounds the
+ * size of the registry even if a {@link SessionDestroyedEvent} is lost, for example when
+ * a node is restarted or the servlet container does not publish it.
+ * <p>
+ * Idle sessions are evicted by a timer wheel that is advanced as sessions are registered
+ * and refreshed, and by {@link #evictIdleSessions()}, which can be scheduled to bound the
+ * time an idle session stays in memory when there is no other activity. An idle session
+ * that was not evicted yet is never returned. The maximum inactive interval should be at
+ * least the session timeout of the servlet container.
+ * <p>
+ * The sessions of each principal are kept ordered by their last request, so that
+ * {@link #refreshLastRequest(String)} is O(1) and
+ * {@link #getAllSessions(Object, boolean)} returns the least recently used sessions
+ * first. Operations on different principals do not contend with each other.
+ *
+ * @since 6.3
+ * @see SessionRegistryImpl
+ */
+public class IdleTimeoutSessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+	private static final int WHEEL_SIZE = 256;
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	// <principal:Object,<sessionId,RegisteredSession> ordered by last request>
+	private final ConcurrentMap<Object, Map<String, RegisteredSession>> principals = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, RegisteredSession> sessionIds = new ConcurrentHashMap<>();
+
+	private final long maxInactiveMillis;
+
+	private final TimerWheel<RegisteredSession> timerWheel;
+
+	private final LongAdder evictedSessionCount = new LongAdder();
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Creates a new instance
+	 * @param maxInactiveInterval the time after which a session that has not been used is
+	 * evicted
+	 */
+	public IdleTimeoutSessionRegistry(Duration maxInactiveInterval) {
+		Assert.notNull(maxInactiveInterval, "maxInactiveInterval cannot be null");
+		Assert.isTrue(maxInactiveInterval.toMillis() > 0, "maxInactiveInterval must be at least one millisecond");
+		this.maxInactiveMillis = maxInactiveInterval.toMillis();
+		this.timerWheel = new TimerWheel<>(Math.max(1, this.maxInactiveMillis / WHEEL_SIZE), WHEEL_SIZE);
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		return new ArrayList<>(this.principals.keySet());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The sessions are ordered by their last request, least recently used first.
+	 */
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Map<String, RegisteredSession> sessionsUsedByPrincipal = this.principals.get(principal);
+		if (sessionsUsedByPrincipal == null) {
+			return Collections.emptyList();
+		}
+		long now = this.clock.millis();
+		List<SessionInformation> list;
+		synchronized (sessionsUsedByPrincipal) {
+			list = new ArrayList<>(sessionsUsedByPrincipal.size());
+			for (RegisteredSession session : sessionsUsedByPrincipal.values()) {
+				if (session.isIdle(now, this.maxInactiveMillis)) {
+					continue;
+				}
+				if (includeExpiredSessions || !session.information.isExpired()) {
+					list.add(session.information);
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public List<SessionInformation> getLeastRecentlyUsedSessions(Object principal, boolean includeExpiredSessions) {
+		return getAllSessions(principal, includeExpiredSessions);
+	}
+
+	@Override
+	public int getSessionCount(Object principal) {
+		Map<String, RegisteredSession> sessionsUsedByPrincipal = this.principals.get(principal);
+		if (sessionsUsedByPrincipal == null) {
+			return 0;
+		}
+		long now = this.clock.millis();
+		int count = 0;
+		synchronized (sessionsUsedByPrincipal) {
+			for (RegisteredSession session : sessionsUsedByPrincipal.values()) {
+				if (!session.isIdle(now, this.maxInactiveMillis) && !session.information.isExpired()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		RegisteredSession session = this.sessionIds.get(sessionId);
+		if (session == null) {
+			return null;
+		}
+		if (session.isIdle(this.clock.millis(), this.maxInactiveMillis)) {
+			evict(session);
+			return null;
+		}
+		return session.information;
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			String sessionId = sessionDestroyedEvent.getId();
+			removeSessionInformation(sessionId);
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			String oldSessionId = sessionIdChangedEvent.getOldSessionId();
+			RegisteredSession session = this.sessionIds.get(oldSessionId);
+			if (session != null) {
+				Object principal = session.information.getPrincipal();
+				removeSessionInformation(oldSessionId);
+				registerNewSession(sessionIdChangedEvent.getNewSessionId(), principal);
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		RegisteredSession session = this.sessionIds.get(sessionId);
+		if (session == null) {
+			return;
+		}
+		long now = this.clock.millis();
+		if (session.isIdle(now, this.maxInactiveMillis)) {
+			evict(session);
+			return;
+		}
+		Map<String, RegisteredSession> sessionsUsedByPrincipal = this.principals
+			.get(session.information.getPrincipal());
+		if (sessionsUsedByPrincipal != null) {
+			synchronized (sessionsUsedByPrincipal) {
+				// moves the session to the end of the access ordered map
+				sessionsUsedByPrincipal.get(sessionId);
+			}
+		}
+		session.information.refreshLastRequest();
+		session.lastAccessedMillis = now;
+		advance(now);
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		if (this.sessionIds.containsKey(sessionId)) {
+			removeSessionInformation(sessionId);
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		}
+		long now = this.clock.millis();
+		RegisteredSession session = new RegisteredSession(new SessionInformation(principal, sessionId, new Date(now)),
+				now);
+		this.sessionIds.put(sessionId, session);
+		this.principals.compute(principal, (key, sessionsUsedByPrincipal) -> {
+			if (sessionsUsedByPrincipal == null) {
+				sessionsUsedByPrincipal = new LinkedHashMap<>(4, 0.75f, true);
+			}
+			synchronized (sessionsUsedByPrincipal) {
+				sessionsUsedByPrincipal.put(sessionId, session);
+			}
+			return sessionsUsedByPrincipal;
+		});
+		this.timerWheel.schedule(session, now + this.maxInactiveMillis);
+		advance(now);
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		RegisteredSession session = this.sessionIds.remove(sessionId);
+		if (session == null) {
+			return;
+		}
+		if (this.logger.isTraceEnabled()) {
+			this.logger.trace("Removing session " + sessionId + " from set of registered sessions");
+		}
+		removeFromPrincipal(session);
+	}
+
+	/**
+	 * Evicts the sessions that have not been used for longer than the maximum inactive
+	 * interval. Calling this method is only needed to release the memory of idle sessions
+	 * when no sessions are registered or refreshed.
+	 */
+	public void evictIdleSessions() {
+		advance(this.clock.millis());
+	}
+
+	/**
+	 * Returns the number of registered sessions, which can be used as a gauge
+	 * @return the number of registered sessions
+	 */
+	public int getSessionCount() {
+		return this.sessionIds.size();
+	}
+
+	/**
+	 * Returns the number of principals with registered sessions, which can be used as a
+	 * gauge
+	 * @return the number of principals
+	 */
+	public int getPrincipalCount() {
+		return this.principals.size();
+	}
+
+	/**
+	 * Returns the number of sessions that were evicted because they were idle
+	 * @return the number of evicted sessions
+	 */
+	public long getEvictedSessionCount() {
+		return this.evictedSessionCount.sum();
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine whether a session is idle. The default is
+	 * {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void advance(long now) {
+		this.timerWheel.advance(now, (session) -> {
+			if (this.sessionIds.get(session.information.getSessionId()) != session) {
+				return -1;
+			}
+			long deadline = session.lastAccessedMillis + this.maxInactiveMillis;
+			if (deadline > now) {
+				return deadline;
+			}
+			evict(session);
+			return -1;
+		});
+	}
+
+	private void evict(RegisteredSession session) {
+		String sessionId = session.information.getSessionId();
+		if (!this.sessionIds.remove(sessionId, session)) {
+			return;
+		}
+		this.logger.debug(LogMessage.format("Evicting idle session %s", sessionId));
+		this.evictedSessionCount.increment();
+		removeFromPrincipal(session);
+	}
+
+	private void removeFromPrincipal(RegisteredSession session) {
+		Object principal = session.information.getPrincipal();
+		this.principals.computeIfPresent(principal, (key, sessionsUsedByPrincipal) -> {
+			synchronized (sessionsUsedByPrincipal) {
+				sessionsUsedByPrincipal.remove(session.information.getSessionId(), session);
+				if (sessionsUsedByPrincipal.isEmpty()) {
+					// No need to keep object in principals Map anymore
+					this.logger.debug(LogMessage.format("Removing principal %s from registry", principal));
+					return null;
+				}
+				return sessionsUsedByPrincipal;
+			}
+		});
+	}
+
+	private static final class RegisteredSession {
+
+		private final SessionInformation information;
+
+		private volatile long lastAccessedMillis;
+
+		private RegisteredSession(SessionInformation information, long lastAccessedMillis) {
+			this.information = information;
+			this.lastAccessedMillis = lastAccessedMillis;
+		}
+
+		private boolean isIdle(long now, long maxInactiveMillis) {
+			return now - this.lastAccessedMillis >= maxInactiveMillis;
+		}
+
+	}
+
+}
@@ -16,7 +16,10 @@
 
 package org.springframework.security.core.session;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +58,28 @@ public class InMemoryReactiveSessionRegistry implements ReactiveSessionRegistry
 			.map(this.sessionById::get);
 	}
 
+	@Override
+	public Flux<ReactiveSessionInformation> getLeastRecentlyUsedSessions(Object principal) {
+		return Flux.defer(() -> {
+			Set<String> sessionIds = this.sessionIdsByPrincipal.getOrDefault(principal, Collections.emptySet());
+			List<ReactiveSessionInformation> sessions = new ArrayList<>(sessionIds.size());
+			for (String sessionId : sessionIds) {
+				ReactiveSessionInformation session = this.sessionById.get(sessionId);
+				if (session != null) {
+					sessions.add(session);
+				}
+			}
+			sessions.sort(Comparator.comparing(ReactiveSessionInformation::getLastAccessTime));
+			return Flux.fromIterable(sessions);
+		});
+	}
+
+	@Override
+	public Mono<Integer> getSessionCount(Object principal) {
+		return Mono.fromSupplier(
+				() -> this.sessionIdsByPrincipal.getOrDefault(principal, Collections.emptySet()).size());
+	}
+
 	@Override
 	public Mono<Void> saveSessionInformation(ReactiveSessionInformation information) {
 		this.sessionById.put(information.getSessionId(), information);
@@ -16,6 +16,8 @@
 
 package org.springframework.security.core.session;
 
+import java.util.Comparator;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -36,6 +38,31 @@ public interface ReactiveSessionRegistry {
 	 */
 	Flux<ReactiveSessionInformation> getAllSessions(Object principal);
 
+	/**
+	 * Gets the same {@link ReactiveSessionInformation} instances as
+	 * {@link #getAllSessions(Object)}, ordered by their last access time, least recently
+	 * used first. The default implementation sorts the result of
+	 * {@link #getAllSessions(Object)}, implementations that keep their sessions ordered
+	 * should override it.
+	 * @param principal the principal
+	 * @return the {@link ReactiveSessionInformation} instances associated with the
+	 * principal, least recently used first
+	 */
+	default Flux<ReactiveSessionInformation> getLeastRecentlyUsedSessions(Object principal) {
+		return getAllSessions(principal).sort(Comparator.comparing(ReactiveSessionInformation::getLastAccessTime));
+	}
+
+	/**
+	 * Gets the number of sessions for the specified principal. The default implementation
+	 * counts the result of {@link #getAllSessions(Object)}, implementations that can
+	 * count their sessions directly should override it.
+	 * @param principal the principal
+	 * @return the number of sessions associated with the principal
+	 */
+	default Mono<Integer> getSessionCount(Object principal) {
+		return getAllSessions(principal).count().map(Math::toIntExact);
+	}
+
 	/**
 	 * Saves the {@link ReactiveSessionInformation}
 	 * @param information the {@link ReactiveSessionInformation} to save
@@ -16,6 +16,8 @@
 
 package org.springframework.security.core.session;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -43,6 +45,36 @@ public interface SessionRegistry {
 	 */
 	List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions);
 
+	/**
+	 * Obtains the same sessions as {@link #getAllSessions(Object, boolean)}, ordered by
+	 * their last request, least recently used first. The default implementation sorts the
+	 * result of {@link #getAllSessions(Object, boolean)}, implementations that keep their
+	 * sessions ordered should override it.
+	 * @param principal to locate sessions for (should never be <code>null</code>)
+	 * @param includeExpiredSessions if <code>true</code>, the returned sessions will also
+	 * include those that have expired for the principal
+	 * @return the matching sessions for this principal, least recently used first
+	 * @since 6.3
+	 */
+	default List<SessionInformation> getLeastRecentlyUsedSessions(Object principal, boolean includeExpiredSessions) {
+		List<SessionInformation> sessions = new ArrayList<>(getAllSessions(principal, includeExpiredSessions));
+		sessions.sort(Comparator.comparing(SessionInformation::getLastRequest));
+		return sessions;
+	}
+
+	/**
+	 * Obtains the number of sessions for the specified principal that have not expired.
+	 * The default implementation counts the result of
+	 * {@link #getAllSessions(Object, boolean)}, implementations that can count their
+	 * sessions without copying them should override it.
+	 * @param principal to count sessions for (should never be <code>null</code>)
+	 * @return the number of unexpired sessions of this principal
+	 * @since 6.3
+	 */
+	default int getSessionCount(Object principal) {
+		return getAllSessions(principal, false).size();
+	}
+
 	/**
 	 * Obtains the session information for the specified <code>sessionId</code>. Even
 	 * expired sessions are returned (although destroyed sessions are never returned).
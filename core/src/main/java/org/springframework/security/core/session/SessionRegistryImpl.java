@@ -16,8 +16,10 @@
 
 package org.springframework.security.core.session;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.log.LogMessage;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Default implementation of
@@ -57,6 +60,10 @@ public class SessionRegistryImpl implements SessionRegistry, ApplicationListener
 	// <sessionId:Object,SessionInformation>
 	private final Map<String, SessionInformation> sessionIds;
 
+	// whether the sessions can be ordered and counted without getAllSessions, since a
+	// subclass does not override it
+	private final boolean collectSessionsDirectly = !overridesGetAllSessions();
+
 	public SessionRegistryImpl() {
 		this.principals = new ConcurrentHashMap<>();
 		this.sessionIds = new ConcurrentHashMap<>();
@@ -75,6 +82,46 @@ public class SessionRegistryImpl implements SessionRegistry, ApplicationListener
 
 	@Override
 	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		return collectSessions(principal, includeExpiredSessions);
+	}
+
+	@Override
+	public List<SessionInformation> getLeastRecentlyUsedSessions(Object principal, boolean includeExpiredSessions) {
+		if (!this.collectSessionsDirectly) {
+			return SessionRegistry.super.getLeastRecentlyUsedSessions(principal, includeExpiredSessions);
+		}
+		List<SessionInformation> list = collectSessions(principal, includeExpiredSessions);
+		if (list.size() > 1) {
+			list.sort(Comparator.comparing(SessionInformation::getLastRequest));
+		}
+		return list;
+	}
+
+	@Override
+	public int getSessionCount(Object principal) {
+		if (!this.collectSessionsDirectly) {
+			return SessionRegistry.super.getSessionCount(principal);
+		}
+		Set<String> sessionsUsedByPrincipal = this.principals.get(principal);
+		if (sessionsUsedByPrincipal == null) {
+			return 0;
+		}
+		int count = 0;
+		for (String sessionId : sessionsUsedByPrincipal) {
+			SessionInformation sessionInformation = getSessionInformation(sessionId);
+			if (sessionInformation != null && !sessionInformation.isExpired()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private boolean overridesGetAllSessions() {
+		Method method = ReflectionUtils.findMethod(getClass(), "getAllSessions", Object.class, boolean.class);
+		return method != null && method.getDeclaringClass() != SessionRegistryImpl.class;
+	}
+
+	private List<SessionInformation> collectSessions(Object principal, boolean includeExpiredSessions) {
 		Set<String> sessionsUsedByPrincipal = this.principals.get(principal);
 		if (sessionsUsedByPrincipal == null) {
 			return Collections.emptyList();
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * A hashed timer wheel that holds items until their deadline. Scheduling is O(1) and
+ * advancing the wheel only visits the buckets of the ticks that have passed, each of them
+ * at most once.
+ * <p>
+ * The wheel does not track items that are rescheduled or no longer needed. Instead, the
+ * function passed to {@link #advance(long, ToLongFunction)} decides for every item that
+ * is due whether it is dropped or scheduled again, which keeps frequent deadline updates
+ * away from the wheel.
+ *
+ * @param <T> the type of the scheduled items
+ */
+final class TimerWheel<T> {
+
+	private final long tickMillis;
+
+	private final Queue<Node<T>>[] buckets;
+
+	private final int mask;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private volatile long currentTick;
+
+	/**
+	 * Creates a new instance
+	 * @param tickMillis the duration of a tick in milliseconds
+	 * @param size the number of buckets, which must be a power of two
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	TimerWheel(long tickMillis, int size) {
+		Assert.isTrue(tickMillis > 0, "tickMillis must be greater than 0");
+		Assert.isTrue(size > 0 && Integer.bitCount(size) == 1, "size must be a power of two");
+		this.tickMillis = tickMillis;
+		this.buckets = new Queue[size];
+		for (int i = 0; i < size; i++) {
+			this.buckets[i] = new ConcurrentLinkedQueue<>();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Schedules the item to be passed to the function of
+	 * {@link #advance(long, ToLongFunction)} once the deadline has passed
+	 * @param item the item to schedule
+	 * @param deadlineMillis the deadline in milliseconds
+	 */
+	void schedule(T item, long deadlineMillis) {
+		long tick = Math.max(-Math.floorDiv(-deadlineMillis, this.tickMillis), this.currentTick + 1);
+		this.buckets[(int) (tick & this.mask)].add(new Node<>(item, deadlineMillis));
+	}
+
+	/**
+	 * Advances the wheel to the provided time and passes every item whose deadline has
+	 * passed to the provided function. The function returns the next deadline of the
+	 * item, or a negative value if it should no longer be scheduled. If another thread is
+	 * already advancing the wheel, this method returns immediately.
+	 * @param nowMillis the current time in milliseconds
+	 * @param onDeadline the function to invoke for every item that is due
+	 */
+	void advance(long nowMillis, ToLongFunction<T> onDeadline) {
+		long nowTick = Math.floorDiv(nowMillis, this.tickMillis);
+		if (nowTick <= this.currentTick || !this.lock.tryLock()) {
+			return;
+		}
+		try {
+			long previousTick = this.currentTick;
+			if (nowTick <= previousTick) {
+				return;
+			}
+			this.currentTick = nowTick;
+			long lastTick = Math.min(nowTick, previousTick + this.buckets.length);
+			List<Node<T>> due = new ArrayList<>();
+			List<Node<T>> pending = new ArrayList<>();
+			for (long tick = previousTick + 1; tick <= lastTick; tick++) {
+				Queue<Node<T>> bucket = this.buckets[(int) (tick & this.mask)];
+				Node<T> node;
+				while ((node = bucket.poll()) != null) {
+					((node.deadlineMillis <= nowMillis) ? due : pending).add(node);
+				}
+			}
+			for (Node<T> node : pending) {
+				schedule(node.item, node.deadlineMillis);
+			}
+			for (Node<T> node : due) {
+				long deadlineMillis = onDeadline.applyAsLong(node.item);
+				if (deadlineMillis >= 0) {
+					schedule(node.item, deadlineMillis);
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private static final class Node<T> {
+
+		private final T item;
+
+		private final long deadlineMillis;
+
+		private Node(T item, long deadlineMillis) {
+			this.item = item;
+			this.deadlineMillis = deadlineMillis;
+		}
+
+	}
+
+}
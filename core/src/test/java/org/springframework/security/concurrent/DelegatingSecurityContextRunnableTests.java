@@ -31,6 +31,7 @@ import org.mockito.stubbing.Answer;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.support.ExecutorServiceAdapter;
 import org.springframework.security.core.context.MockSecurityContextHolderStrategy;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -153,6 +154,21 @@ public class DelegatingSecurityContextRunnableTests {
 		assertWrapped(this.runnable);
 	}
 
+	@Test
+	public void callWithScopedValueSecurityContextHolderStrategy() {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		SecurityContext original = strategy.createEmptyContext();
+		strategy.setContext(original);
+		givenDelegateRunWillAnswerWithCurrentSecurityContext(strategy);
+		DelegatingSecurityContextRunnable runnable = new DelegatingSecurityContextRunnable(this.delegate,
+				this.securityContext);
+		runnable.setSecurityContextHolderStrategy(strategy);
+		runnable.run();
+		verify(this.delegate).run();
+		assertThat(strategy.getContext()).isSameAs(original);
+		strategy.clearContext();
+	}
+
 	@Test
 	public void createNullDelegate() {
 		assertThatIllegalArgumentException()
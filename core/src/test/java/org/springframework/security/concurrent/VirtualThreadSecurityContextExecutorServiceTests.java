@@ -0,0 +1,184 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link VirtualThreadSecurityContextExecutorService}
+ */
+public class VirtualThreadSecurityContextExecutorServiceTests {
+
+	private VirtualThreadSecurityContextExecutorService executor = new VirtualThreadSecurityContextExecutorService(
+			Executors.newSingleThreadExecutor());
+
+	@AfterEach
+	public void cleanup() throws Exception {
+		SecurityContextHolder.clearContext();
+		this.executor.shutdownNow();
+		this.executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void constructorWhenDelegateNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VirtualThreadSecurityContextExecutorService(null));
+	}
+
+	@Test
+	public void submitWhenSecurityContextThenTaskRunsWithSecurityContext() throws Exception {
+		SecurityContext securityContext = securityContext("explicit");
+		this.executor.shutdown();
+		this.executor = new VirtualThreadSecurityContextExecutorService(Executors.newSingleThreadExecutor(),
+				securityContext);
+		SecurityContextHolder.setContext(securityContext("current"));
+		assertThat(this.executor.submit(SecurityContextHolder::getContext).get()).isSameAs(securityContext);
+	}
+
+	@Test
+	public void submitWhenNoSecurityContextThenTaskRunsWithSecurityContextAtSubmission() throws Exception {
+		SecurityContext securityContext = securityContext("current");
+		SecurityContextHolder.setContext(securityContext);
+		Future<SecurityContext> result = this.executor.submit(SecurityContextHolder::getContext);
+		SecurityContextHolder.setContext(securityContext("changed"));
+		assertThat(result.get()).isSameAs(securityContext);
+	}
+
+	@Test
+	public void executeWhenTaskCompletesThenSecurityContextCleared() throws Exception {
+		SecurityContextHolder.setContext(securityContext("current"));
+		CountDownLatch latch = new CountDownLatch(1);
+		this.executor.execute(latch::countDown);
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		SecurityContextHolder.clearContext();
+		Authentication authentication = this.executor
+			.submit(() -> SecurityContextHolder.getContext().getAuthentication())
+			.get();
+		assertThat(authentication).isNull();
+	}
+
+	@Test
+	public void submitWhenTaskFailsThenSecurityContextClearedAndCompleted() throws Exception {
+		SecurityContextHolder.setContext(securityContext("current"));
+		Future<Object> result = this.executor.submit(() -> {
+			throw new IllegalStateException();
+		});
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(result::get)
+			.withCauseInstanceOf(IllegalStateException.class);
+		SecurityContextHolder.clearContext();
+		assertThat(this.executor.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get())
+			.isNull();
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.executor.getCompletedTaskCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void invokeAllThenEachTaskRunsWithSecurityContextAndCounted() throws Exception {
+		this.executor.shutdown();
+		this.executor = new VirtualThreadSecurityContextExecutorService(Executors.newFixedThreadPool(4));
+		SecurityContext securityContext = securityContext("current");
+		SecurityContextHolder.setContext(securityContext);
+		List<Callable<SecurityContext>> tasks = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			tasks.add(SecurityContextHolder::getContext);
+		}
+		List<Future<SecurityContext>> results = this.executor.invokeAll(tasks);
+		assertThat(results).hasSize(1000);
+		for (Future<SecurityContext> result : results) {
+			assertThat(result.get()).isSameAs(securityContext);
+		}
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.executor.getSubmittedTaskCount()).isEqualTo(1000);
+		assertThat(this.executor.getCompletedTaskCount()).isEqualTo(1000);
+		assertThat(this.executor.getActiveTaskCount()).isZero();
+	}
+
+	@Test
+	public void invokeAnyThenTaskRunsWithSecurityContext() throws Exception {
+		SecurityContext securityContext = securityContext("current");
+		SecurityContextHolder.setContext(securityContext);
+		List<Callable<SecurityContext>> tasks = List.of(SecurityContextHolder::getContext);
+		assertThat(this.executor.invokeAny(tasks)).isSameAs(securityContext);
+		assertThat(this.executor.getSubmittedTaskCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void getActiveTaskCountWhenTaskRunningThenCounted() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> result = this.executor.submit(() -> {
+			started.countDown();
+			release.await();
+			return null;
+		});
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.executor.getActiveTaskCount()).isEqualTo(1);
+		assertThat(this.executor.getCompletedTaskCount()).isZero();
+		release.countDown();
+		result.get();
+		assertThat(this.executor.getSubmittedTaskCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void submitWhenScopedValueSecurityContextHolderStrategyThenTaskRunsInScope() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		this.executor.setSecurityContextHolderStrategy(strategy);
+		SecurityContext securityContext = securityContext("current");
+		strategy.setContext(securityContext);
+		Future<Boolean> bound = this.executor.submit(strategy::isBound);
+		Future<SecurityContext> result = this.executor.submit(strategy::getContext);
+		strategy.clearContext();
+		assertThat(bound.get()).isTrue();
+		assertThat(result.get()).isSameAs(securityContext);
+	}
+
+	@Test
+	public void newVirtualThreadPerTaskExecutorThenTaskRunsWithSecurityContext() throws Exception {
+		this.executor.shutdown();
+		this.executor = VirtualThreadSecurityContextExecutorService.newVirtualThreadPerTaskExecutor();
+		SecurityContext securityContext = securityContext("current");
+		SecurityContextHolder.setContext(securityContext);
+		assertThat(this.executor.submit(SecurityContextHolder::getContext).get()).isSameAs(securityContext);
+	}
+
+	private static SecurityContext securityContext(String username) {
+		return new SecurityContextImpl(new TestingAuthenticationToken(username, "password"));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import reactor.util.context.ReactorContextAccessor;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReactiveSecurityContextHolderThreadLocalAccessor}
+ */
+public class ReactiveSecurityContextHolderThreadLocalAccessorTests {
+
+	private final ThreadLocalSecurityContextHolderStrategy strategy = new ThreadLocalSecurityContextHolderStrategy();
+
+	private final ReactiveSecurityContextHolderThreadLocalAccessor accessor = new ReactiveSecurityContextHolderThreadLocalAccessor(
+			this.strategy);
+
+	private final ContextSnapshotFactory factory = ContextSnapshotFactory.builder()
+		.contextRegistry(new ContextRegistry().registerContextAccessor(new ReactorContextAccessor())
+			.registerThreadLocalAccessor(this.accessor))
+		.build();
+
+	private final Authentication authentication = new TestingAuthenticationToken("user", "password");
+
+	@Test
+	public void getValueWhenEmptyThenNull() {
+		assertThat(this.accessor.getValue()).isNull();
+		assertThat(this.strategy.peekDeferredContext()).isNull();
+	}
+
+	@Test
+	public void setValueWhenScalarThenContextSet() {
+		SecurityContext context = new SecurityContextImpl(this.authentication);
+		this.accessor.setValue(Mono.just(context));
+		assertThat(this.strategy.getContext()).isSameAs(context);
+		this.accessor.setValue();
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void setValueWhenDeferredThenContextCleared() {
+		this.strategy.setContext(new SecurityContextImpl(this.authentication));
+		this.accessor.setValue(Mono.fromSupplier(() -> new SecurityContextImpl(this.authentication)));
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void setThreadLocalsFromWhenReactiveSecurityContextHolderThenContextSet() {
+		try (ContextSnapshot.Scope scope = this.factory
+			.setThreadLocalsFrom(ReactiveSecurityContextHolder.withAuthentication(this.authentication))) {
+			assertThat(this.strategy.getContext().getAuthentication()).isSameAs(this.authentication);
+		}
+		assertThat(this.strategy.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	public void captureAllWhenContextThenAvailableToReactiveSecurityContextHolder() {
+		this.strategy.setContext(new SecurityContextImpl(this.authentication));
+		Context context = this.factory.captureAll().updateContext(Context.empty());
+		this.strategy.clearContext();
+		Mono<Authentication> authentication = ReactiveSecurityContextHolder.getContext()
+			.map(SecurityContext::getAuthentication)
+			.contextWrite(context);
+		StepVerifier.create(authentication).expectNext(this.authentication).verifyComplete();
+	}
+
+}
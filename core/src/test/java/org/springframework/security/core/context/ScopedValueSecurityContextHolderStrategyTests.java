@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ScopedValueSecurityContextHolderStrategyTests {
+
+	ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+
+	@AfterEach
+	void clearContext() {
+		this.strategy.clearContext();
+	}
+
+	@Test
+	void contextWhenNotBoundThenThreadLocal() {
+		SecurityContext context = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.setContext(context);
+		assertThat(this.strategy.isBound()).isFalse();
+		assertThat(this.strategy.getContext()).isEqualTo(context);
+		this.strategy.clearContext();
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	void runWithContextThenContextBoundToScope() {
+		SecurityContext outside = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext context = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.setContext(outside);
+		this.strategy.runWithContext(() -> context, () -> {
+			assertThat(this.strategy.isBound()).isTrue();
+			assertThat(this.strategy.getContext()).isEqualTo(context);
+		});
+		assertThat(this.strategy.isBound()).isFalse();
+		assertThat(this.strategy.getContext()).isEqualTo(outside);
+	}
+
+	@Test
+	void runWithContextWhenNullThenEmptyContext() {
+		this.strategy.setContext(new SecurityContextImpl(mock(Authentication.class)));
+		this.strategy.runWithContext(null,
+				() -> assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl()));
+	}
+
+	@Test
+	void runWithContextWhenContextChangedThenDiscardedOnExit() {
+		SecurityContext context = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.runWithContext(null, () -> {
+			this.strategy.setContext(context);
+			assertThat(this.strategy.getContext()).isEqualTo(context);
+			this.strategy.clearContext();
+			assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+			this.strategy.setContext(context);
+		});
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	void runWithContextWhenNestedThenOuterContextRestored() {
+		SecurityContext outer = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext inner = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.runWithContext(() -> outer, () -> {
+			this.strategy.runWithContext(() -> inner,
+					() -> assertThat(this.strategy.getContext()).isEqualTo(inner));
+			assertThat(this.strategy.getContext()).isEqualTo(outer);
+		});
+	}
+
+	@Test
+	void runWithContextWhenDeferredThenNotInvokedUntilAccessed() {
+		Supplier<SecurityContext> deferredContext = mock(Supplier.class);
+		this.strategy.runWithContext(deferredContext, () -> {
+		});
+		verifyNoInteractions(deferredContext);
+	}
+
+	@Test
+	void runWithContextWhenDeferredReturnsNullThenException() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> this.strategy.runWithContext(() -> null, this.strategy::getContext));
+	}
+
+	@Test
+	void callWithContextThenReturnsResult() throws Exception {
+		SecurityContext context = new SecurityContextImpl(mock(Authentication.class));
+		assertThat(this.strategy.callWithContext(() -> context, this.strategy::getContext)).isEqualTo(context);
+	}
+
+	@Test
+	void callWithContextWhenExceptionThenPropagatedAndScopeExited() {
+		assertThatExceptionOfType(IOException.class).isThrownBy(() -> this.strategy.callWithContext(null, () -> {
+			throw new IOException();
+		}));
+		assertThat(this.strategy.isBound()).isFalse();
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SecurityContextThreadLocalAccessor}
+ */
+public class SecurityContextThreadLocalAccessorTests {
+
+	private final ThreadLocalSecurityContextHolderStrategy strategy = new ThreadLocalSecurityContextHolderStrategy();
+
+	private final SecurityContextThreadLocalAccessor accessor = new SecurityContextThreadLocalAccessor(
+			this.strategy);
+
+	private final SecurityContext context = new SecurityContextImpl(
+			new TestingAuthenticationToken("user", "password"));
+
+	@Test
+	public void constructorWhenStrategyNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new SecurityContextThreadLocalAccessor(null));
+	}
+
+	@Test
+	public void getValueWhenEmptyThenNull() {
+		assertThat(this.accessor.getValue()).isNull();
+		assertThat(this.strategy.peekDeferredContext()).isNull();
+	}
+
+	@Test
+	public void getValueWhenContextThenContext() {
+		this.strategy.setContext(this.context);
+		assertThat(this.accessor.getValue().get()).isSameAs(this.context);
+		this.strategy.clearContext();
+	}
+
+	@Test
+	public void getValueWhenDeferredContextThenNotResolved() {
+		AtomicInteger resolved = new AtomicInteger();
+		this.strategy.setDeferredContext(() -> {
+			resolved.incrementAndGet();
+			return this.context;
+		});
+		Supplier<SecurityContext> value = this.accessor.getValue();
+		assertThat(resolved).hasValue(0);
+		assertThat(value.get()).isSameAs(this.context);
+		assertThat(resolved).hasValue(1);
+		this.strategy.clearContext();
+	}
+
+	@Test
+	public void setValueThenContextSetAndCleared() {
+		this.accessor.setValue(() -> this.context);
+		assertThat(this.strategy.getContext()).isSameAs(this.context);
+		this.accessor.setValue();
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void setThreadLocalsWhenCapturedThenContextRestoredAndCleared() {
+		ContextRegistry registry = new ContextRegistry().registerThreadLocalAccessor(this.accessor);
+		ContextSnapshotFactory factory = ContextSnapshotFactory.builder().contextRegistry(registry).build();
+		this.strategy.setContext(this.context);
+		ContextSnapshot snapshot = factory.captureAll();
+		this.strategy.clearContext();
+		try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+			assertThat(this.strategy.getContext()).isSameAs(this.context);
+		}
+		assertThat(this.strategy.getContext()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void setThreadLocalsWhenDeferredContextCapturedThenResolvedOnceRestored() {
+		ContextRegistry registry = new ContextRegistry().registerThreadLocalAccessor(this.accessor);
+		ContextSnapshotFactory factory = ContextSnapshotFactory.builder().contextRegistry(registry).build();
+		AtomicInteger resolved = new AtomicInteger();
+		this.strategy.setDeferredContext(() -> {
+			resolved.incrementAndGet();
+			return this.context;
+		});
+		ContextSnapshot snapshot = factory.captureAll();
+		this.strategy.clearContext();
+		assertThat(resolved).hasValue(0);
+		try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+			assertThat(this.strategy.getContext()).isSameAs(this.context);
+		}
+		assertThat(resolved).hasValue(1);
+		this.strategy.clearContext();
+	}
+
+	@Test
+	public void getInstanceThenRegistered() {
+		assertThat(ContextRegistry.getInstance().getThreadLocalAccessors())
+			.hasAtLeastOneElementOfType(SecurityContextThreadLocalAccessor.class);
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link IdleTimeoutReactiveSessionRegistry}
+ */
+class IdleTimeoutReactiveSessionRegistryTests {
+
+	private static final Duration MAX_INACTIVE_INTERVAL = Duration.ofMinutes(30);
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+	private IdleTimeoutReactiveSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	void setup() {
+		this.sessionRegistry = new IdleTimeoutReactiveSessionRegistry(MAX_INACTIVE_INTERVAL, this.scheduler);
+	}
+
+	@AfterEach
+	void cleanup() {
+		this.sessionRegistry.destroy();
+		this.scheduler.dispose();
+	}
+
+	@Test
+	void constructorWhenMaxInactiveIntervalZeroThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new IdleTimeoutReactiveSessionRegistry(Duration.ZERO, this.scheduler));
+	}
+
+	@Test
+	void saveSessionInformationThenRegistered() {
+		ReactiveSessionInformation information = save("1234", "principal");
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234"))
+			.expectNext(information)
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getAllSessions("principal")).expectNext(information).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionCount("principal")).expectNext(1).verifyComplete();
+		assertThat(this.sessionRegistry.getLiveSessionCount()).isOne();
+	}
+
+	@Test
+	void saveSessionInformationWhenIdleThenEvicted() {
+		save("1234", "principal");
+		this.scheduler.advanceTimeBy(MAX_INACTIVE_INTERVAL.minusMinutes(1));
+		save("5678", "principal");
+		this.scheduler.advanceTimeBy(Duration.ofMinutes(2));
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234")).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionCount("principal")).expectNext(1).verifyComplete();
+		assertThat(this.sessionRegistry.getLiveSessionCount()).isOne();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isOne();
+		this.scheduler.advanceTimeBy(MAX_INACTIVE_INTERVAL);
+		StepVerifier.create(this.sessionRegistry.getSessionCount("principal")).expectNext(0).verifyComplete();
+		assertThat(this.sessionRegistry.getLiveSessionCount()).isZero();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void updateLastAccessTimeThenNotEvictedAndOrderedLeastRecentlyUsedFirst() {
+		ReactiveSessionInformation first = save("1", "principal");
+		save("2", "principal");
+		this.scheduler.advanceTimeBy(Duration.ofMinutes(20));
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1")).expectNext(first).verifyComplete();
+		this.scheduler.advanceTimeBy(Duration.ofMinutes(20));
+		StepVerifier.create(this.sessionRegistry.getLeastRecentlyUsedSessions("principal"))
+			.expectNext(first)
+			.verifyComplete();
+		ReactiveSessionInformation third = save("3", "principal");
+		StepVerifier.create(this.sessionRegistry.getLeastRecentlyUsedSessions("principal"))
+			.expectNext(first, third)
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("2")).verifyComplete();
+	}
+
+	@Test
+	void removeSessionInformationThenRemoved() {
+		ReactiveSessionInformation information = save("1234", "principal");
+		StepVerifier.create(this.sessionRegistry.removeSessionInformation("1234"))
+			.expectNext(information)
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getAllSessions("principal")).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionCount("principal")).expectNext(0).verifyComplete();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isZero();
+	}
+
+	@Test
+	void destroyThenIdleSessionsNotEvicted() {
+		save("1234", "principal");
+		this.sessionRegistry.destroy();
+		this.scheduler.advanceTimeBy(MAX_INACTIVE_INTERVAL.multipliedBy(2));
+		assertThat(this.sessionRegistry.getLiveSessionCount()).isOne();
+	}
+
+	private ReactiveSessionInformation save(String sessionId, Object principal) {
+		ReactiveSessionInformation information = new ReactiveSessionInformation(principal, sessionId, Instant.now());
+		this.sessionRegistry.saveSessionInformation(information).block();
+		return information;
+	}
+
+}
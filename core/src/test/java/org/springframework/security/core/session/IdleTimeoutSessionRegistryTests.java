@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.context.SecurityContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link IdleTimeoutSessionRegistry}
+ */
+public class IdleTimeoutSessionRegistryTests {
+
+	private static final Duration MAX_INACTIVE_INTERVAL = Duration.ofMinutes(30);
+
+	private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+	private Duration elapsed = Duration.ZERO;
+
+	private IdleTimeoutSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.sessionRegistry = new IdleTimeoutSessionRegistry(MAX_INACTIVE_INTERVAL);
+		this.sessionRegistry.setClock(this.clock);
+	}
+
+	@Test
+	public void constructorWhenMaxInactiveIntervalZeroThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new IdleTimeoutSessionRegistry(Duration.ZERO));
+	}
+
+	@Test
+	public void getSessionInformationWhenRegisteredThenReturned() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		SessionInformation information = this.sessionRegistry.getSessionInformation("1234");
+		assertThat(information.getPrincipal()).isEqualTo("principal");
+		assertThat(information.getSessionId()).isEqualTo("1234");
+		assertThat(information.getLastRequest()).isEqualTo(Date.from(this.clock.instant()));
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("principal");
+		assertThat(this.sessionRegistry.getSessionCount()).isOne();
+		assertThat(this.sessionRegistry.getPrincipalCount()).isOne();
+	}
+
+	@Test
+	public void getSessionInformationWhenIdleThenNull() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		elapse(MAX_INACTIVE_INTERVAL);
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isOne();
+	}
+
+	@Test
+	public void getAllSessionsWhenIdleThenExcluded() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		elapse(MAX_INACTIVE_INTERVAL.minusMinutes(1));
+		this.sessionRegistry.registerNewSession("5678", "principal");
+		elapse(Duration.ofMinutes(1));
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("5678");
+	}
+
+	@Test
+	public void evictIdleSessionsWhenIdleThenRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("5678", "other");
+		elapse(Duration.ofMinutes(10));
+		this.sessionRegistry.refreshLastRequest("5678");
+		elapse(MAX_INACTIVE_INTERVAL.minusMinutes(5));
+		this.sessionRegistry.evictIdleSessions();
+		assertThat(this.sessionRegistry.getSessionCount()).isOne();
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isOne();
+		elapse(Duration.ofMinutes(10));
+		this.sessionRegistry.evictIdleSessions();
+		assertThat(this.sessionRegistry.getSessionCount()).isZero();
+		assertThat(this.sessionRegistry.getPrincipalCount()).isZero();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void refreshLastRequestThenOrderedLeastRecentlyUsedFirst() {
+		this.sessionRegistry.registerNewSession("1", "principal");
+		this.sessionRegistry.registerNewSession("2", "principal");
+		this.sessionRegistry.registerNewSession("3", "principal");
+		this.sessionRegistry.refreshLastRequest("1");
+		List<SessionInformation> sessions = this.sessionRegistry.getAllSessions("principal", false);
+		assertThat(sessions).extracting(SessionInformation::getSessionId).containsExactly("2", "3", "1");
+	}
+
+	@Test
+	public void getAllSessionsWhenExpiredThenIncludedOnlyIfRequested() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.getSessionInformation("1234").expireNow();
+		assertThat(this.sessionRegistry.getAllSessions("principal", false)).isEmpty();
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).hasSize(1);
+	}
+
+	@Test
+	public void getSessionCountWhenExpiredOrIdleThenNotCounted() {
+		this.sessionRegistry.registerNewSession("1", "principal");
+		elapse(Duration.ofMinutes(10));
+		this.sessionRegistry.registerNewSession("2", "principal");
+		this.sessionRegistry.registerNewSession("3", "principal");
+		this.sessionRegistry.getSessionInformation("2").expireNow();
+		assertThat(this.sessionRegistry.getSessionCount("principal")).isEqualTo(2);
+		elapse(MAX_INACTIVE_INTERVAL.minusMinutes(5));
+		assertThat(this.sessionRegistry.getSessionCount("principal")).isOne();
+		assertThat(this.sessionRegistry.getSessionCount("other")).isZero();
+	}
+
+	@Test
+	public void removeSessionInformationWhenLastSessionThenPrincipalRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.removeSessionInformation("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isZero();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionDestroyedEventThenRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1234";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionCount()).isZero();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionIdChangedEventThenRegisteredWithNewId() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1234";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "5678";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("5678").getPrincipal()).isEqualTo("principal");
+	}
+
+	private void elapse(Duration duration) {
+		this.elapsed = this.elapsed.plus(duration);
+		this.sessionRegistry.setClock(Clock.offset(this.clock, this.elapsed));
+	}
+
+}
@@ -18,6 +18,10 @@ package org.springframework.security.core.session;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -130,6 +134,46 @@ public class SessionRegistryImplTests {
 		assertThat(this.sessionRegistry.getAllSessions(principal, false)).isEmpty();
 	}
 
+	@Test
+	public void getLeastRecentlyUsedSessionsThenOrderedByLastRequest() {
+		ConcurrentMap<Object, Set<String>> principals = new ConcurrentHashMap<>();
+		principals.put("principal", Set.of("1", "2", "3"));
+		Map<String, SessionInformation> sessionIds = new ConcurrentHashMap<>();
+		sessionIds.put("1", new SessionInformation("principal", "1", new Date(3000L)));
+		sessionIds.put("2", new SessionInformation("principal", "2", new Date(1000L)));
+		sessionIds.put("3", new SessionInformation("principal", "3", new Date(2000L)));
+		sessionIds.get("3").expireNow();
+		this.sessionRegistry = new SessionRegistryImpl(principals, sessionIds);
+		assertThat(this.sessionRegistry.getLeastRecentlyUsedSessions("principal", true))
+			.extracting(SessionInformation::getSessionId)
+			.containsExactly("2", "3", "1");
+		assertThat(this.sessionRegistry.getLeastRecentlyUsedSessions("principal", false))
+			.extracting(SessionInformation::getSessionId)
+			.containsExactly("2", "1");
+		assertThat(this.sessionRegistry.getSessionCount("principal")).isEqualTo(2);
+		assertThat(this.sessionRegistry.getSessionCount("other")).isZero();
+	}
+
+	@Test
+	public void getLeastRecentlyUsedSessionsWhenGetAllSessionsOverriddenThenUsesOverride() {
+		this.sessionRegistry = new SessionRegistryImpl() {
+			@Override
+			public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+				return super.getAllSessions(principal, includeExpiredSessions)
+					.stream()
+					.filter((session) -> !session.getSessionId().equals("2"))
+					.toList();
+			}
+		};
+		this.sessionRegistry.registerNewSession("1", "principal");
+		this.sessionRegistry.registerNewSession("2", "principal");
+		this.sessionRegistry.registerNewSession("3", "principal");
+		assertThat(this.sessionRegistry.getLeastRecentlyUsedSessions("principal", false))
+			.extracting(SessionInformation::getSessionId)
+			.containsExactlyInAnyOrder("1", "3");
+		assertThat(this.sessionRegistry.getSessionCount("principal")).isEqualTo(2);
+	}
+
 	@Test
 	public void testTwoSessionsOnePrincipalExpiring() {
 		Object principal = "Some principal object";
@@ -21,8 +21,10 @@ import java.security.SecureRandom;
 /**
  * A KeyGenerator that uses {@link SecureRandom} to generate byte array-based keys.
  * <p>
- * No specific provider is used for the {@code SecureRandom}, so the platform default will
- * be used.
+ * The {@link StripedSecureRandom#getSharedInstance() shared} {@link StripedSecureRandom}
+ * is used, which generates the bytes with {@code DRBG} {@link SecureRandom} instances,
+ * falling back to the platform default {@link SecureRandom} if {@code DRBG} is not
+ * available.
  *
  * @author Keith Donald
  */
@@ -45,7 +47,7 @@ final class SecureRandomBytesKeyGenerator implements BytesKeyGenerator {
 	 * Creates a secure random key generator with a custom key length.
 	 */
 	SecureRandomBytesKeyGenerator(int keyLength) {
-		this.random = new SecureRandom();
+		this.random = StripedSecureRandom.getSharedInstance();
 		this.keyLength = keyLength;
 	}
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.keygen;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link SecureRandom} that spreads the generation of random bytes over several
+ * {@link SecureRandom} instances, so that threads generating tokens concurrently do not
+ * contend on a single instance.
+ * <p>
+ * Each stripe is a {@code DRBG} {@link SecureRandom}, one per available processor by
+ * default. Unlike {@code NativePRNG}, the default on most Unix-like systems, whose
+ * instances all read from and lock the same native source, each {@code DRBG} instance
+ * keeps its own state and lock, so the stripes are independent. If {@code DRBG} is not
+ * available, the default {@link SecureRandom} is used instead.
+ * <p>
+ * Each stripe also holds a buffer of random bytes that is refilled from its
+ * {@link SecureRandom} in bulk, and is guarded by a lock of its own. A thread uses the
+ * first stripe it can lock, starting from a random one, so that no per-thread state is
+ * kept, which also suits virtual threads. Bytes are removed from the buffer as they are
+ * returned, so that no bytes are returned twice. Requests for more bytes than the buffer
+ * holds are served by the {@link SecureRandom} of a stripe directly.
+ * <p>
+ * {@link #getSharedInstance()} is used by default to generate the keys of
+ * {@link KeyGenerators#secureRandom()} and the tokens of the web, OAuth 2.0 and SAML 2.0
+ * support.
+ *
+ * @since 6.3
+ */
+public final class StripedSecureRandom extends SecureRandom {
+
+	private static final String ALGORITHM = "DRBG";
+
+	private static final int DEFAULT_BUFFER_SIZE = 256;
+
+	private static final StripedSecureRandom SHARED_INSTANCE = new StripedSecureRandom();
+
+	private final Stripe[] stripes;
+
+	private final int bufferSize;
+
+	/**
+	 * Creates an instance with one {@link SecureRandom} per available processor and
+	 * buffers of 256 bytes.
+	 */
+	public StripedSecureRandom() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates an instance with the provided number of {@link SecureRandom} instances and
+	 * buffer size.
+	 * @param stripes the number of {@link SecureRandom} instances
+	 * @param bufferSize the number of bytes each stripe generates in bulk, or 0 to not
+	 * buffer bytes
+	 */
+	public StripedSecureRandom(int stripes, int bufferSize) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("stripes must be greater than 0");
+		}
+		if (bufferSize < 0) {
+			throw new IllegalArgumentException("bufferSize must be greater than or equal to 0");
+		}
+		Stripe[] created = new Stripe[stripes];
+		for (int i = 0; i < stripes; i++) {
+			created[i] = new Stripe(createSecureRandom(), bufferSize);
+		}
+		this.stripes = created;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns the instance that is shared by the components that generate keys and tokens
+	 * by default
+	 * @return the shared {@link StripedSecureRandom}
+	 */
+	public static StripedSecureRandom getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		if (bytes.length > this.bufferSize) {
+			randomStripe().random.nextBytes(bytes);
+			return;
+		}
+		Stripe stripe = lockStripe();
+		try {
+			stripe.nextBytes(bytes);
+		}
+		finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	/**
+	 * Generates a random (version 4) {@link UUID} from the bytes of this instance, which
+	 * unlike {@link UUID#randomUUID()} does not use a single {@link SecureRandom}.
+	 * @return the generated {@link UUID}
+	 */
+	public UUID nextUUID() {
+		byte[] bytes = new byte[16];
+		nextBytes(bytes);
+		bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40);
+		bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80);
+		long mostSignificantBits = 0;
+		long leastSignificantBits = 0;
+		for (int i = 0; i < 8; i++) {
+			mostSignificantBits = (mostSignificantBits << 8) | (bytes[i] & 0xff);
+			leastSignificantBits = (leastSignificantBits << 8) | (bytes[i + 8] & 0xff);
+		}
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	@Override
+	public byte[] generateSeed(int numBytes) {
+		return randomStripe().random.generateSeed(numBytes);
+	}
+
+	/**
+	 * Supplements the seeds of all {@link SecureRandom} instances. Bytes that were
+	 * already generated in bulk are not affected.
+	 * @param seed the seed
+	 */
+	@Override
+	public void setSeed(byte[] seed) {
+		for (Stripe stripe : this.stripes) {
+			stripe.random.setSeed(seed);
+		}
+	}
+
+	/**
+	 * Supplements the seeds of all {@link SecureRandom} instances. Bytes that were
+	 * already generated in bulk are not affected.
+	 * @param seed the seed
+	 */
+	@Override
+	public void setSeed(long seed) {
+		// invoked by the super constructor before the stripes are created
+		if (this.stripes == null) {
+			return;
+		}
+		for (Stripe stripe : this.stripes) {
+			stripe.random.setSeed(seed);
+		}
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return this.stripes[0].random.getAlgorithm();
+	}
+
+	private Stripe randomStripe() {
+		return this.stripes[ThreadLocalRandom.current().nextInt(this.stripes.length)];
+	}
+
+	/**
+	 * Locks the first stripe that is not locked by another thread, starting from a random
+	 * one, or waits for the random one if they are all locked
+	 */
+	private Stripe lockStripe() {
+		int start = ThreadLocalRandom.current().nextInt(this.stripes.length);
+		for (int i = 0; i < this.stripes.length; i++) {
+			Stripe stripe = this.stripes[(start + i) % this.stripes.length];
+			if (stripe.lock.tryLock()) {
+				return stripe;
+			}
+		}
+		Stripe stripe = this.stripes[start];
+		stripe.lock.lock();
+		return stripe;
+	}
+
+	private static SecureRandom createSecureRandom() {
+		try {
+			return SecureRandom.getInstance(ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			return new SecureRandom();
+		}
+	}
+
+	private static final class Stripe {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final SecureRandom random;
+
+		private final byte[] bytes;
+
+		private int position;
+
+		private Stripe(SecureRandom random, int size) {
+			this.random = random;
+			this.bytes = new byte[size];
+			this.position = size;
+		}
+
+		private void nextBytes(byte[] result) {
+			int offset = 0;
+			while (offset < result.length) {
+				if (this.position == this.bytes.length) {
+					this.random.nextBytes(this.bytes);
+					this.position = 0;
+				}
+				int length = Math.min(result.length - offset, this.bytes.length - this.position);
+				System.arraycopy(this.bytes, this.position, result, offset, length);
+				Arrays.fill(this.bytes, this.position, this.position + length, (byte) 0);
+				this.position += length;
+				offset += length;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.keygen;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.codec.Hex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class StripedSecureRandomTests {
+
+	@Test
+	public void constructorWhenNoStripesThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new StripedSecureRandom(0, 256));
+	}
+
+	@Test
+	public void constructorWhenNegativeBufferSizeThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new StripedSecureRandom(1, -1));
+	}
+
+	@Test
+	public void nextBytesWhenBufferedThenBytesNotRepeated() {
+		StripedSecureRandom random = new StripedSecureRandom(2, 64);
+		Set<String> keys = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			byte[] bytes = new byte[24];
+			random.nextBytes(bytes);
+			keys.add(new String(Hex.encode(bytes)));
+		}
+		assertThat(keys).hasSize(100);
+	}
+
+	@Test
+	public void nextBytesWhenLargerThanBufferThenFilled() {
+		StripedSecureRandom random = new StripedSecureRandom(1, 16);
+		byte[] bytes = new byte[1024];
+		random.nextBytes(bytes);
+		byte[] other = new byte[1024];
+		random.nextBytes(other);
+		assertThat(bytes).isNotEqualTo(other);
+	}
+
+	@Test
+	public void nextBytesWhenNoBufferThenFilled() {
+		StripedSecureRandom random = new StripedSecureRandom(1, 0);
+		byte[] bytes = new byte[16];
+		random.nextBytes(bytes);
+		byte[] other = new byte[16];
+		random.nextBytes(other);
+		assertThat(bytes).isNotEqualTo(other);
+	}
+
+	@Test
+	public void nextUUIDThenRandomUUID() {
+		UUID uuid = StripedSecureRandom.getSharedInstance().nextUUID();
+		assertThat(uuid.version()).isEqualTo(4);
+		assertThat(uuid.variant()).isEqualTo(2);
+		assertThat(UUID.fromString(uuid.toString())).isEqualTo(uuid);
+	}
+
+	@Test
+	public void nextUUIDWhenConcurrentThenUnique() throws Exception {
+		StripedSecureRandom random = new StripedSecureRandom(4, 256);
+		Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					uuids.add(random.nextUUID());
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(uuids).hasSize(8000);
+	}
+
+	@Test
+	public void getAlgorithmThenDrbg() {
+		assertThat(new StripedSecureRandom(2, 16).getAlgorithm()).isEqualTo("DRBG");
+	}
+
+	@Test
+	public void getSharedInstanceThenSameInstance() {
+		assertThat(StripedSecureRandom.getSharedInstance()).isSameAs(StripedSecureRandom.getSharedInstance());
+	}
+
+}
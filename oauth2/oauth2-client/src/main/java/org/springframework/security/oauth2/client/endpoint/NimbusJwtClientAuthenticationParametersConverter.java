@@ -20,7 +20,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -33,6 +32,7 @@ import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
@@ -142,7 +142,7 @@ public final class NimbusJwtClientAuthenticationParametersConverter<T extends Ab
 				.issuer(clientRegistration.getClientId())
 				.subject(clientRegistration.getClientId())
 				.audience(Collections.singletonList(clientRegistration.getProviderDetails().getTokenUri()))
-				.id(UUID.randomUUID().toString())
+				.id(StripedSecureRandom.getSharedInstance().nextUUID().toString())
 				.issuedAt(issuedAt)
 				.expiresAt(expiresAt);
 		// @formatter:on
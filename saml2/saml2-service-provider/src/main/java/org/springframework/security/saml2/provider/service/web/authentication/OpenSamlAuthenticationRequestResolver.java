@@ -18,7 +18,6 @@ package org.springframework.security.saml2.provider.service.web.authentication;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.UUID;
 import java.util.function.BiConsumer;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,6 +38,7 @@ import org.opensaml.saml.saml2.core.impl.NameIDPolicyBuilder;
 import org.w3c.dom.Element;
 
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.saml2.Saml2Exception;
 import org.springframework.security.saml2.core.OpenSamlInitializationService;
 import org.springframework.security.saml2.core.Saml2ParameterNames;
@@ -78,7 +78,10 @@ class OpenSamlAuthenticationRequestResolver {
 	private RequestMatcher requestMatcher = new AntPathRequestMatcher(
 			Saml2AuthenticationRequestResolver.DEFAULT_AUTHENTICATION_REQUEST_URI);
 
-	private Converter<HttpServletRequest, String> relayStateResolver = (request) -> UUID.randomUUID().toString();
+	private Converter<HttpServletRequest, String> relayStateResolver = (request) -> StripedSecureRandom
+		.getSharedInstance()
+		.nextUUID()
+		.toString();
 
 	/**
 	 * Construct a {@link OpenSamlAuthenticationRequestResolver} using the provided
@@ -149,7 +152,7 @@ class OpenSamlAuthenticationRequestResolver {
 		}
 		authnRequestConsumer.accept(registration, authnRequest);
 		if (authnRequest.getID() == null) {
-			authnRequest.setID("ARQ" + UUID.randomUUID().toString().substring(1));
+			authnRequest.setID("ARQ" + StripedSecureRandom.getSharedInstance().nextUUID().toString().substring(1));
 		}
 		String relayState = this.relayStateResolver.convert(request);
 		Saml2MessageBinding binding = registration.getAssertingPartyDetails().getSingleSignOnServiceBinding();
@@ -17,7 +17,6 @@
 package org.springframework.security.saml2.provider.service.web.authentication.logout;
 
 import java.nio.charset.StandardCharsets;
-import java.util.UUID;
 import java.util.function.BiConsumer;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,6 +39,7 @@ import org.w3c.dom.Element;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.saml2.Saml2Exception;
 import org.springframework.security.saml2.core.OpenSamlInitializationService;
 import org.springframework.security.saml2.core.Saml2ParameterNames;
@@ -77,7 +77,10 @@ final class OpenSamlLogoutRequestResolver {
 
 	private final RelyingPartyRegistrationResolver relyingPartyRegistrationResolver;
 
-	private Converter<HttpServletRequest, String> relayStateResolver = (request) -> UUID.randomUUID().toString();
+	private Converter<HttpServletRequest, String> relayStateResolver = (request) -> StripedSecureRandom
+		.getSharedInstance()
+		.nextUUID()
+		.toString();
 
 	/**
 	 * Construct a {@link OpenSamlLogoutRequestResolver}
@@ -149,7 +152,7 @@ final class OpenSamlLogoutRequestResolver {
 		}
 		logoutRequestConsumer.accept(registration, logoutRequest);
 		if (logoutRequest.getID() == null) {
-			logoutRequest.setID("LR" + UUID.randomUUID());
+			logoutRequest.setID("LR" + StripedSecureRandom.getSharedInstance().nextUUID());
 		}
 		String relayState = this.relayStateResolver.convert(request);
 		Saml2LogoutRequest.Builder result = Saml2LogoutRequest.withRelyingPartyRegistration(registration)
@@ -18,7 +18,6 @@ package org.springframework.security.saml2.provider.service.web.authentication.l
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.UUID;
 import java.util.function.BiConsumer;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -45,6 +44,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.saml2.Saml2Exception;
 import org.springframework.security.saml2.core.OpenSamlInitializationService;
 import org.springframework.security.saml2.core.Saml2ParameterNames;
@@ -160,7 +160,7 @@ final class OpenSamlLogoutResponseResolver {
 		logoutResponse.setStatus(status);
 		logoutResponse.setInResponseTo(logoutRequest.getID());
 		if (logoutResponse.getID() == null) {
-			logoutResponse.setID("LR" + UUID.randomUUID());
+			logoutResponse.setID("LR" + StripedSecureRandom.getSharedInstance().nextUUID());
 		}
 		logoutResponseConsumer.accept(registration, logoutResponse);
 		Saml2LogoutResponse.Builder result = Saml2LogoutResponse.withRelyingPartyRegistration(registration);
@@ -32,6 +32,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.firewall.FirewalledRequest;
@@ -42,6 +43,7 @@ import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
 import org.springframework.security.web.util.ThrowableAnalyzer;
 import org.springframework.security.web.util.UrlUtils;
+import org.springframework.security.web.util.matcher.PathPrefixRequestMatcherIndex;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.DelegatingFilterProxy;
@@ -152,6 +154,8 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	private List<SecurityFilterChain> filterChains;
 
+	private PathPrefixRequestMatcherIndex<SecurityFilterChain> filterChainIndex;
+
 	private FilterChainValidator filterChainValidator = new NullFilterChainValidator();
 
 	private HttpFirewall firewall = new StrictHttpFirewall();
@@ -188,7 +192,7 @@ public class FilterChainProxy extends GenericFilterBean {
 		}
 		try {
 			request.setAttribute(FILTER_APPLIED, Boolean.TRUE);
-			doFilterInternal(request, response, chain);
+			doFilterInScope(request, response, chain);
 		}
 		catch (Exception ex) {
 			Throwable[] causeChain = this.throwableAnalyzer.determineCauseChain(ex);
@@ -206,12 +210,32 @@ public class FilterChainProxy extends GenericFilterBean {
 		}
 	}
 
+	private void doFilterInScope(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		if (!(this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped)) {
+			doFilterInternal(request, response, chain);
+			return;
+		}
+		try {
+			scoped.callWithContext(null, () -> {
+				doFilterInternal(request, response, chain);
+				return null;
+			});
+		}
+		catch (IOException | ServletException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new ServletException(ex);
+		}
+	}
+
 	private void doFilterInternal(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
 		FirewalledRequest firewallRequest = this.firewall.getFirewalledRequest((HttpServletRequest) request);
 		HttpServletResponse firewallResponse = this.firewall.getFirewalledResponse((HttpServletResponse) response);
-		List<Filter> filters = getFilters(firewallRequest);
-		if (filters == null || filters.size() == 0) {
+		SecurityFilterChain securityFilterChain = getSecurityFilterChain(firewallRequest);
+		if (securityFilterChain == null || securityFilterChain.getFilters().isEmpty()) {
 			if (logger.isTraceEnabled()) {
 				logger.trace(LogMessage.of(() -> "No security for " + requestLine(firewallRequest)));
 			}
@@ -230,23 +254,35 @@ public class FilterChainProxy extends GenericFilterBean {
 			firewallRequest.reset();
 			chain.doFilter(req, res);
 		};
-		this.filterChainDecorator.decorate(reset, filters).doFilter(firewallRequest, firewallResponse);
+		this.filterChainDecorator.decorate(reset, securityFilterChain).doFilter(firewallRequest, firewallResponse);
 	}
 
 	/**
-	 * Returns the first filter chain matching the supplied URL.
+	 * Returns the filters of the first filter chain matching the supplied request.
 	 * @param request the request to match
 	 * @return an ordered array of Filters defining the filter chain
 	 */
 	private List<Filter> getFilters(HttpServletRequest request) {
+		SecurityFilterChain securityFilterChain = getSecurityFilterChain(request);
+		return (securityFilterChain != null) ? securityFilterChain.getFilters() : null;
+	}
+
+	/**
+	 * Returns the first filter chain matching the supplied request.
+	 * @param request the request to match
+	 * @return the matching {@link SecurityFilterChain}, or {@code null} if none matches
+	 */
+	private SecurityFilterChain getSecurityFilterChain(HttpServletRequest request) {
+		List<SecurityFilterChain> filterChains = (this.filterChainIndex != null)
+				? this.filterChainIndex.getCandidates(request) : this.filterChains;
 		int count = 0;
-		for (SecurityFilterChain chain : this.filterChains) {
+		for (SecurityFilterChain chain : filterChains) {
 			if (logger.isTraceEnabled()) {
 				logger.trace(LogMessage.format("Trying to match request against %s (%d/%d)", chain, ++count,
-						this.filterChains.size()));
+						filterChains.size()));
 			}
 			if (chain.matches(request)) {
-				return chain.getFilters();
+				return chain;
 			}
 		}
 		return null;
@@ -280,6 +316,31 @@ public class FilterChainProxy extends GenericFilterBean {
 		this.securityContextHolderStrategy = securityContextHolderStrategy;
 	}
 
+	/**
+	 * Whether to select the {@link SecurityFilterChain} for a request using an index of
+	 * the literal path prefixes of each {@link DefaultSecurityFilterChain}'s
+	 * {@link RequestMatcher}, instead of trying every chain in turn. Chains are still
+	 * tried in order and the first match wins, but chains whose path prefix cannot match
+	 * the request path are skipped. Chains whose matcher cannot be analyzed are always
+	 * tried.
+	 *
+	 * <p>
+	 * The index is built from the filter chains when this method is called. Defaults to
+	 * {@code false}.
+	 * @param filterChainIndexEnabled whether to index the filter chains
+	 * @since 6.3
+	 * @see PathPrefixRequestMatcherIndex
+	 */
+	public void setFilterChainIndexEnabled(boolean filterChainIndexEnabled) {
+		Assert.state(!filterChainIndexEnabled || this.filterChains != null, "filterChains must be set");
+		this.filterChainIndex = filterChainIndexEnabled
+				? new PathPrefixRequestMatcherIndex<>(this.filterChains, FilterChainProxy::getRequestMatcher) : null;
+	}
+
+	private static RequestMatcher getRequestMatcher(SecurityFilterChain chain) {
+		return (chain instanceof DefaultSecurityFilterChain defaultChain) ? defaultChain.getRequestMatcher() : null;
+	}
+
 	/**
 	 * Used (internally) to specify a validation strategy for the filters in each
 	 * configured chain.
@@ -419,6 +480,21 @@ public class FilterChainProxy extends GenericFilterBean {
 		 */
 		FilterChain decorate(FilterChain original, List<Filter> filters);
 
+		/**
+		 * Provide a new {@link FilterChain} that accounts for the filters of the provided
+		 * {@link SecurityFilterChain} as well as the original filter chain. This lets
+		 * decorators tell apart the chains that the filters belong to.
+		 * @param original the original {@link FilterChain}
+		 * @param securityFilterChain the {@link SecurityFilterChain} that matched the
+		 * request
+		 * @return a security-enabled {@link FilterChain} that includes the filters of the
+		 * provided {@link SecurityFilterChain}
+		 * @since 6.3
+		 */
+		default FilterChain decorate(FilterChain original, SecurityFilterChain securityFilterChain) {
+			return decorate(original, securityFilterChain.getFilters());
+		}
+
 	}
 
 	/**
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+/**
+ * The time spent in one filter of a security filter chain by the requests that were not
+ * sampled by {@link ObservationFilterChainDecorator} or
+ * {@link org.springframework.security.web.server.ObservationWebFilterChainDecorator}.
+ * <p>
+ * Like the before and after observations of sampled requests, the time spent before the
+ * filter invokes the rest of the chain and the time spent after the rest of the chain
+ * completes are accounted separately. Neither includes the time spent in the rest of the
+ * chain.
+ *
+ * @since 6.3
+ */
+public final class FilterTiming {
+
+	private final String chainName;
+
+	private final String name;
+
+	private final long invocations;
+
+	private final long beforeNanos;
+
+	private final long afterNanos;
+
+	/**
+	 * Creates a new instance
+	 * @param chainName the name of the security filter chain, or {@code null} if it is
+	 * not known
+	 * @param name the name of the filter
+	 * @param invocations the number of times the filter was invoked
+	 * @param beforeNanos the total time spent before invoking the rest of the chain, in
+	 * nanoseconds
+	 * @param afterNanos the total time spent after the rest of the chain completed, in
+	 * nanoseconds
+	 */
+	public FilterTiming(String chainName, String name, long invocations, long beforeNanos, long afterNanos) {
+		this.chainName = chainName;
+		this.name = name;
+		this.invocations = invocations;
+		this.beforeNanos = beforeNanos;
+		this.afterNanos = afterNanos;
+	}
+
+	/**
+	 * Returns the name of the security filter chain the filter belongs to, that is the
+	 * description of its request or exchange matcher when available, so that the same
+	 * filter class in different chains is accounted separately
+	 * @return the name of the security filter chain, or {@code null} if it is not known
+	 */
+	public String getChainName() {
+		return this.chainName;
+	}
+
+	/**
+	 * Returns the name of the filter, that is its simple class name
+	 * @return the name of the filter
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Returns the number of times the filter was invoked
+	 * @return the number of invocations
+	 */
+	public long getInvocations() {
+		return this.invocations;
+	}
+
+	/**
+	 * Returns the total time spent in the filter before it invoked the rest of the chain,
+	 * or until it completed if it did not invoke the rest of the chain
+	 * @return the time, in nanoseconds
+	 */
+	public long getBeforeNanos() {
+		return this.beforeNanos;
+	}
+
+	/**
+	 * Returns the total time spent in the filter after the rest of the chain completed
+	 * @return the time, in nanoseconds
+	 */
+	public long getAfterNanos() {
+		return this.afterNanos;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [chainName=" + this.chainName + ", name=" + this.name + ", invocations="
+				+ this.invocations + ", beforeNanos=" + this.beforeNanos + ", afterNanos=" + this.afterNanos + "]";
+	}
+
+}
@@ -21,8 +21,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.micrometer.common.KeyValue;
 import io.micrometer.common.KeyValues;
@@ -39,11 +42,18 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
  * A {@link org.springframework.security.web.FilterChainProxy.FilterChainDecorator} that
  * wraps the chain in before and after observations
+ * <p>
+ * When a {@link #setSamplingRatio(double) sampling ratio} lower than {@code 1} is
+ * configured, globally or {@link #setSamplingRatio(SecurityFilterChain, double) for a
+ * chain}, only the sampled requests are observed. For the other requests, the time spent
+ * in each filter of each chain is only accumulated into counters, see
+ * {@link #getFilterTimings()}.
  *
  * @author Josh Cummings
  * @since 6.0
@@ -60,20 +70,96 @@ public final class ObservationFilterChainDecorator implements FilterChainProxy.F
 
 	private final ObservationRegistry registry;
 
+	private final Map<SecurityFilterChain, ChainTimer> timers = new ConcurrentHashMap<>();
+
+	private final Map<SecurityFilterChain, Double> samplingRatios = new ConcurrentHashMap<>();
+
+	private double samplingRatio = 1;
+
 	public ObservationFilterChainDecorator(ObservationRegistry registry) {
 		this.registry = registry;
 	}
 
 	@Override
 	public FilterChain decorate(FilterChain original) {
-		return wrapUnsecured(original);
+		return isSampled(this.samplingRatio) ? wrapUnsecured(original) : original;
 	}
 
 	@Override
 	public FilterChain decorate(FilterChain original, List<Filter> filters) {
+		return decorate(original, null, filters);
+	}
+
+	@Override
+	public FilterChain decorate(FilterChain original, SecurityFilterChain securityFilterChain) {
+		return decorate(original, securityFilterChain, securityFilterChain.getFilters());
+	}
+
+	private FilterChain decorate(FilterChain original, SecurityFilterChain securityFilterChain,
+			List<Filter> filters) {
+		if (!isSampled(getSamplingRatio(securityFilterChain))) {
+			ChainTimer timer = (securityFilterChain != null)
+					? this.timers.computeIfAbsent(securityFilterChain, (chain) -> new ChainTimer(chain, filters))
+					: null;
+			return new TimingFilterChain(original, filters, timer);
+		}
 		return new VirtualFilterChain(wrapSecured(original), wrap(filters));
 	}
 
+	/**
+	 * Sets the ratio of requests that are observed, between {@code 0} and {@code 1}.
+	 * Requests that are not sampled only record the time spent in each filter, which is
+	 * much cheaper than creating observations. The default is {@code 1}, which means that
+	 * every request is observed.
+	 * @param samplingRatio the ratio of requests to observe
+	 * @since 6.3
+	 */
+	public void setSamplingRatio(double samplingRatio) {
+		Assert.isTrue(samplingRatio >= 0 && samplingRatio <= 1, "samplingRatio must be between 0 and 1");
+		this.samplingRatio = samplingRatio;
+	}
+
+	/**
+	 * Sets the ratio of the requests matched by the provided {@link SecurityFilterChain}
+	 * that are observed, between {@code 0} and {@code 1}, instead of the ratio set by
+	 * {@link #setSamplingRatio(double)}. This way, a chain for health checks can be
+	 * sampled less than a chain for user requests.
+	 * @param securityFilterChain the {@link SecurityFilterChain}
+	 * @param samplingRatio the ratio of requests to observe
+	 * @since 6.3
+	 */
+	public void setSamplingRatio(SecurityFilterChain securityFilterChain, double samplingRatio) {
+		Assert.notNull(securityFilterChain, "securityFilterChain cannot be null");
+		Assert.isTrue(samplingRatio >= 0 && samplingRatio <= 1, "samplingRatio must be between 0 and 1");
+		this.samplingRatios.put(securityFilterChain, samplingRatio);
+	}
+
+	/**
+	 * Returns the time spent in each filter of each chain by the requests that were not
+	 * sampled. The filters that are decorated without their {@link SecurityFilterChain}
+	 * are not accounted.
+	 * @return the {@link FilterTiming} of each filter that was invoked by a request that
+	 * was not sampled
+	 * @since 6.3
+	 * @see #setSamplingRatio(double)
+	 */
+	public List<FilterTiming> getFilterTimings() {
+		List<FilterTiming> timings = new ArrayList<>();
+		for (ChainTimer timer : this.timers.values()) {
+			timer.addTimings(timings);
+		}
+		return timings;
+	}
+
+	private double getSamplingRatio(SecurityFilterChain securityFilterChain) {
+		Double samplingRatio = (securityFilterChain != null) ? this.samplingRatios.get(securityFilterChain) : null;
+		return (samplingRatio != null) ? samplingRatio : this.samplingRatio;
+	}
+
+	private static boolean isSampled(double samplingRatio) {
+		return samplingRatio >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRatio;
+	}
+
 	private FilterChain wrapSecured(FilterChain original) {
 		return (req, res) -> {
 			AroundFilterObservation parent = observation((HttpServletRequest) req);
@@ -139,6 +225,141 @@ public final class ObservationFilterChainDecorator implements FilterChainProxy.F
 
 	}
 
+	/**
+	 * A {@link FilterChain} for the requests that are not sampled, which measures the
+	 * time spent in each filter instead of observing it
+	 */
+	private static final class TimingFilterChain implements FilterChain {
+
+		private final FilterChain originalChain;
+
+		private final List<Filter> additionalFilters;
+
+		private final ChainTimer timer;
+
+		private final int size;
+
+		/**
+		 * For each position, when the filter invoked the rest of the chain and when the
+		 * rest of the chain returned
+		 */
+		private final long[] times;
+
+		/**
+		 * For each position, whether the filter invoked the rest of the chain
+		 */
+		private final boolean[] chainInvoked;
+
+		private int currentPosition = 0;
+
+		private TimingFilterChain(FilterChain chain, List<Filter> additionalFilters, ChainTimer timer) {
+			this.originalChain = chain;
+			this.additionalFilters = additionalFilters;
+			this.timer = timer;
+			this.size = additionalFilters.size();
+			this.times = new long[this.size * 2];
+			this.chainInvoked = new boolean[this.size];
+		}
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+			int caller = this.currentPosition - 1;
+			if (caller >= 0) {
+				this.times[caller * 2] = System.nanoTime();
+				this.chainInvoked[caller] = true;
+			}
+			try {
+				if (this.currentPosition == this.size) {
+					this.originalChain.doFilter(request, response);
+				}
+				else {
+					invokeNext(request, response);
+				}
+			}
+			finally {
+				if (caller >= 0) {
+					this.times[caller * 2 + 1] = System.nanoTime();
+				}
+			}
+		}
+
+		private void invokeNext(ServletRequest request, ServletResponse response)
+				throws IOException, ServletException {
+			int position = this.currentPosition++;
+			Filter nextFilter = this.additionalFilters.get(position);
+			if (logger.isTraceEnabled()) {
+				String name = nextFilter.getClass().getSimpleName();
+				logger.trace(LogMessage.format("Invoking %s (%d/%d)", name, this.currentPosition, this.size));
+			}
+			long invoked = System.nanoTime();
+			try {
+				nextFilter.doFilter(request, response, this);
+			}
+			finally {
+				if (this.timer != null) {
+					record(position, invoked, System.nanoTime());
+				}
+			}
+		}
+
+		private void record(int position, long invoked, long completed) {
+			if (this.chainInvoked[position]) {
+				this.timer.record(position, this.times[position * 2] - invoked,
+						completed - this.times[position * 2 + 1]);
+			}
+			else {
+				this.timer.record(position, completed - invoked, 0);
+			}
+		}
+
+	}
+
+	/**
+	 * Accumulates the time spent in each filter of a {@link SecurityFilterChain} by the
+	 * requests that are not sampled
+	 */
+	private static final class ChainTimer {
+
+		private final String chainName;
+
+		private final String[] names;
+
+		/**
+		 * For each position, the number of invocations and the time spent before and
+		 * after the rest of the chain
+		 */
+		private final LongAdder[] counters;
+
+		private ChainTimer(SecurityFilterChain securityFilterChain, List<Filter> filters) {
+			this.chainName = (securityFilterChain instanceof DefaultSecurityFilterChain defaultSecurityFilterChain)
+					? String.valueOf(defaultSecurityFilterChain.getRequestMatcher()) : securityFilterChain.toString();
+			this.names = new String[filters.size()];
+			this.counters = new LongAdder[filters.size() * 3];
+			for (int i = 0; i < this.names.length; i++) {
+				this.names[i] = filters.get(i).getClass().getSimpleName();
+			}
+			for (int i = 0; i < this.counters.length; i++) {
+				this.counters[i] = new LongAdder();
+			}
+		}
+
+		private void record(int position, long beforeNanos, long afterNanos) {
+			int offset = position * 3;
+			this.counters[offset].increment();
+			this.counters[offset + 1].add(beforeNanos);
+			this.counters[offset + 2].add(afterNanos);
+		}
+
+		private void addTimings(List<FilterTiming> timings) {
+			for (int i = 0; i < this.names.length; i++) {
+				int offset = i * 3;
+				timings.add(new FilterTiming(this.chainName, this.names[i], this.counters[offset].sum(),
+						this.counters[offset + 1].sum(), this.counters[offset + 2].sum()));
+			}
+		}
+
+	}
+
 	static final class ObservationFilter implements Filter {
 
 		static final Map<String, String> OBSERVATION_NAMES = new HashMap<>();
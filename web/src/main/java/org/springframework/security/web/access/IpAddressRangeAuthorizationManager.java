@@ -0,0 +1,74 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.access;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressRangeMatcher;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link AuthorizationManager}, that determines if the current request comes from any
+ * of a potentially large set of addresses or ranges of addresses
+ *
+ * @since 6.3
+ * @see IpAddressRangeMatcher
+ */
+public final class IpAddressRangeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+	private final IpAddressRangeMatcher ipAddressRangeMatcher;
+
+	IpAddressRangeAuthorizationManager(IpAddressRangeMatcher ipAddressRangeMatcher) {
+		this.ipAddressRangeMatcher = ipAddressRangeMatcher;
+	}
+
+	/**
+	 * Creates an instance of {@link IpAddressRangeAuthorizationManager} with the provided
+	 * IP addresses.
+	 * @param ipAddresses the addresses or ranges of addresses from which the request must
+	 * come
+	 * @return the new instance
+	 */
+	public static IpAddressRangeAuthorizationManager hasIpAddressIn(Collection<String> ipAddresses) {
+		Assert.notNull(ipAddresses, "ipAddresses cannot be null");
+		return new IpAddressRangeAuthorizationManager(new IpAddressRangeMatcher(ipAddresses));
+	}
+
+	/**
+	 * Creates an instance of {@link IpAddressRangeAuthorizationManager} with the provided
+	 * {@link IpAddressRangeMatcher}. Changes to the ranges of the matcher are picked up
+	 * by the returned instance.
+	 * @param ipAddressRangeMatcher the {@link IpAddressRangeMatcher} to use
+	 * @return the new instance
+	 */
+	public static IpAddressRangeAuthorizationManager hasIpAddressIn(IpAddressRangeMatcher ipAddressRangeMatcher) {
+		Assert.notNull(ipAddressRangeMatcher, "ipAddressRangeMatcher cannot be null");
+		return new IpAddressRangeAuthorizationManager(ipAddressRangeMatcher);
+	}
+
+	@Override
+	public AuthorizationDecision check(Supplier<Authentication> authentication,
+			RequestAuthorizationContext requestAuthorizationContext) {
+		return new AuthorizationDecision(this.ipAddressRangeMatcher.matches(requestAuthorizationContext.getRequest()));
+	}
+
+}
@@ -32,6 +32,7 @@ import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.PathPrefixRequestMatcherIndex;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
 import org.springframework.security.web.util.matcher.RequestMatcherEntry;
@@ -53,10 +54,16 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 	private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings;
 
+	private final PathPrefixRequestMatcherIndex<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappingIndex;
+
 	private RequestMatcherDelegatingAuthorizationManager(
-			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings) {
+			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings,
+			boolean mappingIndexEnabled) {
 		Assert.notEmpty(mappings, "mappings cannot be empty");
 		this.mappings = mappings;
+		this.mappingIndex = mappingIndexEnabled
+				? new PathPrefixRequestMatcherIndex<>(new ArrayList<>(mappings), RequestMatcherEntry::getRequestMatcher)
+				: null;
 	}
 
 	/**
@@ -73,7 +80,11 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.format("Authorizing %s", request));
 		}
-		for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : this.mappings) {
+		List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings = this.mappings;
+		if (this.mappingIndex != null) {
+			mappings = this.mappingIndex.getCandidates(request);
+		}
+		for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : mappings) {
 
 			RequestMatcher matcher = mapping.getRequestMatcher();
 			MatchResult matchResult = matcher.matcher(request);
@@ -107,6 +118,8 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 		private boolean anyRequestConfigured;
 
+		private boolean mappingIndexEnabled;
+
 		private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings = new ArrayList<>();
 
 		/**
@@ -161,12 +174,29 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 			return new AuthorizedUrl(matchers);
 		}
 
+		/**
+		 * Whether to look up the mappings that could match a request in an index of their
+		 * HTTP methods and literal path prefixes, built once in {@link #build()}, instead
+		 * of evaluating every {@link RequestMatcher} in turn. Mappings are still
+		 * evaluated in declaration order, so the {@link AuthorizationManager} a request
+		 * resolves to is the same either way. Mappings whose {@link RequestMatcher}
+		 * cannot be analyzed are always evaluated. Defaults to {@code false}.
+		 * @param mappingIndexEnabled whether to index the mappings
+		 * @return the {@link Builder} for further customizations
+		 * @since 6.3
+		 * @see PathPrefixRequestMatcherIndex
+		 */
+		public Builder mappingIndexEnabled(boolean mappingIndexEnabled) {
+			this.mappingIndexEnabled = mappingIndexEnabled;
+			return this;
+		}
+
 		/**
 		 * Creates a {@link RequestMatcherDelegatingAuthorizationManager} instance.
 		 * @return the {@link RequestMatcherDelegatingAuthorizationManager} instance
 		 */
 		public RequestMatcherDelegatingAuthorizationManager build() {
-			return new RequestMatcherDelegatingAuthorizationManager(this.mappings);
+			return new RequestMatcherDelegatingAuthorizationManager(this.mappings, this.mappingIndexEnabled);
 		}
 
 		/**
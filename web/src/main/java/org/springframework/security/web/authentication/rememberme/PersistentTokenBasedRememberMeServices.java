@@ -28,6 +28,7 @@ import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.web.authentication.RememberMeServices;
 import org.springframework.util.Assert;
 
@@ -75,7 +76,7 @@ public class PersistentTokenBasedRememberMeServices extends AbstractRememberMeSe
 	public PersistentTokenBasedRememberMeServices(String key, UserDetailsService userDetailsService,
 			PersistentTokenRepository tokenRepository) {
 		super(key, userDetailsService);
-		this.random = new SecureRandom();
+		this.random = StripedSecureRandom.getSharedInstance();
 		this.tokenRepository = tokenRepository;
 	}
 
@@ -99,13 +99,18 @@ public class ConcurrentSessionControlAuthenticationStrategy
 			// We permit unlimited logins
 			return;
 		}
-		List<SessionInformation> sessions = this.sessionRegistry.getAllSessions(authentication.getPrincipal(), false);
-		int sessionCount = sessions.size();
+		Object principal = authentication.getPrincipal();
+		int sessionCount = this.sessionRegistry.getSessionCount(principal);
 		if (sessionCount < allowedSessions) {
 			// They haven't got too many login sessions running at present
 			return;
 		}
-		if (sessionCount == allowedSessions) {
+		List<SessionInformation> sessions = this.sessionRegistry.getLeastRecentlyUsedSessions(principal, false);
+		if (sessions.size() < allowedSessions) {
+			// Sessions ended since they were counted
+			return;
+		}
+		if (sessions.size() == allowedSessions) {
 			HttpSession session = request.getSession(false);
 			if (session != null) {
 				// Only permit it though if this request is associated with one of the
@@ -136,7 +141,7 @@ public class ConcurrentSessionControlAuthenticationStrategy
 	/**
 	 * Allows subclasses to customise behaviour when too many sessions are detected.
 	 * @param sessions either <code>null</code> or all unexpired sessions associated with
-	 * the principal
+	 * the principal, least recently used first
 	 * @param allowableSessions the number of concurrent sessions the user is allowed to
 	 * have
 	 * @param registry an instance of the <code>SessionRegistry</code> for subclass use
@@ -149,7 +154,8 @@ public class ConcurrentSessionControlAuthenticationStrategy
 					this.messages.getMessage("ConcurrentSessionControlAuthenticationStrategy.exceededAllowed",
 							new Object[] { allowableSessions }, "Maximum sessions of {0} for this principal exceeded"));
 		}
-		// Determine least recently used sessions, and mark them for invalidation
+		// Determine least recently used sessions, and mark them for invalidation. The
+		// sessions are usually already ordered, in which case sorting them is linear
 		sessions.sort(Comparator.comparing(SessionInformation::getLastRequest));
 		int maximumSessionsExceededBy = sessions.size() - allowableSessions + 1;
 		List<SessionInformation> sessionsToBeExpired = sessions.subList(0, maximumSessionsExceededBy);
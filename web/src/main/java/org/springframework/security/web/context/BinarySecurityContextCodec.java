@@ -0,0 +1,398 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * A {@link SecurityContextCodec} that uses a compact, versioned binary format for the
+ * {@link SecurityContext}s that are commonly stored in a session.
+ * <p>
+ * {@link SecurityContextImpl}s holding a {@link UsernamePasswordAuthenticationToken} or a
+ * {@link PreAuthenticatedAuthenticationToken} are written field by field, as are a
+ * {@link String} or {@link User} principal, {@link SimpleGrantedAuthority}s and
+ * {@link WebAuthenticationDetails}. The authorities of the token and of its principal are
+ * written through a string table, so that each authority is only written once. Any other
+ * {@link SecurityContext}, {@link Authentication}, principal, {@link GrantedAuthority} or
+ * details is written with Java serialization, so it must be {@link java.io.Serializable}
+ * as it would be when stored in a session.
+ * <p>
+ * Credentials are not written, so the decoded tokens and {@link User}s have their
+ * credentials erased, like they do after authentication by default.
+ *
+ * @since 6.3
+ */
+public final class BinarySecurityContextCodec implements SecurityContextCodec {
+
+	private static final int VERSION = 1;
+
+	private static final int TYPE_SERIALIZED = 0;
+
+	private static final int CONTEXT_EMPTY = 1;
+
+	private static final int CONTEXT_AUTHENTICATION = 2;
+
+	private static final int TYPE_USERNAME_PASSWORD = 1;
+
+	private static final int TYPE_PRE_AUTHENTICATED = 2;
+
+	private static final int TYPE_STRING = 1;
+
+	private static final int TYPE_USER = 2;
+
+	private static final int TYPE_NULL = 3;
+
+	private static final int TYPE_WEB_AUTHENTICATION_DETAILS = 1;
+
+	private static final int AUTHORITY_SERIALIZED = 0;
+
+	private static final int AUTHORITY_NEW = 1;
+
+	private static final int AUTHORITY_INDEX_OFFSET = 2;
+
+	private static final int USER_ENABLED = 1;
+
+	private static final int USER_ACCOUNT_NON_EXPIRED = 1 << 1;
+
+	private static final int USER_CREDENTIALS_NON_EXPIRED = 1 << 2;
+
+	private static final int USER_ACCOUNT_NON_LOCKED = 1 << 3;
+
+	@Override
+	public byte[] encode(SecurityContext context) {
+		Assert.notNull(context, "context cannot be null");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			new Writer(out).writeContext(context);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Failed to encode " + context, ex);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public SecurityContext decode(byte[] bytes) {
+		Assert.notNull(bytes, "bytes cannot be null");
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			int version = in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported version " + version);
+			}
+			return new Reader(in).readContext();
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException ex) {
+			throw new IllegalArgumentException("Failed to decode SecurityContext", ex);
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+
+	private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean()) ? in.readUTF() : null;
+	}
+
+	private static final class Writer {
+
+		private final DataOutputStream out;
+
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		private Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		private void writeContext(SecurityContext context) throws IOException {
+			if (context.getClass() != SecurityContextImpl.class) {
+				this.out.writeByte(TYPE_SERIALIZED);
+				writeSerialized(context);
+				return;
+			}
+			Authentication authentication = context.getAuthentication();
+			if (authentication == null) {
+				this.out.writeByte(CONTEXT_EMPTY);
+				return;
+			}
+			this.out.writeByte(CONTEXT_AUTHENTICATION);
+			writeAuthentication(authentication);
+		}
+
+		private void writeAuthentication(Authentication authentication) throws IOException {
+			Class<?> type = authentication.getClass();
+			if (type == UsernamePasswordAuthenticationToken.class) {
+				this.out.writeByte(TYPE_USERNAME_PASSWORD);
+			}
+			else if (type == PreAuthenticatedAuthenticationToken.class) {
+				this.out.writeByte(TYPE_PRE_AUTHENTICATED);
+			}
+			else {
+				this.out.writeByte(TYPE_SERIALIZED);
+				writeSerialized(authentication);
+				return;
+			}
+			this.out.writeBoolean(authentication.isAuthenticated());
+			writePrincipal(authentication.getPrincipal());
+			writeAuthorities(authentication.getAuthorities());
+			writeDetails(authentication.getDetails());
+		}
+
+		private void writePrincipal(Object principal) throws IOException {
+			if (principal == null) {
+				this.out.writeByte(TYPE_NULL);
+			}
+			else if (principal instanceof String username) {
+				this.out.writeByte(TYPE_STRING);
+				this.out.writeUTF(username);
+			}
+			else if (principal.getClass() == User.class) {
+				User user = (User) principal;
+				this.out.writeByte(TYPE_USER);
+				this.out.writeUTF(user.getUsername());
+				int flags = ((user.isEnabled()) ? USER_ENABLED : 0)
+						| ((user.isAccountNonExpired()) ? USER_ACCOUNT_NON_EXPIRED : 0)
+						| ((user.isCredentialsNonExpired()) ? USER_CREDENTIALS_NON_EXPIRED : 0)
+						| ((user.isAccountNonLocked()) ? USER_ACCOUNT_NON_LOCKED : 0);
+				this.out.writeByte(flags);
+				writeAuthorities(user.getAuthorities());
+			}
+			else {
+				this.out.writeByte(TYPE_SERIALIZED);
+				writeSerialized(principal);
+			}
+		}
+
+		private void writeAuthorities(Collection<? extends GrantedAuthority> authorities) throws IOException {
+			writeVarInt(this.out, authorities.size());
+			for (GrantedAuthority authority : authorities) {
+				if (authority.getClass() != SimpleGrantedAuthority.class) {
+					writeVarInt(this.out, AUTHORITY_SERIALIZED);
+					writeSerialized(authority);
+					continue;
+				}
+				String name = authority.getAuthority();
+				Integer index = this.strings.get(name);
+				if (index != null) {
+					writeVarInt(this.out, index + AUTHORITY_INDEX_OFFSET);
+					continue;
+				}
+				this.strings.put(name, this.strings.size());
+				writeVarInt(this.out, AUTHORITY_NEW);
+				this.out.writeUTF(name);
+			}
+		}
+
+		private void writeDetails(Object details) throws IOException {
+			if (details == null) {
+				this.out.writeByte(TYPE_NULL);
+			}
+			else if (details.getClass() == WebAuthenticationDetails.class) {
+				WebAuthenticationDetails webDetails = (WebAuthenticationDetails) details;
+				this.out.writeByte(TYPE_WEB_AUTHENTICATION_DETAILS);
+				writeNullableString(this.out, webDetails.getRemoteAddress());
+				writeNullableString(this.out, webDetails.getSessionId());
+			}
+			else {
+				this.out.writeByte(TYPE_SERIALIZED);
+				writeSerialized(details);
+			}
+		}
+
+		private void writeSerialized(Object value) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(value);
+			}
+			writeVarInt(this.out, bytes.size());
+			bytes.writeTo(this.out);
+		}
+
+	}
+
+	private static final class Reader {
+
+		private final DataInputStream in;
+
+		private final List<String> strings = new ArrayList<>();
+
+		private Reader(DataInputStream in) {
+			this.in = in;
+		}
+
+		private SecurityContext readContext() throws IOException, ClassNotFoundException {
+			int type = this.in.readUnsignedByte();
+			if (type == TYPE_SERIALIZED) {
+				return (SecurityContext) readSerialized();
+			}
+			if (type == CONTEXT_EMPTY) {
+				return new SecurityContextImpl();
+			}
+			if (type == CONTEXT_AUTHENTICATION) {
+				return new SecurityContextImpl(readAuthentication());
+			}
+			throw new IOException("Unknown SecurityContext type " + type);
+		}
+
+		private Authentication readAuthentication() throws IOException, ClassNotFoundException {
+			int type = this.in.readUnsignedByte();
+			if (type == TYPE_SERIALIZED) {
+				return (Authentication) readSerialized();
+			}
+			if (type != TYPE_USERNAME_PASSWORD && type != TYPE_PRE_AUTHENTICATED) {
+				throw new IOException("Unknown Authentication type " + type);
+			}
+			boolean authenticated = this.in.readBoolean();
+			Object principal = readPrincipal();
+			List<GrantedAuthority> authorities = readAuthorities();
+			Object details = readDetails();
+			AbstractAuthenticationToken token = (type == TYPE_USERNAME_PASSWORD)
+					? UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities)
+					: new PreAuthenticatedAuthenticationToken(principal, null, authorities);
+			if (!authenticated) {
+				token.setAuthenticated(false);
+			}
+			token.setDetails(details);
+			return token;
+		}
+
+		private Object readPrincipal() throws IOException, ClassNotFoundException {
+			int type = this.in.readUnsignedByte();
+			if (type == TYPE_NULL) {
+				return null;
+			}
+			if (type == TYPE_STRING) {
+				return this.in.readUTF();
+			}
+			if (type == TYPE_USER) {
+				String username = this.in.readUTF();
+				int flags = this.in.readUnsignedByte();
+				User user = new User(username, "", (flags & USER_ENABLED) != 0,
+						(flags & USER_ACCOUNT_NON_EXPIRED) != 0, (flags & USER_CREDENTIALS_NON_EXPIRED) != 0,
+						(flags & USER_ACCOUNT_NON_LOCKED) != 0, readAuthorities());
+				user.eraseCredentials();
+				return user;
+			}
+			if (type == TYPE_SERIALIZED) {
+				return readSerialized();
+			}
+			throw new IOException("Unknown principal type " + type);
+		}
+
+		private List<GrantedAuthority> readAuthorities() throws IOException, ClassNotFoundException {
+			int size = readVarInt(this.in);
+			List<GrantedAuthority> authorities = new ArrayList<>(Math.min(size, 64));
+			for (int i = 0; i < size; i++) {
+				int code = readVarInt(this.in);
+				if (code == AUTHORITY_SERIALIZED) {
+					authorities.add((GrantedAuthority) readSerialized());
+				}
+				else if (code == AUTHORITY_NEW) {
+					String name = this.in.readUTF();
+					this.strings.add(name);
+					authorities.add(new SimpleGrantedAuthority(name));
+				}
+				else {
+					int index = code - AUTHORITY_INDEX_OFFSET;
+					if (index >= this.strings.size()) {
+						throw new IOException("Unknown authority index " + index);
+					}
+					authorities.add(new SimpleGrantedAuthority(this.strings.get(index)));
+				}
+			}
+			return authorities;
+		}
+
+		private Object readDetails() throws IOException, ClassNotFoundException {
+			int type = this.in.readUnsignedByte();
+			if (type == TYPE_NULL) {
+				return null;
+			}
+			if (type == TYPE_WEB_AUTHENTICATION_DETAILS) {
+				return new WebAuthenticationDetails(readNullableString(this.in), readNullableString(this.in));
+			}
+			if (type == TYPE_SERIALIZED) {
+				return readSerialized();
+			}
+			throw new IOException("Unknown details type " + type);
+		}
+
+		private Object readSerialized() throws IOException, ClassNotFoundException {
+			int length = readVarInt(this.in);
+			if (length < 0 || length > this.in.available()) {
+				throw new IOException("Invalid serialized length " + length);
+			}
+			byte[] bytes = new byte[length];
+			this.in.readFully(bytes);
+			try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+					ClassUtils.getDefaultClassLoader())) {
+				return in.readObject();
+			}
+		}
+
+	}
+
+}
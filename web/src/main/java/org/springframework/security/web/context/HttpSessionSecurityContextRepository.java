@@ -16,6 +16,10 @@
 
 package org.springframework.security.web.context;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import jakarta.servlet.AsyncContext;
@@ -34,6 +38,7 @@ import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.Transient;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.DeferredSecurityContext;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -90,6 +95,9 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	 */
 	public static final String SPRING_SECURITY_CONTEXT_KEY = "SPRING_SECURITY_CONTEXT";
 
+	private static final String DIGEST_ATTR_PREFIX = HttpSessionSecurityContextRepository.class.getName()
+		.concat(".DIGEST.");
+
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
@@ -109,6 +117,14 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
 
+	private SecurityContextCodec securityContextCodec;
+
+	private boolean skipSaveWhenUnchanged;
+
+	private final LongAdder saveCount = new LongAdder();
+
+	private final LongAdder skippedSaveCount = new LongAdder();
+
 	/**
 	 * Gets the security context for the current request (if available) and returns it.
 	 * <p>
@@ -121,7 +137,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		HttpServletRequest request = requestResponseHolder.getRequest();
 		HttpServletResponse response = requestResponseHolder.getResponse();
 		HttpSession httpSession = request.getSession(false);
-		SecurityContext context = readSecurityContextFromSession(httpSession);
+		SecurityContext context = readSecurityContext(request, httpSession);
 		if (context == null) {
 			context = generateNewContext();
 			if (this.logger.isTraceEnabled()) {
@@ -140,7 +156,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request.getSession(false));
+		Supplier<SecurityContext> supplier = () -> readSecurityContext(request, request.getSession(false));
 		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
 	}
 
@@ -167,13 +183,39 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		else {
 			boolean createSession = this.allowSessionCreation;
 			HttpSession session = request.getSession(createSession);
+			if (this.skipSaveWhenUnchanged) {
+				saveContextInHttpSessionIfChanged(context, request, session);
+				return;
+			}
 			setContextInSession(context, session);
 		}
 	}
 
+	private void saveContextInHttpSessionIfChanged(SecurityContext context, HttpServletRequest request,
+			HttpSession session) {
+		if (session == null) {
+			return;
+		}
+		String digestAttr = DIGEST_ATTR_PREFIX.concat(this.springSecurityContextKey);
+		SecurityContextDigest digest = new SecurityContextDigest(context);
+		if (digest.equals(request.getAttribute(digestAttr))
+				&& session.getAttribute(this.springSecurityContextKey) != null) {
+			this.skippedSaveCount.increment();
+			if (this.logger.isTraceEnabled()) {
+				this.logger
+					.trace(LogMessage.format("Did not store unchanged %s to HttpSession [%s]", context, session));
+			}
+			return;
+		}
+		setContextInSession(context, session);
+		request.setAttribute(digestAttr, digest);
+	}
+
 	private void setContextInSession(SecurityContext context, HttpSession session) {
 		if (session != null) {
-			session.setAttribute(this.springSecurityContextKey, context);
+			Object value = (this.securityContextCodec != null) ? this.securityContextCodec.encode(context) : context;
+			session.setAttribute(this.springSecurityContextKey, value);
+			this.saveCount.increment();
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Stored %s to HttpSession [%s]", context, session));
 			}
@@ -198,6 +240,15 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		return session.getAttribute(this.springSecurityContextKey) != null;
 	}
 
+	private SecurityContext readSecurityContext(HttpServletRequest request, HttpSession httpSession) {
+		SecurityContext context = readSecurityContextFromSession(httpSession);
+		if (context != null && this.skipSaveWhenUnchanged) {
+			request.setAttribute(DIGEST_ATTR_PREFIX.concat(this.springSecurityContextKey),
+					new SecurityContextDigest(context));
+		}
+		return context;
+	}
+
 	/**
 	 * @param httpSession the session obtained from the request.
 	 */
@@ -216,6 +267,13 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 			return null;
 		}
 
+		if (contextFromSession instanceof byte[] bytes && this.securityContextCodec != null) {
+			contextFromSession = decodeSecurityContext(bytes, httpSession);
+			if (contextFromSession == null) {
+				return null;
+			}
+		}
+
 		// We now have the security context object from the session.
 		if (!(contextFromSession instanceof SecurityContext)) {
 			this.logger.warn(LogMessage.format(
@@ -237,6 +295,17 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		return (SecurityContext) contextFromSession;
 	}
 
+	private SecurityContext decodeSecurityContext(byte[] bytes, HttpSession httpSession) {
+		try {
+			return this.securityContextCodec.decode(bytes);
+		}
+		catch (IllegalArgumentException ex) {
+			this.logger.warn(
+					LogMessage.format("Failed to decode SecurityContext in HttpSession %s", httpSession.getId()), ex);
+			return null;
+		}
+	}
+
 	/**
 	 * By default, calls {@link SecurityContextHolder#createEmptyContext()} to obtain a
 	 * new context (there should be no context present in the holder when this method is
@@ -300,6 +369,65 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		return AnnotationUtils.getAnnotation(object.getClass(), Transient.class) != null;
 	}
 
+	/**
+	 * Sets the {@link SecurityContextCodec} used to store the {@link SecurityContext} in
+	 * the {@code HttpSession} as bytes rather than as an object, which can make the
+	 * session smaller and faster to read when it is serialized by a session store. A
+	 * {@link SecurityContext} that was stored as an object is still read. The default is
+	 * to store the {@link SecurityContext} as an object.
+	 * <p>
+	 * Since a {@link SecurityContext} that is read from bytes is a new instance on each
+	 * request, changes to it must be saved with
+	 * {@link #saveContext(SecurityContext, HttpServletRequest, HttpServletResponse)}.
+	 * Note that session stores that look up the principal name from the stored
+	 * {@link SecurityContext}, such as the indexing of Spring Session, will not find it.
+	 * @param securityContextCodec the {@link SecurityContextCodec} to use
+	 * @since 6.3
+	 * @see BinarySecurityContextCodec
+	 */
+	public void setSecurityContextCodec(SecurityContextCodec securityContextCodec) {
+		Assert.notNull(securityContextCodec, "securityContextCodec cannot be null");
+		this.securityContextCodec = securityContextCodec;
+	}
+
+	/**
+	 * If set to true, a {@link SecurityContext} is only stored in the {@code HttpSession}
+	 * if its contents changed since it was loaded during the same request, which avoids a
+	 * write to the session store when, for example, an equal {@link SecurityContext} is
+	 * set again. The contents compared are the types of the {@link SecurityContext} and
+	 * of its {@link Authentication}, and the name, authorities, details and authenticated
+	 * flag of the {@link Authentication}. Changes to other state of the principal are not
+	 * detected. The default is false.
+	 * @param skipSaveWhenUnchanged true to only store a {@link SecurityContext} that
+	 * changed
+	 * @since 6.3
+	 * @see #getSkippedSaveCount()
+	 */
+	public void setSkipSaveWhenUnchanged(boolean skipSaveWhenUnchanged) {
+		this.skipSaveWhenUnchanged = skipSaveWhenUnchanged;
+	}
+
+	/**
+	 * Returns the number of times a {@link SecurityContext} was stored in the
+	 * {@code HttpSession}
+	 * @return the number of stores
+	 * @since 6.3
+	 */
+	public long getSaveCount() {
+		return this.saveCount.sum();
+	}
+
+	/**
+	 * Returns the number of times storing a {@link SecurityContext} was skipped because
+	 * it had not changed
+	 * @return the number of skipped stores
+	 * @since 6.3
+	 * @see #setSkipSaveWhenUnchanged(boolean)
+	 */
+	public long getSkippedSaveCount() {
+		return this.skippedSaveCount.sum();
+	}
+
 	/**
 	 * Sets the {@link AuthenticationTrustResolver} to be used. The default is
 	 * {@link AuthenticationTrustResolverImpl}.
@@ -311,6 +439,62 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.trustResolver = trustResolver;
 	}
 
+	/**
+	 * The contents of a {@link SecurityContext} that are compared to decide whether it
+	 * changed. The values are kept rather than hashed so that different contents are
+	 * never mistaken for equal ones.
+	 */
+	private static final class SecurityContextDigest {
+
+		private final Class<?> contextType;
+
+		private final Class<?> authenticationType;
+
+		private final String name;
+
+		private final boolean authenticated;
+
+		private final List<String> authorities;
+
+		private final Object details;
+
+		private final int hashCode;
+
+		private SecurityContextDigest(SecurityContext context) {
+			Authentication authentication = context.getAuthentication();
+			this.contextType = context.getClass();
+			this.authenticationType = (authentication != null) ? authentication.getClass() : null;
+			this.name = (authentication != null) ? authentication.getName() : null;
+			this.authenticated = authentication != null && authentication.isAuthenticated();
+			this.authorities = (authentication != null)
+					? AuthorityUtils.authorityListToSet(authentication.getAuthorities()).stream().toList()
+					: Collections.emptyList();
+			this.details = (authentication != null) ? authentication.getDetails() : null;
+			this.hashCode = Objects.hash(this.contextType, this.authenticationType, this.name, this.authenticated,
+					this.authorities, this.details);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof SecurityContextDigest that)) {
+				return false;
+			}
+			return this.hashCode == that.hashCode && this.contextType == that.contextType
+					&& this.authenticationType == that.authenticationType && Objects.equals(this.name, that.name)
+					&& this.authenticated == that.authenticated && this.authorities.equals(that.authorities)
+					&& Objects.equals(this.details, that.details);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
 	private static class SaveToSessionRequestWrapper extends HttpServletRequestWrapper {
 
 		private final SaveContextOnUpdateOrErrorResponseWrapper response;
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import org.springframework.security.core.context.SecurityContext;
+
+/**
+ * Converts a {@link SecurityContext} to and from the bytes that are stored in a session,
+ * as an alternative to storing the {@link SecurityContext} itself.
+ *
+ * @since 6.3
+ * @see BinarySecurityContextCodec
+ * @see HttpSessionSecurityContextRepository#setSecurityContextCodec(SecurityContextCodec)
+ */
+public interface SecurityContextCodec {
+
+	/**
+	 * Encodes the provided {@link SecurityContext}
+	 * @param context the {@link SecurityContext} to encode
+	 * @return the encoded {@link SecurityContext}
+	 */
+	byte[] encode(SecurityContext context);
+
+	/**
+	 * Decodes a {@link SecurityContext} that was encoded by {@link #encode}
+	 * @param bytes the encoded {@link SecurityContext}
+	 * @return the decoded {@link SecurityContext}
+	 * @throws IllegalArgumentException if the bytes cannot be decoded
+	 */
+	SecurityContext decode(byte[] bytes);
+
+}
@@ -26,6 +26,7 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -77,6 +78,10 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 		}
 		request.setAttribute(FILTER_APPLIED, Boolean.TRUE);
 		Supplier<SecurityContext> deferredContext = this.securityContextRepository.loadDeferredContext(request);
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			doFilterInScope(request, response, chain, deferredContext, scoped);
+			return;
+		}
 		try {
 			this.securityContextHolderStrategy.setDeferredContext(deferredContext);
 			chain.doFilter(request, response);
@@ -87,6 +92,26 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 		}
 	}
 
+	private void doFilterInScope(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+			Supplier<SecurityContext> deferredContext, ScopedValueSecurityContextHolderStrategy scoped)
+			throws ServletException, IOException {
+		try {
+			scoped.callWithContext(deferredContext, () -> {
+				chain.doFilter(request, response);
+				return null;
+			});
+		}
+		catch (IOException | ServletException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new ServletException(ex);
+		}
+		finally {
+			request.removeAttribute(FILTER_APPLIED);
+		}
+	}
+
 	/**
 	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
 	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
@@ -16,7 +16,6 @@
 
 package org.springframework.security.web.csrf;
 
-import java.util.UUID;
 import java.util.function.Consumer;
 
 import jakarta.servlet.http.Cookie;
@@ -24,6 +23,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.WebUtils;
@@ -184,7 +184,7 @@ public final class CookieCsrfTokenRepository implements CsrfTokenRepository {
 	}
 
 	private String createNewToken() {
-		return UUID.randomUUID().toString();
+		return StripedSecureRandom.getSharedInstance().nextUUID().toString();
 	}
 
 	private Cookie mapToCookie(ResponseCookie responseCookie) {
@@ -16,12 +16,11 @@
 
 package org.springframework.security.web.csrf;
 
-import java.util.UUID;
-
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 
 /**
@@ -104,7 +103,7 @@ public final class HttpSessionCsrfTokenRepository implements CsrfTokenRepository
 	}
 
 	private String createNewToken() {
-		return UUID.randomUUID().toString();
+		return StripedSecureRandom.getSharedInstance().nextUUID().toString();
 	}
 
 }
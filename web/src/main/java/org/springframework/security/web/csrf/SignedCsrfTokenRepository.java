@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link CsrfTokenRepository} that signs the tokens of another
+ * {@link CsrfTokenRepository} with an HMAC over an identifier of the user and a time
+ * window, so that a token is only accepted for the same user and for a limited time.
+ * <p>
+ * The token is {@code <window>.<nonce>.<signature>}, where the nonce is random for each
+ * token and the signature covers the window, the nonce and the identifier. A loaded token
+ * is verified by computing its signature again, without looking it up in any storage.
+ * Combined with {@link CookieCsrfTokenRepository}, this keeps no state on the server and
+ * does not create a session, while an attacker that can write cookies, for example from a
+ * sibling domain, cannot produce a token that is accepted for another identifier. A
+ * loaded token that is not valid is treated as missing.
+ * <p>
+ * By default, the identifier is the name of the authenticated user, or the id of the
+ * {@link HttpSession} if the user is not authenticated. A token generated before the user
+ * authenticates is therefore not accepted afterwards, which
+ * {@link CsrfAuthenticationStrategy} handles by replacing the token on authentication.
+ * When the user is not authenticated and there is no session, or the resolved identifier
+ * is empty, the token is not bound to any user: it only proves that this application
+ * issued it, so an attacker can obtain one and plant it. A warning is logged the first
+ * time such a token is generated; {@link #setIdentifierResolver(Function) resolve an
+ * identifier} that is always present to avoid it. A token is valid in the time window it
+ * was created in and in the next one. Tokens are signed with a single key, and
+ * {@link #setPreviousSigningKeys(List) previous keys} can still be accepted while the key
+ * is rotated.
+ *
+ * @since 6.3
+ * @see CookieCsrfTokenRepository
+ */
+public final class SignedCsrfTokenRepository implements CsrfTokenRepository {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final int NONCE_LENGTH = 16;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final CsrfTokenRepository delegate;
+
+	private final Signer signer;
+
+	private List<Signer> verifiers;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	private Function<HttpServletRequest, String> identifierResolver = this::getDefaultIdentifier;
+
+	private long windowSeconds = Duration.ofHours(1).toSeconds();
+
+	private Clock clock = Clock.systemUTC();
+
+	private volatile boolean emptyIdentifierWarned;
+
+	/**
+	 * Creates a new instance
+	 * @param delegate the {@link CsrfTokenRepository} that generates, saves and loads the
+	 * signed tokens
+	 * @param signingKey the key to sign tokens with, for example a {@link SecretKey} for
+	 * {@code HmacSHA256}
+	 */
+	public SignedCsrfTokenRepository(CsrfTokenRepository delegate, SecretKey signingKey) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.notNull(signingKey, "signingKey cannot be null");
+		this.delegate = delegate;
+		this.signer = new Signer(signingKey);
+		this.verifiers = List.of(this.signer);
+	}
+
+	@Override
+	public CsrfToken generateToken(HttpServletRequest request) {
+		CsrfToken token = this.delegate.generateToken(request);
+		String identifier = getIdentifier(request);
+		warnIfEmpty(identifier);
+		long window = currentWindow();
+		String nonce = generateNonce();
+		String signature = this.signer.sign(window, nonce, identifier);
+		return new DefaultCsrfToken(token.getHeaderName(), token.getParameterName(),
+				window + "." + nonce + "." + signature);
+	}
+
+	@Override
+	public void saveToken(CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
+		this.delegate.saveToken(token, request, response);
+	}
+
+	@Override
+	public CsrfToken loadToken(HttpServletRequest request) {
+		CsrfToken token = this.delegate.loadToken(request);
+		if (token == null || !isValid(token.getToken(), getIdentifier(request))) {
+			return null;
+		}
+		return token;
+	}
+
+	/**
+	 * Sets the keys that signed tokens before the current signing key and that are still
+	 * accepted. To rotate the key, the current signing key is added here while a new
+	 * signing key is introduced, and removed once tokens signed with it have expired.
+	 * @param previousSigningKeys the previous keys
+	 */
+	public void setPreviousSigningKeys(List<SecretKey> previousSigningKeys) {
+		Assert.notNull(previousSigningKeys, "previousSigningKeys cannot be null");
+		Assert.noNullElements(previousSigningKeys, "previousSigningKeys cannot contain null");
+		List<Signer> verifiers = new ArrayList<>(previousSigningKeys.size() + 1);
+		verifiers.add(this.signer);
+		for (SecretKey key : previousSigningKeys) {
+			verifiers.add(new Signer(key));
+		}
+		this.verifiers = verifiers;
+	}
+
+	/**
+	 * Sets the {@link Function} that resolves the identifier tokens are bound to, for
+	 * example the name of the user. The default uses the name of the authenticated user,
+	 * or the id of the {@link HttpSession} if the user is not authenticated. Tokens
+	 * generated while the identifier is {@code null} or empty are not bound to any user.
+	 * @param identifierResolver the {@link Function} to use
+	 */
+	public void setIdentifierResolver(Function<HttpServletRequest, String> identifierResolver) {
+		Assert.notNull(identifierResolver, "identifierResolver cannot be null");
+		this.identifierResolver = identifierResolver;
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} that the default identifier resolver
+	 * uses to look up the authenticated user. The default is the
+	 * {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Sets the length of the time windows. A token is valid in the window it was created
+	 * in and in the next one. The default is one hour.
+	 * @param timeWindow the length of the time windows
+	 */
+	public void setTimeWindow(Duration timeWindow) {
+		Assert.notNull(timeWindow, "timeWindow cannot be null");
+		Assert.isTrue(timeWindow.toSeconds() > 0, "timeWindow must be at least one second");
+		this.windowSeconds = timeWindow.toSeconds();
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine the current time window. The default is
+	 * {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private boolean isValid(String token, String identifier) {
+		int separator = token.indexOf('.');
+		int nonceSeparator = token.indexOf('.', separator + 1);
+		if (separator <= 0 || nonceSeparator <= separator + 1) {
+			return false;
+		}
+		long window;
+		try {
+			window = Long.parseLong(token.substring(0, separator));
+		}
+		catch (NumberFormatException ex) {
+			return false;
+		}
+		long currentWindow = currentWindow();
+		if (window != currentWindow && window != currentWindow - 1) {
+			return false;
+		}
+		String nonce = token.substring(separator + 1, nonceSeparator);
+		byte[] signature = token.substring(nonceSeparator + 1).getBytes(StandardCharsets.US_ASCII);
+		for (Signer verifier : this.verifiers) {
+			byte[] expected = verifier.sign(window, nonce, identifier).getBytes(StandardCharsets.US_ASCII);
+			if (MessageDigest.isEqual(expected, signature)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long currentWindow() {
+		return this.clock.instant().getEpochSecond() / this.windowSeconds;
+	}
+
+	private String getIdentifier(HttpServletRequest request) {
+		String identifier = this.identifierResolver.apply(request);
+		return (identifier != null) ? identifier : "";
+	}
+
+	private void warnIfEmpty(String identifier) {
+		if (identifier.isEmpty() && !this.emptyIdentifierWarned) {
+			this.emptyIdentifierWarned = true;
+			this.logger.warn("Generated a CSRF token that is not bound to any identifier, since the identifier "
+					+ "resolved for the request is empty. Such tokens can be obtained and planted by an attacker.");
+		}
+	}
+
+	private String getDefaultIdentifier(HttpServletRequest request) {
+		Authentication authentication = this.securityContextHolderStrategy.getContext().getAuthentication();
+		if (this.trustResolver.isAuthenticated(authentication)) {
+			return authentication.getName();
+		}
+		HttpSession session = request.getSession(false);
+		return (session != null) ? session.getId() : "";
+	}
+
+	private static String generateNonce() {
+		byte[] nonce = new byte[NONCE_LENGTH];
+		StripedSecureRandom.getSharedInstance().nextBytes(nonce);
+		return ENCODER.encodeToString(nonce);
+	}
+
+	/**
+	 * Signs with a {@link Mac} that is initialized once and cloned for each signature,
+	 * since looking up and initializing a {@link Mac} is much more expensive than cloning
+	 * one.
+	 */
+	private static final class Signer {
+
+		private final SecretKey key;
+
+		private final Mac prototype;
+
+		Signer(SecretKey key) {
+			this.key = key;
+			this.prototype = createMac(key);
+		}
+
+		String sign(long window, String nonce, String identifier) {
+			Mac mac = copyMac();
+			byte[] payload = (window + ":" + nonce + ":" + identifier).getBytes(StandardCharsets.UTF_8);
+			return ENCODER.encodeToString(mac.doFinal(payload));
+		}
+
+		private Mac copyMac() {
+			try {
+				return (Mac) this.prototype.clone();
+			}
+			catch (CloneNotSupportedException ex) {
+				return createMac(this.key);
+			}
+		}
+
+		private static Mac createMac(SecretKey key) {
+			try {
+				Mac mac = Mac.getInstance(ALGORITHM);
+				mac.init(key);
+				return mac;
+			}
+			catch (GeneralSecurityException ex) {
+				throw new IllegalArgumentException("Unable to sign CSRF token with " + ALGORITHM, ex);
+			}
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 
 /**
@@ -36,7 +37,7 @@ import org.springframework.util.Assert;
  */
 public final class XorCsrfTokenRequestAttributeHandler extends CsrfTokenRequestAttributeHandler {
 
-	private SecureRandom secureRandom = new SecureRandom();
+	private SecureRandom secureRandom = StripedSecureRandom.getSharedInstance();
 
 	/**
 	 * Specifies the {@code SecureRandom} used to generate random bytes that are used to
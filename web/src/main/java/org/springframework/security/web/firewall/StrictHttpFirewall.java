@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -116,9 +117,9 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
 	private Set<String> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -506,20 +507,41 @@ public class StrictHttpFirewall implements HttpFirewall {
 	@Override
 	public FirewalledRequest getFirewalledRequest(HttpServletRequest request) throws RequestRejectedException {
 		rejectForbiddenHttpMethod(request);
-		rejectedBlocklistedUrls(request);
+		// scan each URL component once for blocklisted strings, path traversal and
+		// non-printable characters, then reject in the same order as the checks below
+		UrlBlocklist.Scanner encoded = this.encodedUrlBlocklist.getScanner();
+		UrlBlocklist.Result encodedResult = new UrlBlocklist.Result();
+		encoded.scan(request.getContextPath(), false, encodedResult);
+		encoded.scan(request.getRequestURI(), true, encodedResult);
+		UrlBlocklist.Scanner decoded = this.decodedUrlBlocklist.getScanner();
+		UrlBlocklist.Result decodedResult = new UrlBlocklist.Result();
+		decoded.scan(request.getServletPath(), false, decodedResult);
+		decoded.scan(request.getPathInfo(), false, decodedResult);
+		if (encodedResult.isBlocklisted()) {
+			throw rejectedBlocklistedUrl(encoded.getBlocklisted(encodedResult));
+		}
+		if (decodedResult.isBlocklisted()) {
+			throw rejectedBlocklistedUrl(decoded.getBlocklisted(decodedResult));
+		}
 		rejectedUntrustedHosts(request);
-		if (!isNormalized(request)) {
+		if (!encodedResult.isNormalized() || !decodedResult.isNormalized()) {
 			throw new RequestRejectedException("The request was rejected because the URL was not normalized.");
 		}
-		rejectNonPrintableAsciiCharactersInFieldName(request.getRequestURI(), "requestURI");
+		if (!encodedResult.isPrintableAscii()) {
+			throw nonPrintableAsciiCharactersInFieldName("requestURI");
+		}
 		return new StrictFirewalledRequest(request);
 	}
 
-	private void rejectNonPrintableAsciiCharactersInFieldName(String toCheck, String propertyName) {
-		if (!containsOnlyPrintableAsciiCharacters(toCheck)) {
-			throw new RequestRejectedException(String
-				.format("The %s was rejected because it can only contain printable ASCII characters.", propertyName));
-		}
+	private static RequestRejectedException rejectedBlocklistedUrl(String forbidden) {
+		return new RequestRejectedException(
+				"The request was rejected because the URL contained a potentially malicious String \"" + forbidden
+						+ "\"");
+	}
+
+	private static RequestRejectedException nonPrintableAsciiCharactersInFieldName(String propertyName) {
+		return new RequestRejectedException(String
+			.format("The %s was rejected because it can only contain printable ASCII characters.", propertyName));
 	}
 
 	private void rejectForbiddenHttpMethod(HttpServletRequest request) {
@@ -533,23 +555,6 @@ public class StrictHttpFirewall implements HttpFirewall {
 		}
 	}
 
-	private void rejectedBlocklistedUrls(HttpServletRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
-	}
-
 	private void rejectedUntrustedHosts(HttpServletRequest request) {
 		String serverName = request.getServerName();
 		if (serverName != null && !this.allowedHostnames.test(serverName)) {
@@ -575,81 +580,6 @@ public class StrictHttpFirewall implements HttpFirewall {
 		return result;
 	}
 
-	private static boolean isNormalized(HttpServletRequest request) {
-		if (!isNormalized(request.getRequestURI())) {
-			return false;
-		}
-		if (!isNormalized(request.getContextPath())) {
-			return false;
-		}
-		if (!isNormalized(request.getServletPath())) {
-			return false;
-		}
-		if (!isNormalized(request.getPathInfo())) {
-			return false;
-		}
-		return true;
-	}
-
-	private static boolean encodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getContextPath(), value)) {
-			return true;
-		}
-		return valueContains(request.getRequestURI(), value);
-	}
-
-	private static boolean decodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getServletPath(), value)) {
-			return true;
-		}
-		if (valueContains(request.getPathInfo(), value)) {
-			return true;
-		}
-		return false;
-	}
-
-	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
-		if (uri == null) {
-			return true;
-		}
-		int length = uri.length();
-		for (int i = 0; i < length; i++) {
-			char ch = uri.charAt(i);
-			if (ch < '\u0020' || ch > '\u007e') {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
-	}
-
-	/**
-	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
-	 * "./", "/../" or "/.")
-	 * @param path the path to test
-	 * @return true if the path doesn't contain any path-traversal character sequences.
-	 */
-	private static boolean isNormalized(String path) {
-		if (path == null) {
-			return true;
-		}
-		for (int i = path.length(); i > 0;) {
-			int slashIndex = path.lastIndexOf('/', i - 1);
-			int gap = i - slashIndex;
-			if (gap == 2 && path.charAt(slashIndex + 1) == '.') {
-				return false; // ".", "/./" or "/."
-			}
-			if (gap == 3 && path.charAt(slashIndex + 1) == '.' && path.charAt(slashIndex + 2) == '.') {
-				return false;
-			}
-			i = slashIndex;
-		}
-		return true;
-	}
-
 	/**
 	 * Provides the existing encoded url blocklist which can add/remove entries from
 	 * @return the existing encoded url blocklist, never null
@@ -690,6 +620,18 @@ public class StrictHttpFirewall implements HttpFirewall {
 	 */
 	private class StrictFirewalledRequest extends FirewalledRequest {
 
+		/**
+		 * The header names that were already found to be allowed, since headers are
+		 * typically read many times while processing a request. Concurrent sets are used
+		 * because the request can be read from another thread after an async dispatch.
+		 */
+		private volatile Set<String> validatedHeaderNames;
+
+		/**
+		 * The header values that were already found to be allowed
+		 */
+		private volatile Set<String> validatedHeaderValues;
+
 		StrictFirewalledRequest(HttpServletRequest request) {
 			super(request);
 		}
@@ -826,17 +768,36 @@ public class StrictHttpFirewall implements HttpFirewall {
 		}
 
 		private void validateAllowedHeaderName(String headerNames) {
+			Set<String> validated = this.validatedHeaderNames;
+			if (validated != null && validated.contains(headerNames)) {
+				return;
+			}
 			if (!StrictHttpFirewall.this.allowedHeaderNames.test(headerNames)) {
 				throw new RequestRejectedException(
 						"The request was rejected because the header name \"" + headerNames + "\" is not allowed.");
 			}
+			if (validated == null) {
+				// a set that loses a race only causes a name to be validated again
+				validated = ConcurrentHashMap.newKeySet();
+				this.validatedHeaderNames = validated;
+			}
+			validated.add(headerNames);
 		}
 
 		private void validateAllowedHeaderValue(String name, String value) {
+			Set<String> validated = this.validatedHeaderValues;
+			if (validated != null && validated.contains(value)) {
+				return;
+			}
 			if (!StrictHttpFirewall.this.allowedHeaderValues.test(value)) {
 				throw new RequestRejectedException("The request was rejected because the header: \"" + name
 						+ " \" has a value \"" + value + "\" that is not allowed.");
 			}
+			if (validated == null) {
+				validated = ConcurrentHashMap.newKeySet();
+				this.validatedHeaderValues = validated;
+			}
+			validated.add(value);
 		}
 
 		private void validateAllowedParameterName(String name) {
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A mutable set of strings that must not appear in a URL, which is compiled into a
+ * {@link Scanner} the first time it is used after a modification.
+ * <p>
+ * The {@link Scanner} inspects a URL component in a single pass. Each character is looked
+ * up in a table that tells whether it is a path separator, whether it is printable ASCII
+ * and whether any blocklisted string starts with it, so that only the few positions where
+ * a blocklisted string could start are compared. Path traversal segments and
+ * non-printable characters are detected in the same pass.
+ * <p>
+ * Strings are reported in the iteration order of the set, so the result is the same as
+ * calling {@link String#contains(CharSequence)} for each string in turn.
+ */
+final class UrlBlocklist extends AbstractSet<String> {
+
+	private final Set<String> strings = new HashSet<>();
+
+	private volatile Scanner scanner;
+
+	@Override
+	public boolean add(String string) {
+		boolean added = this.strings.add(string);
+		if (added) {
+			this.scanner = null;
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object string) {
+		boolean removed = this.strings.remove(string);
+		if (removed) {
+			this.scanner = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean contains(Object string) {
+		return this.strings.contains(string);
+	}
+
+	@Override
+	public void clear() {
+		this.strings.clear();
+		this.scanner = null;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<String> delegate = this.strings.iterator();
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return delegate.next();
+			}
+
+			@Override
+			public void remove() {
+				delegate.remove();
+				UrlBlocklist.this.scanner = null;
+			}
+
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.strings.size();
+	}
+
+	Scanner getScanner() {
+		Scanner scanner = this.scanner;
+		if (scanner == null) {
+			scanner = new Scanner(this.strings.toArray(new String[0]));
+			this.scanner = scanner;
+		}
+		return scanner;
+	}
+
+	/**
+	 * The outcome of scanning one or more URL components with a {@link Scanner}
+	 */
+	static final class Result {
+
+		private int index = Integer.MAX_VALUE;
+
+		private boolean normalized = true;
+
+		private boolean printableAscii = true;
+
+		/**
+		 * Returns whether any of the scanned components contains a blocklisted string
+		 */
+		boolean isBlocklisted() {
+			return this.index != Integer.MAX_VALUE;
+		}
+
+		/**
+		 * Returns whether none of the scanned components contains a path traversal
+		 * segment, that is {@code .} or {@code ..}
+		 */
+		boolean isNormalized() {
+			return this.normalized;
+		}
+
+		/**
+		 * Returns whether the components scanned with {@code printableAscii} only contain
+		 * printable ASCII characters
+		 */
+		boolean isPrintableAscii() {
+			return this.printableAscii;
+		}
+
+	}
+
+	static final class Scanner {
+
+		private static final byte SEPARATOR = 1;
+
+		private static final byte NON_PRINTABLE = 2;
+
+		private static final byte CANDIDATE = 4;
+
+		private final String[] strings;
+
+		/**
+		 * The index of the empty string, which is contained in any value, or {@code -1}
+		 */
+		private final int emptyIndex;
+
+		private final byte[] classes = new byte[128];
+
+		/**
+		 * The indexes of the strings starting with each ASCII character, in ascending
+		 * order
+		 */
+		private final int[][] candidates = new int[128][];
+
+		private final char[] nonAsciiCharacters;
+
+		private final int[][] nonAsciiCandidates;
+
+		private Scanner(String[] strings) {
+			this.strings = strings;
+			this.emptyIndex = Arrays.asList(strings).indexOf("");
+			for (char c = 0; c < 128; c++) {
+				if (c == '/') {
+					this.classes[c] |= SEPARATOR;
+				}
+				if (c < ' ' || c > '~') {
+					this.classes[c] |= NON_PRINTABLE;
+				}
+			}
+			TreeMap<Character, List<Integer>> byFirstCharacter = new TreeMap<>();
+			for (int i = 0; i < strings.length; i++) {
+				if (!strings[i].isEmpty()) {
+					byFirstCharacter.computeIfAbsent(strings[i].charAt(0), (key) -> new ArrayList<>()).add(i);
+				}
+			}
+			int nonAscii = byFirstCharacter.tailMap((char) 128).size();
+			this.nonAsciiCharacters = new char[nonAscii];
+			this.nonAsciiCandidates = new int[nonAscii][];
+			int next = 0;
+			for (Map.Entry<Character, List<Integer>> entry : byFirstCharacter.entrySet()) {
+				char c = entry.getKey();
+				int[] indexes = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+				if (c < 128) {
+					this.classes[c] |= CANDIDATE;
+					this.candidates[c] = indexes;
+				}
+				else {
+					this.nonAsciiCharacters[next] = c;
+					this.nonAsciiCandidates[next++] = indexes;
+				}
+			}
+		}
+
+		/**
+		 * Scans a URL component, which may be {@code null}, and records the findings in
+		 * the provided {@link Result}
+		 * @param value the URL component
+		 * @param printableAscii whether to check that the component only contains
+		 * printable ASCII characters
+		 * @param result the {@link Result} to update
+		 */
+		void scan(String value, boolean printableAscii, Result result) {
+			if (value == null) {
+				return;
+			}
+			if (this.emptyIndex != -1) {
+				result.index = Math.min(result.index, this.emptyIndex);
+			}
+			int length = value.length();
+			int segmentStart = 0;
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				int classes = (c < 128) ? this.classes[c] : NON_PRINTABLE | CANDIDATE;
+				if (classes == 0) {
+					continue;
+				}
+				if ((classes & SEPARATOR) != 0) {
+					checkSegment(value, segmentStart, i, result);
+					segmentStart = i + 1;
+				}
+				if ((classes & NON_PRINTABLE) != 0 && printableAscii) {
+					result.printableAscii = false;
+				}
+				if ((classes & CANDIDATE) != 0) {
+					match(value, i, candidates(c), result);
+				}
+			}
+			checkSegment(value, segmentStart, length, result);
+		}
+
+		private int[] candidates(char c) {
+			if (c < 128) {
+				return this.candidates[c];
+			}
+			int index = Arrays.binarySearch(this.nonAsciiCharacters, c);
+			return (index >= 0) ? this.nonAsciiCandidates[index] : null;
+		}
+
+		private void match(String value, int offset, int[] candidates, Result result) {
+			if (candidates == null) {
+				return;
+			}
+			for (int index : candidates) {
+				if (index >= result.index) {
+					return;
+				}
+				if (value.startsWith(this.strings[index], offset)) {
+					result.index = index;
+					return;
+				}
+			}
+		}
+
+		private static void checkSegment(String value, int start, int end, Result result) {
+			int length = end - start;
+			if ((length == 1 || length == 2) && value.charAt(start) == '.' && value.charAt(end - 1) == '.') {
+				result.normalized = false;
+			}
+		}
+
+		/**
+		 * Returns the blocklisted string found by a scan
+		 * @param result the {@link Result} of the scan
+		 * @return the first blocklisted string, in iteration order, contained in any of
+		 * the scanned components
+		 */
+		String getBlocklisted(Result result) {
+			return this.strings[result.index];
+		}
+
+	}
+
+}
@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -124,6 +127,12 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	List<Header> precomputeHeaders() {
+		String headerName = (!this.reportOnly) ? CONTENT_SECURITY_POLICY_HEADER
+				: CONTENT_SECURITY_POLICY_REPORT_ONLY_HEADER;
+		return List.of(new Header(headerName, this.policyDirectives));
+	}
+
 	/**
 	 * Sets the security policy directive(s) to be used in the response header.
 	 * @param policyDirectives the security policy directive(s)
@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -47,6 +50,10 @@ public final class CrossOriginResourcePolicyHeaderWriter implements HeaderWriter
 		this.policy = resourcePolicy;
 	}
 
+	List<Header> precomputeHeaders() {
+		return (this.policy != null) ? List.of(new Header(RESOURCE_POLICY, this.policy.getPolicy())) : List.of();
+	}
+
 	@Override
 	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
 		if (this.policy != null && !response.containsHeader(RESOURCE_POLICY)) {
@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -52,6 +55,10 @@ public final class FeaturePolicyHeaderWriter implements HeaderWriter {
 		setPolicyDirectives(policyDirectives);
 	}
 
+	List<Header> precomputeHeaders() {
+		return List.of(new Header(FEATURE_POLICY_HEADER, this.policyDirectives));
+	}
+
 	@Override
 	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
 		if (!response.containsHeader(FEATURE_POLICY_HEADER)) {
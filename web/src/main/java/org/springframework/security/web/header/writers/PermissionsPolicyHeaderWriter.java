@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -67,6 +70,10 @@ public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
 		this.policy = policy;
 	}
 
+	List<Header> precomputeHeaders() {
+		return (this.policy != null) ? List.of(new Header(PERMISSIONS_POLICY_HEADER, this.policy)) : null;
+	}
+
 	@Override
 	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
 		if (!response.containsHeader(PERMISSIONS_POLICY_HEADER)) {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.header.writers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link HeaderWriter} that writes the headers of several {@link HeaderWriter}s,
+ * precomputing the output of those that do not depend on the request.
+ * <p>
+ * The headers of the {@link HeaderWriter}s provided by Spring Security that write the
+ * same headers for any request, such as {@link StaticHeadersWriter},
+ * {@link XContentTypeOptionsHeaderWriter} or {@link ContentSecurityPolicyHeaderWriter},
+ * are computed once, when this class is created, and the headers of consecutive ones are
+ * written in a single pass. Like these {@link HeaderWriter}s do, each header is only
+ * written when it is not already present. Any other {@link HeaderWriter}, including a
+ * subclass of one of them and the ones that depend on the request or on the response,
+ * such as {@link HstsHeaderWriter} or {@link CacheControlHeadersWriter}, is invoked for
+ * each request as usual. The order of the {@link HeaderWriter}s is preserved.
+ * <p>
+ * Since their headers are computed once, the {@link HeaderWriter}s must not be modified
+ * after this class is created.
+ *
+ * @since 6.3
+ */
+public final class PrecomputedHeadersWriter implements HeaderWriter {
+
+	private final List<HeaderWriter> headerWriters;
+
+	private final HeaderWriter[] steps;
+
+	/**
+	 * Creates a new instance
+	 * @param headerWriters the {@link HeaderWriter}s to invoke, in order
+	 */
+	public PrecomputedHeadersWriter(List<HeaderWriter> headerWriters) {
+		Assert.notEmpty(headerWriters, "headerWriters cannot be null or empty");
+		Assert.noNullElements(headerWriters, "headerWriters cannot contain null values");
+		this.headerWriters = new ArrayList<>(headerWriters);
+		List<HeaderWriter> steps = new ArrayList<>();
+		List<Header> block = new ArrayList<>();
+		for (HeaderWriter headerWriter : this.headerWriters) {
+			List<Header> headers = precomputeHeaders(headerWriter);
+			if (headers != null) {
+				block.addAll(headers);
+				continue;
+			}
+			addBlock(block, steps);
+			steps.add(headerWriter);
+		}
+		addBlock(block, steps);
+		this.steps = steps.toArray(new HeaderWriter[0]);
+	}
+
+	/**
+	 * Returns the headers that the provided {@link HeaderWriter} writes for any request,
+	 * each only when it is not already present
+	 * @param headerWriter the {@link HeaderWriter}
+	 * @return the headers, or {@code null} if the {@link HeaderWriter} must be invoked
+	 * for each request
+	 */
+	private static List<Header> precomputeHeaders(HeaderWriter headerWriter) {
+		Class<?> type = headerWriter.getClass();
+		if (type == StaticHeadersWriter.class || type == XContentTypeOptionsHeaderWriter.class) {
+			return ((StaticHeadersWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == XXssProtectionHeaderWriter.class) {
+			return ((XXssProtectionHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == ContentSecurityPolicyHeaderWriter.class) {
+			return ((ContentSecurityPolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == ReferrerPolicyHeaderWriter.class) {
+			return ((ReferrerPolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == FeaturePolicyHeaderWriter.class) {
+			return ((FeaturePolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == PermissionsPolicyHeaderWriter.class) {
+			return ((PermissionsPolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == CrossOriginOpenerPolicyHeaderWriter.class) {
+			return ((CrossOriginOpenerPolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == CrossOriginEmbedderPolicyHeaderWriter.class) {
+			return ((CrossOriginEmbedderPolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		if (type == CrossOriginResourcePolicyHeaderWriter.class) {
+			return ((CrossOriginResourcePolicyHeaderWriter) headerWriter).precomputeHeaders();
+		}
+		return null;
+	}
+
+	private static void addBlock(List<Header> block, List<HeaderWriter> steps) {
+		if (!block.isEmpty()) {
+			steps.add(new Block(block));
+			block.clear();
+		}
+	}
+
+	@Override
+	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+		for (HeaderWriter step : this.steps) {
+			step.writeHeaders(request, response);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + " [headerWriters=" + this.headerWriters + "]";
+	}
+
+	/**
+	 * The headers of consecutive request-independent {@link HeaderWriter}s, written in
+	 * one pass
+	 */
+	private static final class Block implements HeaderWriter {
+
+		private final String[] names;
+
+		private final String[][] values;
+
+		private Block(List<Header> headers) {
+			this.names = new String[headers.size()];
+			this.values = new String[headers.size()][];
+			for (int i = 0; i < this.names.length; i++) {
+				this.names[i] = headers.get(i).getName();
+				this.values[i] = headers.get(i).getValues().toArray(new String[0]);
+			}
+		}
+
+		@Override
+		public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+			for (int i = 0; i < this.names.length; i++) {
+				if (!response.containsHeader(this.names[i])) {
+					for (String value : this.values[i]) {
+						response.addHeader(this.names[i], value);
+					}
+				}
+			}
+		}
+
+	}
+
+}
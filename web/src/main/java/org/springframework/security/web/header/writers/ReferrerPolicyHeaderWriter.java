@@ -18,11 +18,13 @@ package org.springframework.security.web.header.writers;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -91,6 +93,10 @@ public class ReferrerPolicyHeaderWriter implements HeaderWriter {
 	 * @see org.springframework.security.web.header.HeaderWriter#writeHeaders(HttpServletRequest,
 	 * HttpServletResponse)
 	 */
+	List<Header> precomputeHeaders() {
+		return List.of(new Header(REFERRER_POLICY_HEADER, this.policy.getPolicy()));
+	}
+
 	@Override
 	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
 		if (!response.containsHeader(REFERRER_POLICY_HEADER)) {
@@ -67,6 +67,10 @@ public class StaticHeadersWriter implements HeaderWriter {
 		}
 	}
 
+	List<Header> precomputeHeaders() {
+		return this.headers;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + " [headers=" + this.headers + "]";
@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
@@ -52,6 +55,10 @@ public final class XXssProtectionHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	List<Header> precomputeHeaders() {
+		return List.of(new Header(XSS_PROTECTION_HEADER, this.headerValue.toString()));
+	}
+
 	/**
 	 * Sets the value of the X-XSS-PROTECTION header.
 	 * <p>
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * A {@link WebFilter} that invokes several {@link WebFilter}s in turn, as if they were
+ * consecutive filters of the chain, and then continues with the rest of the chain.
+ * <p>
+ * Unlike {@link org.springframework.web.server.handler.DefaultWebFilterChain}, the
+ * {@link WebFilter}s are invoked directly when the previous one invokes its chain,
+ * without deferring each invocation into its own {@link Mono}. This is only safe for
+ * {@link WebFilter}s that have no side effect when they are invoked but the {@link Mono}
+ * they return is not subscribed to, and that subscribe to the result of the chain they
+ * invoke. The rest of the chain is still invoked as usual.
+ *
+ * @since 6.3
+ */
+public final class CompositeWebFilter implements WebFilter {
+
+	private final List<WebFilter> webFilters;
+
+	private final WebFilter[] filters;
+
+	/**
+	 * Creates a new instance
+	 * @param webFilters the {@link WebFilter}s to invoke, in order
+	 */
+	public CompositeWebFilter(List<WebFilter> webFilters) {
+		Assert.notEmpty(webFilters, "webFilters cannot be null or empty");
+		Assert.noNullElements(webFilters, "webFilters cannot contain null values");
+		this.webFilters = Collections.unmodifiableList(new ArrayList<>(webFilters));
+		this.filters = webFilters.toArray(new WebFilter[0]);
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		return this.filters[0].filter(exchange, new Link(this.filters, 1, chain));
+	}
+
+	/**
+	 * Returns the {@link WebFilter}s that are invoked, in order
+	 * @return the {@link WebFilter}s
+	 */
+	public List<WebFilter> getWebFilters() {
+		return this.webFilters;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " " + this.webFilters;
+	}
+
+	private static final class Link implements WebFilterChain {
+
+		private final WebFilter[] filters;
+
+		private final int position;
+
+		private final WebFilterChain chain;
+
+		private Link(WebFilter[] filters, int position, WebFilterChain chain) {
+			this.filters = filters;
+			this.position = position;
+			this.chain = chain;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			if (this.position == this.filters.length) {
+				return this.chain.filter(exchange);
+			}
+			return this.filters[this.position].filter(exchange, new Link(this.filters, this.position + 1, this.chain));
+		}
+
+	}
+
+}
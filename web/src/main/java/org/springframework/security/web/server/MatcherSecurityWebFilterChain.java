@@ -18,10 +18,12 @@ package org.springframework.security.web.server;
 
 import java.util.List;
 
+import reactor.core.Fuseable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -35,6 +37,10 @@ import org.springframework.web.server.WebFilter;
  */
 public class MatcherSecurityWebFilterChain implements SecurityWebFilterChain {
 
+	private static final Mono<Boolean> MATCH = Mono.just(true);
+
+	private static final Mono<Boolean> NOT_MATCH = Mono.just(false);
+
 	private final ServerWebExchangeMatcher matcher;
 
 	private final List<WebFilter> filters;
@@ -48,7 +54,24 @@ public class MatcherSecurityWebFilterChain implements SecurityWebFilterChain {
 
 	@Override
 	public Mono<Boolean> matches(ServerWebExchange exchange) {
-		return this.matcher.matches(exchange).map((m) -> m.isMatch());
+		MatchResult result = this.matcher.matchesNow(exchange);
+		if (result != null) {
+			return (result.isMatch()) ? MATCH : NOT_MATCH;
+		}
+		Mono<MatchResult> matches = this.matcher.matches(exchange);
+		if (matches instanceof Fuseable.ScalarCallable<?> scalar) {
+			// matchers that do not implement matchesNow may still return Mono.just
+			try {
+				Object value = scalar.call();
+				if (value instanceof MatchResult matchResult) {
+					return (matchResult.isMatch()) ? MATCH : NOT_MATCH;
+				}
+			}
+			catch (Exception ex) {
+				// fall back to the deferred evaluation
+			}
+		}
+		return matches.map((m) -> m.isMatch());
 	}
 
 	@Override
@@ -56,4 +79,12 @@ public class MatcherSecurityWebFilterChain implements SecurityWebFilterChain {
 		return Flux.fromIterable(this.filters);
 	}
 
+	List<WebFilter> getFilters() {
+		return this.filters;
+	}
+
+	ServerWebExchangeMatcher getMatcher() {
+		return this.matcher;
+	}
+
 }
@@ -19,6 +19,10 @@ package org.springframework.security.web.server;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.micrometer.common.KeyValue;
 import io.micrometer.common.KeyValues;
@@ -29,6 +33,7 @@ import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccess
 import reactor.core.publisher.Mono;
 
 import org.springframework.lang.Nullable;
+import org.springframework.security.web.FilterTiming;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
@@ -40,6 +45,12 @@ import org.springframework.web.server.WebHandler;
  * A
  * {@link org.springframework.security.web.server.WebFilterChainProxy.WebFilterChainDecorator}
  * that wraps the chain in before and after observations
+ * <p>
+ * When a {@link #setSamplingRatio(double) sampling ratio} lower than {@code 1} is
+ * configured, globally or {@link #setSamplingRatio(SecurityWebFilterChain, double) for a
+ * chain}, only the sampled requests are observed. For the other requests, the time spent
+ * in each filter of each chain is only accumulated into counters, see
+ * {@link #getFilterTimings()}.
  *
  * @author Josh Cummings
  * @since 6.0
@@ -54,20 +65,94 @@ public final class ObservationWebFilterChainDecorator implements WebFilterChainP
 
 	private final ObservationRegistry registry;
 
+	private final Map<SecurityWebFilterChain, ChainTimer> timers = new ConcurrentHashMap<>();
+
+	private final Map<SecurityWebFilterChain, Double> samplingRatios = new ConcurrentHashMap<>();
+
+	private double samplingRatio = 1;
+
 	public ObservationWebFilterChainDecorator(ObservationRegistry registry) {
 		this.registry = registry;
 	}
 
 	@Override
 	public WebFilterChain decorate(WebFilterChain original) {
-		return wrapUnsecured(original);
+		return isSampled(this.samplingRatio) ? wrapUnsecured(original) : original;
 	}
 
 	@Override
 	public WebFilterChain decorate(WebFilterChain original, List<WebFilter> filters) {
+		return decorate(original, null, filters);
+	}
+
+	@Override
+	public WebFilterChain decorate(WebFilterChain original, SecurityWebFilterChain securityWebFilterChain,
+			List<WebFilter> filters) {
+		if (!isSampled(getSamplingRatio(securityWebFilterChain))) {
+			ChainTimer timer = (securityWebFilterChain != null)
+					? this.timers.computeIfAbsent(securityWebFilterChain, (chain) -> new ChainTimer(chain, filters))
+					: null;
+			return new TimingWebFilterChain(original, filters, timer);
+		}
 		return new ObservationWebFilterChain(wrapSecured(original)::filter, wrap(filters));
 	}
 
+	/**
+	 * Sets the ratio of requests that are observed, between {@code 0} and {@code 1}.
+	 * Requests that are not sampled only record the time spent in each filter, which is
+	 * much cheaper than creating observations. The default is {@code 1}, which means that
+	 * every request is observed.
+	 * @param samplingRatio the ratio of requests to observe
+	 * @since 6.3
+	 */
+	public void setSamplingRatio(double samplingRatio) {
+		Assert.isTrue(samplingRatio >= 0 && samplingRatio <= 1, "samplingRatio must be between 0 and 1");
+		this.samplingRatio = samplingRatio;
+	}
+
+	/**
+	 * Sets the ratio of the requests matched by the provided
+	 * {@link SecurityWebFilterChain} that are observed, between {@code 0} and {@code 1},
+	 * instead of the ratio set by {@link #setSamplingRatio(double)}. This way, a chain
+	 * for health checks can be sampled less than a chain for user requests.
+	 * @param securityWebFilterChain the {@link SecurityWebFilterChain}
+	 * @param samplingRatio the ratio of requests to observe
+	 * @since 6.3
+	 */
+	public void setSamplingRatio(SecurityWebFilterChain securityWebFilterChain, double samplingRatio) {
+		Assert.notNull(securityWebFilterChain, "securityWebFilterChain cannot be null");
+		Assert.isTrue(samplingRatio >= 0 && samplingRatio <= 1, "samplingRatio must be between 0 and 1");
+		this.samplingRatios.put(securityWebFilterChain, samplingRatio);
+	}
+
+	/**
+	 * Returns the time spent in each filter of each chain by the requests that were not
+	 * sampled. The filters that are decorated without their
+	 * {@link SecurityWebFilterChain} are not accounted.
+	 * @return the {@link FilterTiming} of each filter that was invoked by a request that
+	 * was not sampled
+	 * @since 6.3
+	 * @see #setSamplingRatio(double)
+	 */
+	public List<FilterTiming> getFilterTimings() {
+		List<FilterTiming> timings = new ArrayList<>();
+		for (ChainTimer timer : this.timers.values()) {
+			timer.addTimings(timings);
+		}
+		return timings;
+	}
+
+	private double getSamplingRatio(SecurityWebFilterChain securityWebFilterChain) {
+		Double samplingRatio = (securityWebFilterChain != null) ? this.samplingRatios.get(securityWebFilterChain)
+				: null;
+		return (samplingRatio != null) ? samplingRatio : this.samplingRatio;
+	}
+
+	private static boolean isSampled(double samplingRatio) {
+		return samplingRatio >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRatio;
+	}
+
+
 	private static AroundWebFilterObservation observation(ServerWebExchange exchange) {
 		return exchange.getAttribute(ATTRIBUTE);
 	}
@@ -161,6 +246,160 @@ public final class ObservationWebFilterChainDecorator implements WebFilterChainP
 
 	}
 
+	/**
+	 * A {@link WebFilterChain} for the requests that are not sampled, which measures the
+	 * time spent in each filter instead of observing it
+	 */
+	private static final class TimingWebFilterChain implements WebFilterChain {
+
+		private final WebFilterChain originalChain;
+
+		private final List<WebFilter> additionalFilters;
+
+		private final ChainTimer timer;
+
+		/**
+		 * For each position, when the filter was subscribed to, when it subscribed to the
+		 * rest of the chain and when the rest of the chain terminated
+		 */
+		private final long[] times;
+
+		/**
+		 * For each position, whether the filter subscribed to the rest of the chain, and
+		 * whether the rest of the chain terminated
+		 */
+		private final boolean[] chainInvoked;
+
+		private final boolean[] chainTerminated;
+
+		/**
+		 * For each position, whether the filter was recorded, since it can be cancelled
+		 * after it terminated
+		 */
+		private final boolean[] recorded;
+
+		private final int position;
+
+		private TimingWebFilterChain(WebFilterChain chain, List<WebFilter> additionalFilters, ChainTimer timer) {
+			this.originalChain = chain;
+			this.additionalFilters = additionalFilters;
+			this.timer = timer;
+			this.times = new long[additionalFilters.size() * 3];
+			this.chainInvoked = new boolean[additionalFilters.size()];
+			this.chainTerminated = new boolean[additionalFilters.size()];
+			this.recorded = new boolean[additionalFilters.size()];
+			this.position = 0;
+		}
+
+		private TimingWebFilterChain(TimingWebFilterChain previous) {
+			this.originalChain = previous.originalChain;
+			this.additionalFilters = previous.additionalFilters;
+			this.timer = previous.timer;
+			this.times = previous.times;
+			this.chainInvoked = previous.chainInvoked;
+			this.chainTerminated = previous.chainTerminated;
+			this.recorded = previous.recorded;
+			this.position = previous.position + 1;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			int caller = this.position - 1;
+			if (caller < 0) {
+				return invokeNext(exchange);
+			}
+			return Mono.defer(() -> {
+				this.times[caller * 3 + 1] = System.nanoTime();
+				this.chainInvoked[caller] = true;
+				return invokeNext(exchange);
+			}).doOnTerminate(() -> {
+				this.times[caller * 3 + 2] = System.nanoTime();
+				this.chainTerminated[caller] = true;
+			});
+		}
+
+		private Mono<Void> invokeNext(ServerWebExchange exchange) {
+			if (this.position == this.additionalFilters.size()) {
+				return this.originalChain.filter(exchange);
+			}
+			WebFilter nextFilter = this.additionalFilters.get(this.position);
+			Mono<Void> result = Mono.defer(() -> {
+				this.times[this.position * 3] = System.nanoTime();
+				return nextFilter.filter(exchange, new TimingWebFilterChain(this));
+			});
+			if (this.timer == null) {
+				return result;
+			}
+			return result.doOnTerminate(this::record).doOnCancel(this::record);
+		}
+
+		private void record() {
+			if (this.recorded[this.position]) {
+				return;
+			}
+			this.recorded[this.position] = true;
+			long completed = System.nanoTime();
+			int offset = this.position * 3;
+			if (this.chainTerminated[this.position]) {
+				this.timer.record(this.position, this.times[offset + 1] - this.times[offset],
+						completed - this.times[offset + 2]);
+			}
+			else if (this.chainInvoked[this.position]) {
+				this.timer.record(this.position, this.times[offset + 1] - this.times[offset], 0);
+			}
+			else {
+				this.timer.record(this.position, completed - this.times[offset], 0);
+			}
+		}
+
+	}
+
+	/**
+	 * Accumulates the time spent in each filter of a {@link SecurityWebFilterChain} by
+	 * the requests that are not sampled
+	 */
+	private static final class ChainTimer {
+
+		private final String chainName;
+
+		private final String[] names;
+
+		/**
+		 * For each position, the number of invocations and the time spent before and
+		 * after the rest of the chain
+		 */
+		private final LongAdder[] counters;
+
+		private ChainTimer(SecurityWebFilterChain securityWebFilterChain, List<WebFilter> filters) {
+			this.chainName = (securityWebFilterChain instanceof MatcherSecurityWebFilterChain matcherChain)
+					? String.valueOf(matcherChain.getMatcher()) : securityWebFilterChain.toString();
+			this.names = new String[filters.size()];
+			this.counters = new LongAdder[filters.size() * 3];
+			for (int i = 0; i < this.names.length; i++) {
+				this.names[i] = filters.get(i).getClass().getSimpleName();
+			}
+			for (int i = 0; i < this.counters.length; i++) {
+				this.counters[i] = new LongAdder();
+			}
+		}
+
+		private void record(int position, long beforeNanos, long afterNanos) {
+			int offset = position * 3;
+			this.counters[offset].increment();
+			this.counters[offset + 1].add(beforeNanos);
+			this.counters[offset + 2].add(afterNanos);
+		}
+
+		private void addTimings(List<FilterTiming> timings) {
+			for (int i = 0; i < this.names.length; i++) {
+				int offset = i * 3;
+				timings.add(new FilterTiming(this.chainName, this.names[i], this.counters[offset].sum(),
+						this.counters[offset + 1].sum(), this.counters[offset + 2].sum()));
+			}
+		}
+
+	}
+
 	static final class ObservationWebFilter implements WebFilter {
 
 		private final ObservationRegistry registry;
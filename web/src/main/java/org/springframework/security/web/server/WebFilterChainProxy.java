@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 
 import jakarta.servlet.FilterChain;
+import reactor.core.Fuseable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -53,16 +54,62 @@ public class WebFilterChainProxy implements WebFilter {
 
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-		return Flux.fromIterable(this.filters)
+		return Mono.defer(() -> {
+			for (int i = 0; i < this.filters.size(); i++) {
+				SecurityWebFilterChain securityWebFilterChain = this.filters.get(i);
+				Boolean match = matchNow(securityWebFilterChain.matches(exchange));
+				if (match == null) {
+					return filter(exchange, chain, this.filters.subList(i, this.filters.size()));
+				}
+				if (match) {
+					return filter(exchange, chain, securityWebFilterChain);
+				}
+			}
+			return this.filterChainDecorator.decorate(chain).filter(exchange);
+		});
+	}
+
+	private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, List<SecurityWebFilterChain> filters) {
+		return Flux.fromIterable(filters)
 			.filterWhen((securityWebFilterChain) -> securityWebFilterChain.matches(exchange))
 			.next()
 			.switchIfEmpty(
 					Mono.defer(() -> this.filterChainDecorator.decorate(chain).filter(exchange).then(Mono.empty())))
-			.flatMap((securityWebFilterChain) -> securityWebFilterChain.getWebFilters().collectList())
-			.map((filters) -> this.filterChainDecorator.decorate(chain, filters))
+			.flatMap((securityWebFilterChain) -> filter(exchange, chain, securityWebFilterChain));
+	}
+
+	private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain,
+			SecurityWebFilterChain securityWebFilterChain) {
+		if (securityWebFilterChain.getClass() == MatcherSecurityWebFilterChain.class) {
+			List<WebFilter> filters = ((MatcherSecurityWebFilterChain) securityWebFilterChain).getFilters();
+			return this.filterChainDecorator.decorate(chain, securityWebFilterChain, filters).filter(exchange);
+		}
+		return securityWebFilterChain.getWebFilters()
+			.collectList()
+			.map((filters) -> this.filterChainDecorator.decorate(chain, securityWebFilterChain, filters))
 			.flatMap((securedChain) -> securedChain.filter(exchange));
 	}
 
+	/**
+	 * Returns the value of the provided {@link Mono} if it is already known, like for
+	 * {@link Mono#just(Object)}, so that the chains can be selected without assembling a
+	 * {@link Flux}
+	 * @param matches whether a {@link SecurityWebFilterChain} matches
+	 * @return the value of the {@link Mono}, {@code false} if it is empty, or
+	 * {@code null} if it must be subscribed to
+	 */
+	private static Boolean matchNow(Mono<Boolean> matches) {
+		if (!(matches instanceof Fuseable.ScalarCallable<?> scalar)) {
+			return null;
+		}
+		try {
+			return Boolean.TRUE.equals(scalar.call());
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
 	/**
 	 * Used to decorate the original {@link FilterChain} for each request
 	 *
@@ -106,6 +153,23 @@ public class WebFilterChainProxy implements WebFilter {
 		 */
 		WebFilterChain decorate(WebFilterChain original, List<WebFilter> filters);
 
+		/**
+		 * Provide a new {@link WebFilterChain} that accounts for the filters of the
+		 * provided {@link SecurityWebFilterChain} as well as the original filter chain.
+		 * This lets decorators tell apart the chains that the filters belong to.
+		 * @param original the original {@link WebFilterChain}
+		 * @param securityWebFilterChain the {@link SecurityWebFilterChain} that matched
+		 * the request
+		 * @param filters the filters of the {@link SecurityWebFilterChain}
+		 * @return a security-enabled {@link WebFilterChain} that includes the provided
+		 * filters
+		 * @since 6.3
+		 */
+		default WebFilterChain decorate(WebFilterChain original, SecurityWebFilterChain securityWebFilterChain,
+				List<WebFilter> filters) {
+			return decorate(original, filters);
+		}
+
 	}
 
 	/**
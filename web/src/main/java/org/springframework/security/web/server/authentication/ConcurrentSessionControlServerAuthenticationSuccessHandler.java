@@ -65,8 +65,10 @@ public final class ConcurrentSessionControlServerAuthenticationSuccessHandler
 
 	private Mono<Void> handleConcurrency(WebFilterExchange exchange, Authentication authentication,
 			Integer maximumSessions) {
-		return this.sessionRegistry.getAllSessions(authentication.getPrincipal())
-			.collectList()
+		Object principal = authentication.getPrincipal();
+		return this.sessionRegistry.getSessionCount(principal)
+			.filter((sessionCount) -> sessionCount >= maximumSessions)
+			.flatMap((sessionCount) -> this.sessionRegistry.getLeastRecentlyUsedSessions(principal).collectList())
 			.flatMap((registeredSessions) -> exchange.getExchange()
 				.getSession()
 				.map((currentSession) -> Tuples.of(currentSession, registeredSessions)))
@@ -48,6 +48,7 @@ public final class InvalidateLeastUsedServerMaximumSessionsExceededHandler
 	@Override
 	public Mono<Void> handle(MaximumSessionsContext context) {
 		List<ReactiveSessionInformation> sessions = new ArrayList<>(context.getSessions());
+		// usually already ordered, in which case sorting them is linear
 		sessions.sort(Comparator.comparing(ReactiveSessionInformation::getLastAccessTime));
 		int maximumSessionsExceededBy = sessions.size() - context.getMaximumSessionsAllowed() + 1;
 		List<ReactiveSessionInformation> leastRecentlyUsedSessionsToInvalidate = sessions.subList(0,
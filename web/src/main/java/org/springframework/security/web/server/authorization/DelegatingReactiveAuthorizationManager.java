@@ -18,6 +18,7 @@ package org.springframework.security.web.server.authorization;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -28,43 +29,100 @@ import org.springframework.core.log.LogMessage;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.util.matcher.PathPrefixServerWebExchangeMatcherIndex;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
+ * A {@link ReactiveAuthorizationManager} that delegates to the
+ * {@link ReactiveAuthorizationManager} of the first mapping whose
+ * {@link org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher}
+ * matches the exchange.
+ * <p>
+ * When there are many mappings, they are indexed by the literal leading segments of their
+ * path patterns, so that only the mappings that could match the exchange are tried.
+ *
  * @author Rob Winch
  * @author Mathieu Ouellet
  * @since 5.0
+ * @see PathPrefixServerWebExchangeMatcherIndex
  */
 public final class DelegatingReactiveAuthorizationManager implements ReactiveAuthorizationManager<ServerWebExchange> {
 
 	private static final Log logger = LogFactory.getLog(DelegatingReactiveAuthorizationManager.class);
 
+	/**
+	 * The number of mappings from which they are indexed, below which trying each of them
+	 * is cheaper than walking the index
+	 */
+	private static final int INDEX_THRESHOLD = 16;
+
 	private final List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings;
 
+	private final PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> index;
+
 	private DelegatingReactiveAuthorizationManager(
 			List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings) {
-		this.mappings = mappings;
+		this.mappings = new ArrayList<>(mappings);
+		this.index = (this.mappings.size() >= INDEX_THRESHOLD)
+				? new PathPrefixServerWebExchangeMatcherIndex<>(this.mappings,
+						ServerWebExchangeMatcherEntry::getMatcher)
+				: null;
 	}
 
 	@Override
 	public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, ServerWebExchange exchange) {
-		return Flux.fromIterable(this.mappings)
+		return Mono.defer(() -> check(authentication, exchange, getCandidates(exchange), 0));
+	}
+
+	private List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> getCandidates(
+			ServerWebExchange exchange) {
+		return (this.index != null) ? this.index.getCandidates(exchange) : this.mappings;
+	}
+
+	/**
+	 * Checks the mappings starting at the provided index, matching them without
+	 * subscribing to a {@link Mono} for as long as their matchers support it
+	 */
+	private Mono<AuthorizationDecision> check(Mono<Authentication> authentication, ServerWebExchange exchange,
+			List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings,
+			int start) {
+		for (int i = start; i < mappings.size(); i++) {
+			ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>> mapping = mappings.get(i);
+			MatchResult result = mapping.getMatcher().matchesNow(exchange);
+			if (result == null) {
+				return check(authentication, exchange, mappings.subList(i, mappings.size()));
+			}
+			if (result.isMatch()) {
+				int next = i + 1;
+				return check(authentication, exchange, mapping, result.getVariables())
+					.switchIfEmpty(Mono.defer(() -> check(authentication, exchange, mappings, next)));
+			}
+		}
+		return Mono.just(new AuthorizationDecision(false));
+	}
+
+	private Mono<AuthorizationDecision> check(Mono<Authentication> authentication, ServerWebExchange exchange,
+			List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings) {
+		return Flux.fromIterable(mappings)
 			.concatMap((mapping) -> mapping.getMatcher()
 				.matches(exchange)
 				.filter(MatchResult::isMatch)
 				.map(MatchResult::getVariables)
-				.flatMap((variables) -> {
-					logger.debug(LogMessage.of(() -> "Checking authorization on '"
-							+ exchange.getRequest().getPath().pathWithinApplication() + "' using "
-							+ mapping.getEntry()));
-					return mapping.getEntry().check(authentication, new AuthorizationContext(exchange, variables));
-				}))
+				.flatMap((variables) -> check(authentication, exchange, mapping, variables)))
 			.next()
 			.defaultIfEmpty(new AuthorizationDecision(false));
 	}
 
+	private Mono<AuthorizationDecision> check(Mono<Authentication> authentication, ServerWebExchange exchange,
+			ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>> mapping,
+			Map<String, Object> variables) {
+		logger.debug(LogMessage.of(() -> "Checking authorization on '"
+				+ exchange.getRequest().getPath().pathWithinApplication() + "' using " + mapping.getEntry()));
+		return mapping.getEntry().check(authentication, new AuthorizationContext(exchange, variables));
+	}
+
 	public static DelegatingReactiveAuthorizationManager.Builder builder() {
 		return new DelegatingReactiveAuthorizationManager.Builder();
 	}
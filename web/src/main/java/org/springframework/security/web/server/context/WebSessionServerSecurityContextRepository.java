@@ -22,6 +22,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.SecurityContextCodec;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebSession;
@@ -48,6 +49,8 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 
 	private boolean cacheSecurityContext;
 
+	private SecurityContextCodec securityContextCodec;
+
 	/**
 	 * Sets the session attribute name used to save and load the {@link SecurityContext}
 	 * @param springSecurityContextAttrName the session attribute name to use to save and
@@ -68,6 +71,21 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 		this.cacheSecurityContext = cacheSecurityContext;
 	}
 
+	/**
+	 * Sets the {@link SecurityContextCodec} used to store the {@link SecurityContext} in
+	 * the {@link WebSession} as bytes rather than as an object, which can make the
+	 * session smaller and faster to read when it is serialized by a session store. A
+	 * {@link SecurityContext} that was stored as an object is still read. The default is
+	 * to store the {@link SecurityContext} as an object.
+	 * @param securityContextCodec the {@link SecurityContextCodec} to use
+	 * @since 6.3
+	 * @see org.springframework.security.web.context.BinarySecurityContextCodec
+	 */
+	public void setSecurityContextCodec(SecurityContextCodec securityContextCodec) {
+		Assert.notNull(securityContextCodec, "securityContextCodec cannot be null");
+		this.securityContextCodec = securityContextCodec;
+	}
+
 	@Override
 	public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
 		return exchange.getSession().doOnNext((session) -> {
@@ -76,7 +94,9 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 				logger.debug(LogMessage.format("Removed SecurityContext stored in WebSession: '%s'", session));
 			}
 			else {
-				session.getAttributes().put(this.springSecurityContextAttrName, context);
+				Object value = (this.securityContextCodec != null) ? this.securityContextCodec.encode(context)
+						: context;
+				session.getAttributes().put(this.springSecurityContextAttrName, value);
 				logger.debug(LogMessage.format("Saved SecurityContext '%s' in WebSession: '%s'", context, session));
 			}
 		}).flatMap(WebSession::changeSessionId);
@@ -85,7 +105,7 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 	@Override
 	public Mono<SecurityContext> load(ServerWebExchange exchange) {
 		Mono<SecurityContext> result = exchange.getSession().flatMap((session) -> {
-			SecurityContext context = (SecurityContext) session.getAttribute(this.springSecurityContextAttrName);
+			SecurityContext context = readSecurityContext(session);
 			logger.debug((context != null)
 					? LogMessage.format("Found SecurityContext '%s' in WebSession: '%s'", context, session)
 					: LogMessage.format("No SecurityContext found in WebSession: '%s'", session));
@@ -94,4 +114,22 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 		return (this.cacheSecurityContext) ? result.cache() : result;
 	}
 
+	private SecurityContext readSecurityContext(WebSession session) {
+		Object value = session.getAttribute(this.springSecurityContextAttrName);
+		if (value instanceof byte[] bytes && this.securityContextCodec != null) {
+			return decodeSecurityContext(bytes, session);
+		}
+		return (SecurityContext) value;
+	}
+
+	private SecurityContext decodeSecurityContext(byte[] bytes, WebSession session) {
+		try {
+			return this.securityContextCodec.decode(bytes);
+		}
+		catch (IllegalArgumentException ex) {
+			logger.warn(LogMessage.format("Failed to decode SecurityContext in WebSession %s", session.getId()), ex);
+			return null;
+		}
+	}
+
 }
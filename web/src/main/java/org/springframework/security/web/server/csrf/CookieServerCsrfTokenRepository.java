@@ -16,7 +16,6 @@
 
 package org.springframework.security.web.server.csrf;
 
-import java.util.UUID;
 import java.util.function.Consumer;
 
 import reactor.core.publisher.Mono;
@@ -25,6 +24,7 @@ import reactor.core.scheduler.Schedulers;
 import org.springframework.http.HttpCookie;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
@@ -203,7 +203,7 @@ public final class CookieServerCsrfTokenRepository implements ServerCsrfTokenRep
 	}
 
 	private String createNewToken() {
-		return UUID.randomUUID().toString();
+		return StripedSecureRandom.getSharedInstance().nextUUID().toString();
 	}
 
 	private String getRequestContext(ServerHttpRequest request) {
@@ -17,13 +17,13 @@
 package org.springframework.security.web.server.csrf;
 
 import java.util.Map;
-import java.util.UUID;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -111,7 +111,7 @@ public class WebSessionServerCsrfTokenRepository implements ServerCsrfTokenRepos
 	}
 
 	private String createNewToken() {
-		return UUID.randomUUID().toString();
+		return StripedSecureRandom.getSharedInstance().nextUUID().toString();
 	}
 
 }
@@ -22,6 +22,7 @@ import java.util.Base64;
 import reactor.core.publisher.Mono;
 
 import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -36,7 +37,7 @@ import org.springframework.web.server.ServerWebExchange;
  */
 public final class XorServerCsrfTokenRequestAttributeHandler extends ServerCsrfTokenRequestAttributeHandler {
 
-	private SecureRandom secureRandom = new SecureRandom();
+	private SecureRandom secureRandom = StripedSecureRandom.getSharedInstance();
 
 	/**
 	 * Specifies the {@code SecureRandom} used to generate random bytes that are used to
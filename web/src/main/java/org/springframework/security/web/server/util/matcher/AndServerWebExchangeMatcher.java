@@ -55,11 +55,33 @@ public class AndServerWebExchangeMatcher implements ServerWebExchangeMatcher {
 
 	@Override
 	public Mono<MatchResult> matches(ServerWebExchange exchange) {
+		Map<String, Object> variables = new HashMap<>();
+		int size = this.matchers.size();
+		for (int i = 0; i < size; i++) {
+			ServerWebExchangeMatcher matcher = this.matchers.get(i);
+			logger.debug(LogMessage.format("Trying to match using %s", matcher));
+			MatchResult result = matcher.matchesNow(exchange);
+			if (result == null) {
+				return matches(exchange, variables, matcher, this.matchers.subList(i + 1, size));
+			}
+			if (!result.isMatch()) {
+				logger.debug("Did not match");
+				return MatchResult.notMatch();
+			}
+			variables.putAll(result.getVariables());
+		}
+		logger.debug("All requestMatchers returned true");
+		return MatchResult.match(variables);
+	}
+
+	private Mono<MatchResult> matches(ServerWebExchange exchange, Map<String, Object> matchedVariables,
+			ServerWebExchangeMatcher pending, List<ServerWebExchangeMatcher> remaining) {
 		return Mono.defer(() -> {
-			Map<String, Object> variables = new HashMap<>();
-			return Flux.fromIterable(this.matchers)
-				.doOnNext((matcher) -> logger.debug(LogMessage.format("Trying to match using %s", matcher)))
-				.flatMap((matcher) -> matcher.matches(exchange))
+			Map<String, Object> variables = new HashMap<>(matchedVariables);
+			return pending.matches(exchange)
+				.concatWith(Flux.fromIterable(remaining)
+					.doOnNext((matcher) -> logger.debug(LogMessage.format("Trying to match using %s", matcher)))
+					.flatMap((matcher) -> matcher.matches(exchange)))
 				.doOnNext((matchResult) -> variables.putAll(matchResult.getVariables()))
 				.all(MatchResult::isMatch)
 				.flatMap((allMatch) -> allMatch ? MatchResult.match(variables) : MatchResult.notMatch())
@@ -68,6 +90,33 @@ public class AndServerWebExchangeMatcher implements ServerWebExchangeMatcher {
 		});
 	}
 
+	/**
+	 * Determines if a request matches without subscribing to a {@link Mono}, provided
+	 * that each matcher that is tried can do so
+	 * @param exchange the exchange to match
+	 * @return the {@link MatchResult}, or {@code null} if a matcher can only be tried by
+	 * subscribing to {@link ServerWebExchangeMatcher#matches(ServerWebExchange)}
+	 * @since 6.3
+	 */
+	@Override
+	public MatchResult matchesNow(ServerWebExchange exchange) {
+		Map<String, Object> variables = new HashMap<>();
+		for (ServerWebExchangeMatcher matcher : this.matchers) {
+			logger.debug(LogMessage.format("Trying to match using %s", matcher));
+			MatchResult result = matcher.matchesNow(exchange);
+			if (result == null) {
+				return null;
+			}
+			if (!result.isMatch()) {
+				logger.debug("Did not match");
+				return MatchResult.notMatched();
+			}
+			variables.putAll(result.getVariables());
+		}
+		logger.debug("All requestMatchers returned true");
+		return MatchResult.matched(variables);
+	}
+
 	@Override
 	public String toString() {
 		return "AndServerWebExchangeMatcher{" + "matchers=" + this.matchers + '}';
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Collections;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.web.util.matcher.IpAddressRangeMatcher;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Matches a request if its remote address is within any of a potentially large set of
+ * addresses or ranges of addresses.
+ *
+ * @since 6.3
+ * @see IpAddressRangeMatcher
+ */
+public final class IpAddressRangeServerWebExchangeMatcher implements ServerWebExchangeMatcher {
+
+	private final IpAddressRangeMatcher ipAddressRangeMatcher;
+
+	/**
+	 * Creates a new instance
+	 * @param ipAddresses the addresses or ranges of addresses, specified using the
+	 * IP/Netmask notation (e.g. 192.168.1.0/24 or 2001:db8::/32), from which the request
+	 * must come
+	 */
+	public IpAddressRangeServerWebExchangeMatcher(Collection<String> ipAddresses) {
+		this(new IpAddressRangeMatcher(ipAddresses));
+	}
+
+	/**
+	 * Creates a new instance. Changes to the ranges of the provided matcher are picked up
+	 * by this instance.
+	 * @param ipAddressRangeMatcher the {@link IpAddressRangeMatcher} to use
+	 */
+	public IpAddressRangeServerWebExchangeMatcher(IpAddressRangeMatcher ipAddressRangeMatcher) {
+		Assert.notNull(ipAddressRangeMatcher, "ipAddressRangeMatcher cannot be null");
+		this.ipAddressRangeMatcher = ipAddressRangeMatcher;
+	}
+
+	@Override
+	public Mono<MatchResult> matches(ServerWebExchange exchange) {
+		return Mono.just(matchesNow(exchange));
+	}
+
+	@Override
+	public MatchResult matchesNow(ServerWebExchange exchange) {
+		InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		if (remoteAddress == null) {
+			return MatchResult.notMatched();
+		}
+		boolean matches = remoteAddress.isUnresolved()
+				? this.ipAddressRangeMatcher.matches(remoteAddress.getHostString())
+				: this.ipAddressRangeMatcher.matches(remoteAddress.getAddress());
+		return matches ? MatchResult.matched(Collections.emptyMap()) : MatchResult.notMatched();
+	}
+
+	@Override
+	public String toString() {
+		return "IpAddressRangeServerWebExchangeMatcher{ipAddressRangeMatcher=" + this.ipAddressRangeMatcher + '}';
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.server.util.matcher;
 
+import java.util.Collections;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
@@ -54,6 +56,18 @@ public class NegatedServerWebExchangeMatcher implements ServerWebExchangeMatcher
 		return matchResult.isMatch() ? MatchResult.notMatch() : MatchResult.match();
 	}
 
+	@Override
+	public MatchResult matchesNow(ServerWebExchange exchange) {
+		MatchResult result = this.matcher.matchesNow(exchange);
+		if (result == null) {
+			return null;
+		}
+		MatchResult negated = (result.isMatch()) ? MatchResult.notMatched()
+				: MatchResult.matched(Collections.emptyMap());
+		logger.debug(LogMessage.format("matches = %s", negated.isMatch()));
+		return negated;
+	}
+
 	@Override
 	public String toString() {
 		return "NegatedServerWebExchangeMatcher{" + "matcher=" + this.matcher + '}';
@@ -53,15 +53,64 @@ public class OrServerWebExchangeMatcher implements ServerWebExchangeMatcher {
 
 	@Override
 	public Mono<MatchResult> matches(ServerWebExchange exchange) {
-		return Flux.fromIterable(this.matchers)
-			.doOnNext((matcher) -> logger.debug(LogMessage.format("Trying to match using %s", matcher)))
-			.flatMap((matcher) -> matcher.matches(exchange))
+		int size = this.matchers.size();
+		for (int i = 0; i < size; i++) {
+			ServerWebExchangeMatcher matcher = this.matchers.get(i);
+			logger.debug(LogMessage.format("Trying to match using %s", matcher));
+			MatchResult result = matcher.matchesNow(exchange);
+			if (result == null) {
+				return matches(exchange, matcher, this.matchers.subList(i + 1, size));
+			}
+			if (result.isMatch()) {
+				logger.debug("matched");
+				return Mono.just(result);
+			}
+		}
+		logger.debug("No matches found");
+		return MatchResult.notMatch();
+	}
+
+	private Mono<MatchResult> matches(ServerWebExchange exchange, ServerWebExchangeMatcher pending,
+			List<ServerWebExchangeMatcher> remaining) {
+		return pending.matches(exchange)
+			.concatWith(Flux.fromIterable(remaining)
+				.doOnNext((matcher) -> logger.debug(LogMessage.format("Trying to match using %s", matcher)))
+				.flatMap((matcher) -> matcher.matches(exchange)))
 			.filter(MatchResult::isMatch)
 			.next()
 			.switchIfEmpty(MatchResult.notMatch())
 			.doOnNext((matchResult) -> logger.debug(matchResult.isMatch() ? "matched" : "No matches found"));
 	}
 
+	/**
+	 * Determines if a request matches without subscribing to a {@link Mono}, provided
+	 * that each matcher that is tried can do so
+	 * @param exchange the exchange to match
+	 * @return the {@link MatchResult}, or {@code null} if a matcher can only be tried by
+	 * subscribing to {@link ServerWebExchangeMatcher#matches(ServerWebExchange)}
+	 * @since 6.3
+	 */
+	@Override
+	public MatchResult matchesNow(ServerWebExchange exchange) {
+		for (ServerWebExchangeMatcher matcher : this.matchers) {
+			logger.debug(LogMessage.format("Trying to match using %s", matcher));
+			MatchResult result = matcher.matchesNow(exchange);
+			if (result == null) {
+				return null;
+			}
+			if (result.isMatch()) {
+				logger.debug("matched");
+				return result;
+			}
+		}
+		logger.debug("No matches found");
+		return MatchResult.notMatched();
+	}
+
+	List<ServerWebExchangeMatcher> getMatchers() {
+		return this.matchers;
+	}
+
 	@Override
 	public String toString() {
 		return "OrServerWebExchangeMatcher{matchers=" + this.matchers + '}';
@@ -74,24 +74,21 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 
 	@Override
 	public Mono<MatchResult> matches(ServerWebExchange exchange) {
+		return Mono.just(matchesNow(exchange));
+	}
+
+	@Override
+	public MatchResult matchesNow(ServerWebExchange exchange) {
 		ServerHttpRequest request = exchange.getRequest();
 		PathContainer path = request.getPath().pathWithinApplication();
 		if (this.method != null && !this.method.equals(request.getMethod())) {
-			return MatchResult.notMatch().doOnNext((result) -> {
-				if (logger.isDebugEnabled()) {
-					logger.debug("Request '" + request.getMethod() + " " + path + "' doesn't match '" + this.method
-							+ " " + this.pattern.getPatternString() + "'");
-				}
-			});
+			logNotMatched(request, path);
+			return MatchResult.notMatched();
 		}
 		boolean match = this.pattern.matches(path);
 		if (!match) {
-			return MatchResult.notMatch().doOnNext((result) -> {
-				if (logger.isDebugEnabled()) {
-					logger.debug("Request '" + request.getMethod() + " " + path + "' doesn't match '" + this.method
-							+ " " + this.pattern.getPatternString() + "'");
-				}
-			});
+			logNotMatched(request, path);
+			return MatchResult.notMatched();
 		}
 		Map<String, String> pathVariables = this.pattern.matchAndExtract(path).getUriVariables();
 		Map<String, Object> variables = new HashMap<>(pathVariables);
@@ -99,7 +96,22 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 			logger
 				.debug("Checking match of request : '" + path + "'; against '" + this.pattern.getPatternString() + "'");
 		}
-		return MatchResult.match(variables);
+		return MatchResult.matched(variables);
+	}
+
+	private void logNotMatched(ServerHttpRequest request, PathContainer path) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Request '" + request.getMethod() + " " + path + "' doesn't match '" + this.method + " "
+					+ this.pattern.getPatternString() + "'");
+		}
+	}
+
+	PathPattern getPattern() {
+		return this.pattern;
+	}
+
+	HttpMethod getMethod() {
+		return this.method;
 	}
 
 	@Override
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * An index over an ordered list of items, each guarded by a
+ * {@link ServerWebExchangeMatcher}, that narrows down the items which could possibly
+ * match an exchange by looking at the literal leading path segments and the HTTP method
+ * of their matchers.
+ * <p>
+ * The {@link PathPattern}s of the matchers are compiled once, up front, into a prefix
+ * tree of path segments where each node groups its items by HTTP method. Looking up the
+ * candidates for an exchange walks the segments of the {@link PathContainer} of the path
+ * within the application down the tree once, so its cost depends on the depth of the path
+ * rather than on the number of items. The returned candidates are in the original order
+ * and are a superset of the items whose matcher matches the exchange, so callers must
+ * still evaluate them in turn to find the first match and its variables.
+ * <p>
+ * {@link PathPatternParserServerWebExchangeMatcher}s whose {@link PathPattern} is parsed
+ * like {@link PathPatternParser#defaultInstance} does, the matcher returned by
+ * {@link ServerWebExchangeMatchers#anyExchange()} and {@link OrServerWebExchangeMatcher}s
+ * composed of those are analyzed. Items with any other matcher are always returned as
+ * candidates.
+ *
+ * @param <T> the type of the indexed items
+ * @since 6.3
+ * @see org.springframework.security.web.util.matcher.PathPrefixRequestMatcherIndex
+ */
+public final class PathPrefixServerWebExchangeMatcherIndex<T> {
+
+	private final Node<T> root;
+
+	/**
+	 * Creates a new instance
+	 * @param items the items to index, in the order in which they should be matched
+	 * @param matcher a function returning the {@link ServerWebExchangeMatcher} guarding
+	 * an item, or {@code null} if the item should always be a candidate
+	 */
+	public PathPrefixServerWebExchangeMatcherIndex(List<T> items,
+			Function<? super T, ServerWebExchangeMatcher> matcher) {
+		Assert.notNull(items, "items cannot be null");
+		Assert.notNull(matcher, "matcher cannot be null");
+		NodeBuilder root = new NodeBuilder();
+		for (int i = 0; i < items.size(); i++) {
+			List<Prefix> prefixes = prefixes(matcher.apply(items.get(i)));
+			if (prefixes == null) {
+				root.add(i, null);
+				continue;
+			}
+			for (Prefix prefix : prefixes) {
+				root.descend(prefix.segments).add(i, prefix.method);
+			}
+		}
+		this.root = root.build(items, Collections.emptySortedMap());
+	}
+
+	/**
+	 * Returns the items that could match the provided exchange, in their original order.
+	 * Both the path within the application and the HTTP method are taken into account.
+	 * @param exchange the exchange to look up
+	 * @return the candidate items, never {@code null}
+	 */
+	public List<T> getCandidates(ServerWebExchange exchange) {
+		PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+		return descend(path).getCandidates(exchange.getRequest().getMethod());
+	}
+
+	/**
+	 * Returns the items that could match an exchange with the provided path and any HTTP
+	 * method, in their original order.
+	 * @param path the path within the application
+	 * @return the candidate items, never {@code null}
+	 */
+	public List<T> getCandidates(PathContainer path) {
+		return descend(path).candidates;
+	}
+
+	private Node<T> descend(PathContainer path) {
+		Node<T> node = this.root;
+		for (PathContainer.Element element : path.elements()) {
+			if (node.children.isEmpty()) {
+				break;
+			}
+			if (element instanceof PathContainer.PathSegment segment) {
+				Node<T> child = node.children.get(segment.valueToMatch());
+				if (child == null) {
+					break;
+				}
+				node = child;
+			}
+		}
+		return node;
+	}
+
+	private static List<Prefix> prefixes(ServerWebExchangeMatcher matcher) {
+		if (matcher instanceof ServerWebExchangeMatchers.AnyExchangeMatcher) {
+			return Collections.singletonList(new Prefix(Collections.emptyList(), null));
+		}
+		if (matcher instanceof PathPatternParserServerWebExchangeMatcher pathPattern) {
+			List<String> segments = literalPathSegments(pathPattern.getPattern());
+			if (segments == null) {
+				return null;
+			}
+			HttpMethod method = pathPattern.getMethod();
+			return Collections.singletonList(new Prefix(segments, (method != null) ? method.name() : null));
+		}
+		if (matcher instanceof OrServerWebExchangeMatcher or) {
+			List<Prefix> prefixes = new ArrayList<>();
+			for (ServerWebExchangeMatcher delegate : or.getMatchers()) {
+				List<Prefix> delegatePrefixes = prefixes(delegate);
+				if (delegatePrefixes == null) {
+					return null;
+				}
+				prefixes.addAll(delegatePrefixes);
+			}
+			return prefixes;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the leading path segments of the provided {@link PathPattern} that are
+	 * matched literally, or {@code null} if the pattern is not parsed like
+	 * {@link PathPatternParser#defaultInstance} does, for example because it is not case
+	 * sensitive
+	 */
+	private static List<String> literalPathSegments(PathPattern pattern) {
+		String patternString = pattern.getPatternString();
+		if (!patternString.startsWith("/")) {
+			return null;
+		}
+		try {
+			if (!PathPatternParser.defaultInstance.parse(patternString).equals(pattern)) {
+				return null;
+			}
+		}
+		catch (RuntimeException ex) {
+			return null;
+		}
+		List<String> segments = new ArrayList<>();
+		for (String segment : patternString.substring(1).split("/", -1)) {
+			if (segment.isEmpty() || segment.indexOf('{') != -1 || segment.indexOf('*') != -1
+					|| segment.indexOf('?') != -1) {
+				break;
+			}
+			segments.add(segment);
+		}
+		return segments;
+	}
+
+	@Override
+	public String toString() {
+		return "PathPrefixServerWebExchangeMatcherIndex " + this.root;
+	}
+
+	private static final class Prefix {
+
+		private final List<String> segments;
+
+		private final String method;
+
+		private Prefix(List<String> segments, String method) {
+			this.segments = segments;
+			this.method = method;
+		}
+
+	}
+
+	private static final class NodeBuilder {
+
+		/**
+		 * The methods each item is restricted to, where a {@code null} method means any
+		 * method
+		 */
+		private final SortedMap<Integer, Set<String>> methods = new TreeMap<>();
+
+		private final Map<String, NodeBuilder> children = new LinkedHashMap<>();
+
+		private NodeBuilder descend(List<String> segments) {
+			NodeBuilder node = this;
+			for (String segment : segments) {
+				node = node.children.computeIfAbsent(segment, (key) -> new NodeBuilder());
+			}
+			return node;
+		}
+
+		private void add(int index, String method) {
+			this.methods.computeIfAbsent(index, (key) -> new HashSet<>()).add(method);
+		}
+
+		private <T> Node<T> build(List<T> items, SortedMap<Integer, Set<String>> inherited) {
+			SortedMap<Integer, Set<String>> methods = new TreeMap<>();
+			merge(inherited, methods);
+			merge(this.methods, methods);
+			List<T> candidates = new ArrayList<>(methods.size());
+			List<T> anyMethodCandidates = new ArrayList<>();
+			Set<String> names = new HashSet<>();
+			methods.forEach((index, itemMethods) -> {
+				candidates.add(items.get(index));
+				if (itemMethods.contains(null)) {
+					anyMethodCandidates.add(items.get(index));
+				}
+				names.addAll(itemMethods);
+			});
+			names.remove(null);
+			Map<String, List<T>> candidatesByMethod = new HashMap<>();
+			for (String name : names) {
+				List<T> methodCandidates = new ArrayList<>();
+				methods.forEach((index, itemMethods) -> {
+					if (itemMethods.contains(null) || itemMethods.contains(name)) {
+						methodCandidates.add(items.get(index));
+					}
+				});
+				candidatesByMethod.put(name, Collections.unmodifiableList(methodCandidates));
+			}
+			Map<String, Node<T>> children = new HashMap<>();
+			this.children.forEach((segment, child) -> children.put(segment, child.build(items, methods)));
+			return new Node<>(Collections.unmodifiableList(candidates),
+					Collections.unmodifiableList(anyMethodCandidates), candidatesByMethod, children);
+		}
+
+		private static void merge(Map<Integer, Set<String>> source, Map<Integer, Set<String>> target) {
+			source.forEach((index, names) -> target.computeIfAbsent(index, (key) -> new HashSet<>()).addAll(names));
+		}
+
+	}
+
+	/**
+	 * A node of the prefix tree, whose children are keyed by the decoded value of a path
+	 * segment without its parameters, which is what {@link PathPattern} matches against
+	 */
+	private static final class Node<T> {
+
+		private final List<T> candidates;
+
+		private final List<T> anyMethodCandidates;
+
+		private final Map<String, List<T>> candidatesByMethod;
+
+		private final Map<String, Node<T>> children;
+
+		private Node(List<T> candidates, List<T> anyMethodCandidates, Map<String, List<T>> candidatesByMethod,
+				Map<String, Node<T>> children) {
+			this.candidates = candidates;
+			this.anyMethodCandidates = anyMethodCandidates;
+			this.candidatesByMethod = candidatesByMethod;
+			this.children = children;
+		}
+
+		private List<T> getCandidates(HttpMethod method) {
+			if (method == null) {
+				return this.candidates;
+			}
+			List<T> candidates = this.candidatesByMethod.get(method.name());
+			return (candidates != null) ? candidates : this.anyMethodCandidates;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("[candidates=").append(this.candidates.size());
+			this.children.forEach((segment, child) -> sb.append(", ").append(segment).append('=').append(child));
+			return sb.append(']').toString();
+		}
+
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.lang.Nullable;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -38,6 +39,24 @@ public interface ServerWebExchangeMatcher {
 	 */
 	Mono<MatchResult> matches(ServerWebExchange exchange);
 
+	/**
+	 * Determines if a request matches or not without subscribing to a {@link Mono}, if
+	 * this matcher can do so without blocking, for example because it only inspects the
+	 * path of the request. When the result is not {@code null}, it must be the same as
+	 * the one {@link #matches(ServerWebExchange)} would emit.
+	 * <p>
+	 * The default implementation returns {@code null}, in which case the caller must use
+	 * {@link #matches(ServerWebExchange)}.
+	 * @param exchange the exchange to match
+	 * @return the {@link MatchResult}, or {@code null} if it can only be determined by
+	 * subscribing to {@link #matches(ServerWebExchange)}
+	 * @since 6.3
+	 */
+	@Nullable
+	default MatchResult matchesNow(ServerWebExchange exchange) {
+		return null;
+	}
+
 	/**
 	 * The result of matching
 	 */
@@ -80,7 +99,7 @@ public interface ServerWebExchangeMatcher {
 		 * @return
 		 */
 		public static Mono<MatchResult> match(Map<String, Object> variables) {
-			return Mono.just(new MatchResult(true, variables));
+			return Mono.just(matched(variables));
 		}
 
 		/**
@@ -88,7 +107,29 @@ public interface ServerWebExchangeMatcher {
 		 * @return
 		 */
 		public static Mono<MatchResult> notMatch() {
-			return Mono.just(new MatchResult(false, Collections.emptyMap()));
+			return Mono.just(notMatched());
+		}
+
+		/**
+		 * Creates an instance of {@link MatchResult} that is a match with the specified
+		 * variables, for use by
+		 * {@link ServerWebExchangeMatcher#matchesNow(ServerWebExchange)}
+		 * @param variables the variables
+		 * @return the {@link MatchResult}
+		 * @since 6.3
+		 */
+		public static MatchResult matched(Map<String, Object> variables) {
+			return new MatchResult(true, variables);
+		}
+
+		/**
+		 * Creates an instance of {@link MatchResult} that is not a match, for use by
+		 * {@link ServerWebExchangeMatcher#matchesNow(ServerWebExchange)}
+		 * @return the {@link MatchResult}
+		 * @since 6.3
+		 */
+		public static MatchResult notMatched() {
+			return new MatchResult(false, Collections.emptyMap());
 		}
 
 	}
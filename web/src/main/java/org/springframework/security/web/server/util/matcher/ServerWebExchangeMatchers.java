@@ -17,6 +17,7 @@
 package org.springframework.security.web.server.util.matcher;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import reactor.core.publisher.Mono;
@@ -97,19 +98,25 @@ public abstract class ServerWebExchangeMatchers {
 	 * Matches any exchange
 	 * @return the matcher to use
 	 */
-	@SuppressWarnings("Convert2Lambda")
 	public static ServerWebExchangeMatcher anyExchange() {
 		// we don't use a lambda to ensure a unique equals and hashcode
 		// which otherwise can cause problems with adding multiple entries to an ordered
 		// LinkedHashMap
-		return new ServerWebExchangeMatcher() {
+		return new AnyExchangeMatcher();
+	}
+
+	static final class AnyExchangeMatcher implements ServerWebExchangeMatcher {
 
-			@Override
-			public Mono<MatchResult> matches(ServerWebExchange exchange) {
-				return ServerWebExchangeMatcher.MatchResult.match();
-			}
+		@Override
+		public Mono<MatchResult> matches(ServerWebExchange exchange) {
+			return ServerWebExchangeMatcher.MatchResult.match();
+		}
+
+		@Override
+		public MatchResult matchesNow(ServerWebExchange exchange) {
+			return ServerWebExchangeMatcher.MatchResult.matched(Collections.emptyMap());
+		}
 
-		};
 	}
 
 }
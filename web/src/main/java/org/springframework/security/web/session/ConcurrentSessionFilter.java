@@ -17,7 +17,16 @@
 package org.springframework.security.web.session;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -60,6 +69,14 @@ import org.springframework.web.filter.GenericFilterBean;
  * {@link org.springframework.security.web.session.HttpSessionEventPublisher} registered
  * in <code>web.xml</code>.
  * </p>
+ * <p>
+ * With a distributed {@link SessionRegistry}, each of these calls may be a remote round
+ * trip. Setting a {@link #setSessionInformationLeaseInterval(Duration) lease interval}
+ * makes the filter remember that a session was not expired, so that the
+ * {@link SessionRegistry} is consulted at most once per lease interval for each session,
+ * and setting a {@link #setLastRequestRefreshExecutor(Executor) refresh executor} moves
+ * the last request updates off the request thread.
+ * </p>
  *
  * @author Ben Alex
  * @author Eddú Meléndez
@@ -81,6 +98,21 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 
 	private SessionInformationExpiredStrategy sessionInformationExpiredStrategy;
 
+	private long leaseMillis;
+
+	// <sessionId:String,leaseExpiresAt:Long>
+	private final Map<String, Long> leases = new ConcurrentHashMap<>();
+
+	private volatile long nextLeasePurgeMillis;
+
+	private Executor lastRequestRefreshExecutor;
+
+	private final Set<String> pendingLastRequestRefreshes = ConcurrentHashMap.newKeySet();
+
+	private final AtomicBoolean lastRequestRefreshScheduled = new AtomicBoolean();
+
+	private Clock clock = Clock.systemUTC();
+
 	public ConcurrentSessionFilter(SessionRegistry sessionRegistry) {
 		Assert.notNull(sessionRegistry, "SessionRegistry required");
 		this.sessionRegistry = sessionRegistry;
@@ -132,25 +164,81 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 	private void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
 		HttpSession session = request.getSession(false);
-		if (session != null) {
+		if (session != null && !hasLease(session.getId())) {
 			SessionInformation info = this.sessionRegistry.getSessionInformation(session.getId());
 			if (info != null) {
 				if (info.isExpired()) {
 					// Expired - abort processing
 					this.logger.debug(LogMessage
 						.of(() -> "Requested session ID " + request.getRequestedSessionId() + " has expired."));
+					this.leases.remove(info.getSessionId());
 					doLogout(request, response);
 					this.sessionInformationExpiredStrategy
 						.onExpiredSessionDetected(new SessionInformationExpiredEvent(info, request, response));
 					return;
 				}
 				// Non-expired - update last request date/time
-				this.sessionRegistry.refreshLastRequest(info.getSessionId());
+				refreshLastRequest(info.getSessionId());
+				grantLease(info.getSessionId());
 			}
 		}
 		chain.doFilter(request, response);
 	}
 
+	private boolean hasLease(String sessionId) {
+		if (this.leaseMillis == 0) {
+			return false;
+		}
+		Long leaseExpiresAt = this.leases.get(sessionId);
+		return leaseExpiresAt != null && this.clock.millis() < leaseExpiresAt;
+	}
+
+	private void grantLease(String sessionId) {
+		if (this.leaseMillis == 0) {
+			return;
+		}
+		long now = this.clock.millis();
+		this.leases.put(sessionId, now + this.leaseMillis);
+		if (now >= this.nextLeasePurgeMillis) {
+			// forget the leases of sessions that are no longer used
+			this.nextLeasePurgeMillis = now + this.leaseMillis;
+			this.leases.values().removeIf((leaseExpiresAt) -> leaseExpiresAt <= now);
+		}
+	}
+
+	private void refreshLastRequest(String sessionId) {
+		if (this.lastRequestRefreshExecutor == null) {
+			this.sessionRegistry.refreshLastRequest(sessionId);
+			return;
+		}
+		this.pendingLastRequestRefreshes.add(sessionId);
+		if (!this.lastRequestRefreshScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.lastRequestRefreshExecutor.execute(this::refreshPendingLastRequests);
+		}
+		catch (RejectedExecutionException ex) {
+			this.logger.debug("Refreshing last requests on the request thread since the executor rejected it", ex);
+			refreshPendingLastRequests();
+		}
+	}
+
+	private void refreshPendingLastRequests() {
+		this.lastRequestRefreshScheduled.set(false);
+		Iterator<String> sessionIds = this.pendingLastRequestRefreshes.iterator();
+		while (sessionIds.hasNext()) {
+			String sessionId = sessionIds.next();
+			sessionIds.remove();
+			try {
+				this.sessionRegistry.refreshLastRequest(sessionId);
+			}
+			catch (RuntimeException ex) {
+				this.logger.debug(LogMessage.format("Failed to refresh last request of session %s", sessionId), ex);
+			}
+		}
+	}
+
 	/**
 	 * Determine the URL for expiration
 	 * @param request the HttpServletRequest
@@ -195,6 +283,50 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 		this.handlers = new CompositeLogoutHandler(handlers);
 	}
 
+	/**
+	 * Sets the interval during which a session that was found not to be expired is not
+	 * looked up in the {@link SessionRegistry} again. This reduces the calls to the
+	 * {@link SessionRegistry} to at most one per interval for each session, at the cost
+	 * of noticing that a session was expired up to one interval late. The last request of
+	 * a session is also only refreshed once per interval. The default is
+	 * {@link Duration#ZERO}, which consults the {@link SessionRegistry} on every request.
+	 * @param sessionInformationLeaseInterval the interval to use
+	 * @since 6.3
+	 */
+	public void setSessionInformationLeaseInterval(Duration sessionInformationLeaseInterval) {
+		Assert.notNull(sessionInformationLeaseInterval, "sessionInformationLeaseInterval cannot be null");
+		Assert.isTrue(!sessionInformationLeaseInterval.isNegative(),
+				"sessionInformationLeaseInterval cannot be negative");
+		this.leaseMillis = sessionInformationLeaseInterval.toMillis();
+		this.leases.clear();
+	}
+
+	/**
+	 * Sets the {@link Executor} used to call
+	 * {@link SessionRegistry#refreshLastRequest(String)}. The sessions that need to be
+	 * refreshed are collected and refreshed in batches by a single task at a time, so the
+	 * request does not wait for the {@link SessionRegistry}. By default, the last request
+	 * is refreshed on the request thread.
+	 * @param lastRequestRefreshExecutor the {@link Executor} to use
+	 * @since 6.3
+	 */
+	public void setLastRequestRefreshExecutor(Executor lastRequestRefreshExecutor) {
+		Assert.notNull(lastRequestRefreshExecutor, "lastRequestRefreshExecutor cannot be null");
+		this.lastRequestRefreshExecutor = lastRequestRefreshExecutor;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine whether a lease is still valid. The
+	 * default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 * @since 6.3
+	 * @see #setSessionInformationLeaseInterval(Duration)
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
 	/**
 	 * Sets the {@link RedirectStrategy} used with
 	 * {@link #ConcurrentSessionFilter(SessionRegistry, String)}
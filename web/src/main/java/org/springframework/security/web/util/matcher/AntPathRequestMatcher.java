@@ -16,7 +16,9 @@
 
 package org.springframework.security.web.util.matcher;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,9 +42,15 @@ import org.springframework.web.util.UrlPathHelper;
  * {@code /aaa/bbb/ccc}.
  * </p>
  * <p>
- * For all other cases, Spring's {@link AntPathMatcher} is used to perform the match. See
- * the Spring documentation for this class for comprehensive information on the syntax
- * used.
+ * Other patterns whose wildcards are limited to {@code ?}, {@code *}, {@code **} and
+ * {@code {name}} path variables are compiled up front into per-segment matchers which
+ * walk the request path in place, without tokenizing it or allocating. Path variables are
+ * only extracted when {@link #matcher(HttpServletRequest)} finds a match.
+ * </p>
+ * <p>
+ * For all other cases, such as path variables with a regular expression, Spring's
+ * {@link AntPathMatcher} is used to perform the match. See the Spring documentation for
+ * this class for comprehensive information on the syntax used.
  * </p>
  *
  * @author Luke Taylor
@@ -163,7 +171,8 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 				this.matcher = new SubpathMatcher(pattern.substring(0, pattern.length() - 3), caseSensitive);
 			}
 			else {
-				this.matcher = new SpringAntMatcher(pattern, caseSensitive);
+				Matcher compiled = CompiledAntMatcher.compile(pattern, caseSensitive);
+				this.matcher = (compiled != null) ? compiled : new SpringAntMatcher(pattern, caseSensitive);
 			}
 		}
 		this.pattern = pattern;
@@ -179,17 +188,21 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 	 */
 	@Override
 	public boolean matches(HttpServletRequest request) {
-		if (this.httpMethod != null && StringUtils.hasText(request.getMethod())
-				&& this.httpMethod != HttpMethod.valueOf(request.getMethod())) {
+		if (!matchesMethod(request)) {
 			return false;
 		}
-		if (this.pattern.equals(MATCH_ALL)) {
+		if (this.matcher == null) {
 			return true;
 		}
 		String url = getRequestPath(request);
 		return this.matcher.matches(url);
 	}
 
+	private boolean matchesMethod(HttpServletRequest request) {
+		return this.httpMethod == null || !StringUtils.hasText(request.getMethod())
+				|| this.httpMethod == HttpMethod.valueOf(request.getMethod());
+	}
+
 	@Override
 	@Deprecated
 	public Map<String, String> extractUriTemplateVariables(HttpServletRequest request) {
@@ -198,13 +211,16 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 
 	@Override
 	public MatchResult matcher(HttpServletRequest request) {
-		if (!matches(request)) {
+		if (!matchesMethod(request)) {
 			return MatchResult.notMatch();
 		}
 		if (this.matcher == null) {
 			return MatchResult.match();
 		}
 		String url = getRequestPath(request);
+		if (!this.matcher.matches(url)) {
+			return MatchResult.notMatch();
+		}
 		return MatchResult.match(this.matcher.extractUriTemplateVariables(url));
 	}
 
@@ -224,6 +240,44 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 		return this.pattern;
 	}
 
+	HttpMethod getHttpMethod() {
+		return this.httpMethod;
+	}
+
+	/**
+	 * Returns the literal leading path segments that any path matched by this matcher
+	 * must start with, ignoring empty segments. Returns {@code null} if the segments
+	 * cannot be determined, for example because matching is case-insensitive or uses a
+	 * custom {@link UrlPathHelper}.
+	 * @return the literal leading path segments, possibly empty, or {@code null}
+	 */
+	List<String> getLiteralPathSegments() {
+		if (this.pattern.equals(MATCH_ALL)) {
+			return Collections.emptyList();
+		}
+		if (!this.caseSensitive || this.urlPathHelper != null || !this.pattern.startsWith("/")) {
+			return null;
+		}
+		List<String> segments = new ArrayList<>();
+		for (String segment : StringUtils.tokenizeToStringArray(this.pattern, "/", false, true)) {
+			if (!isLiteral(segment)) {
+				break;
+			}
+			segments.add(segment);
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (!(obj instanceof AntPathRequestMatcher other)) {
@@ -290,6 +344,287 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 
 	}
 
+	/**
+	 * Optimized matcher for patterns that only use {@code ?}, {@code *}, {@code **} and
+	 * {@code {name}} wildcards. The pattern is split into segments once, and a path is
+	 * matched segment by segment in place following the same rules as
+	 * {@link AntPathMatcher}.
+	 */
+	private static final class CompiledAntMatcher implements Matcher {
+
+		private final String[] tokens;
+
+		private final String[] segments;
+
+		private final boolean[] literal;
+
+		private final boolean leadingSlash;
+
+		private final boolean trailingSlash;
+
+		private final boolean caseSensitive;
+
+		private final SpringAntMatcher variablesExtractor;
+
+		private CompiledAntMatcher(String pattern, String[] tokens, String[] segments, boolean caseSensitive) {
+			this.tokens = tokens;
+			this.segments = segments;
+			this.literal = new boolean[segments.length];
+			for (int i = 0; i < segments.length; i++) {
+				this.literal[i] = segments[i].indexOf('*') == -1 && segments[i].indexOf('?') == -1;
+			}
+			this.leadingSlash = pattern.startsWith("/");
+			this.trailingSlash = pattern.endsWith("/");
+			this.caseSensitive = caseSensitive;
+			boolean variables = pattern.indexOf('{') != -1;
+			this.variablesExtractor = variables ? new SpringAntMatcher(pattern, caseSensitive) : null;
+		}
+
+		/**
+		 * Compiles the provided pattern, or returns {@code null} if it uses wildcards
+		 * that are not supported, such as path variables with a regular expression.
+		 */
+		private static CompiledAntMatcher compile(String pattern, boolean caseSensitive) {
+			String[] tokens = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+			String[] segments = new String[tokens.length];
+			for (int i = 0; i < tokens.length; i++) {
+				segments[i] = compileSegment(tokens[i]);
+				if (segments[i] == null) {
+					return null;
+				}
+			}
+			return new CompiledAntMatcher(pattern, tokens, segments, caseSensitive);
+		}
+
+		/**
+		 * Replaces each {@code {name}} path variable of a segment with {@code *}.
+		 */
+		private static String compileSegment(String segment) {
+			if (segment.indexOf('{') == -1) {
+				return segment;
+			}
+			StringBuilder sb = new StringBuilder(segment.length());
+			int i = 0;
+			while (i < segment.length()) {
+				char c = segment.charAt(i);
+				if (c != '{') {
+					sb.append(c);
+					i++;
+					continue;
+				}
+				int end = segment.indexOf('}', i);
+				if (end == -1 || end == i + 1) {
+					return null;
+				}
+				for (int j = i + 1; j < end; j++) {
+					char v = segment.charAt(j);
+					if (v == '{' || v == ':' || v == '\\') {
+						return null;
+					}
+				}
+				sb.append('*');
+				i = end + 1;
+			}
+			return sb.toString();
+		}
+
+		@Override
+		public boolean matches(String path) {
+			if (path.startsWith("/") != this.leadingSlash) {
+				return false;
+			}
+			int length = path.length();
+			int patternStart = 0;
+			int patternEnd = this.segments.length - 1;
+			int start = 0;
+			// match the segments up to the first "**"
+			while (patternStart <= patternEnd) {
+				int segmentStart = skipSeparators(path, start, length);
+				if (segmentStart == length || isDoubleWildcard(patternStart)) {
+					break;
+				}
+				int segmentEnd = segmentEnd(path, segmentStart, length);
+				if (!matchSegment(patternStart, path, segmentStart, segmentEnd)) {
+					return false;
+				}
+				patternStart++;
+				start = segmentEnd;
+			}
+			if (skipSeparators(path, start, length) == length) {
+				if (patternStart > patternEnd) {
+					return this.trailingSlash == path.endsWith("/");
+				}
+				if (patternStart == patternEnd && this.tokens[patternStart].equals("*") && path.endsWith("/")) {
+					return true;
+				}
+				return onlyDoubleWildcards(patternStart, patternEnd);
+			}
+			if (patternStart > patternEnd) {
+				return false;
+			}
+			// match the segments after the last "**", from the end
+			int end = length;
+			while (patternStart <= patternEnd && !isDoubleWildcard(patternEnd)) {
+				int segmentEnd = skipSeparatorsBackward(path, start, end);
+				if (segmentEnd == start) {
+					break;
+				}
+				int segmentStart = segmentStartBackward(path, start, segmentEnd);
+				if (!matchSegment(patternEnd, path, segmentStart, segmentEnd)) {
+					return false;
+				}
+				if (patternEnd == this.segments.length - 1 && this.trailingSlash != path.endsWith("/")) {
+					return false;
+				}
+				patternEnd--;
+				end = segmentStart;
+			}
+			// match the segments between "**"s, leftmost first
+			while (patternStart != patternEnd && skipSeparators(path, start, end) != end) {
+				int next = patternStart + 1;
+				while (next <= patternEnd && !isDoubleWildcard(next)) {
+					next++;
+				}
+				if (next == patternStart + 1) {
+					patternStart++;
+					continue;
+				}
+				int found = find(patternStart + 1, next, path, start, end);
+				if (found == -1) {
+					return false;
+				}
+				patternStart = next;
+				start = found;
+			}
+			return onlyDoubleWildcards(patternStart, patternEnd);
+		}
+
+		@Override
+		public Map<String, String> extractUriTemplateVariables(String path) {
+			if (this.variablesExtractor == null) {
+				return Collections.emptyMap();
+			}
+			return this.variablesExtractor.extractUriTemplateVariables(path);
+		}
+
+		/**
+		 * Finds the first run of path segments in [start, end) matching the pattern
+		 * segments in [from, to) and returns the index after the run, or -1.
+		 */
+		private int find(int from, int to, String path, int start, int end) {
+			int candidate = skipSeparators(path, start, end);
+			while (candidate != end) {
+				int position = candidate;
+				int i = from;
+				while (i < to) {
+					int segmentStart = skipSeparators(path, position, end);
+					if (segmentStart == end) {
+						return -1;
+					}
+					int segmentEnd = segmentEnd(path, segmentStart, end);
+					if (!matchSegment(i, path, segmentStart, segmentEnd)) {
+						break;
+					}
+					position = segmentEnd;
+					i++;
+				}
+				if (i == to) {
+					return position;
+				}
+				candidate = skipSeparators(path, segmentEnd(path, candidate, end), end);
+			}
+			return -1;
+		}
+
+		private boolean isDoubleWildcard(int index) {
+			return this.tokens[index].equals("**");
+		}
+
+		private boolean onlyDoubleWildcards(int from, int to) {
+			for (int i = from; i <= to; i++) {
+				if (!isDoubleWildcard(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matchSegment(int index, String path, int start, int end) {
+			String segment = this.segments[index];
+			if (this.literal[index]) {
+				return segment.length() == end - start
+						&& path.regionMatches(!this.caseSensitive, start, segment, 0, segment.length());
+			}
+			// glob match where '*' matches any characters and '?' matches exactly one
+			int p = 0;
+			int s = start;
+			int star = -1;
+			int backtrack = -1;
+			int patternLength = segment.length();
+			while (s < end) {
+				if (p < patternLength) {
+					char c = segment.charAt(p);
+					if (c == '*') {
+						star = p++;
+						backtrack = s;
+						continue;
+					}
+					if (c == '?' || equals(c, path.charAt(s))) {
+						p++;
+						s++;
+						continue;
+					}
+				}
+				if (star == -1) {
+					return false;
+				}
+				p = star + 1;
+				s = ++backtrack;
+			}
+			while (p < patternLength && segment.charAt(p) == '*') {
+				p++;
+			}
+			return p == patternLength;
+		}
+
+		private boolean equals(char c1, char c2) {
+			if (c1 == c2) {
+				return true;
+			}
+			// case-insensitive regular expressions only fold US-ASCII characters
+			return !this.caseSensitive && c1 < 128 && c2 < 128
+					&& Character.toLowerCase(c1) == Character.toLowerCase(c2);
+		}
+
+		private static int skipSeparators(String path, int start, int end) {
+			while (start < end && path.charAt(start) == '/') {
+				start++;
+			}
+			return start;
+		}
+
+		private static int segmentEnd(String path, int start, int end) {
+			while (start < end && path.charAt(start) != '/') {
+				start++;
+			}
+			return start;
+		}
+
+		private static int skipSeparatorsBackward(String path, int start, int end) {
+			while (end > start && path.charAt(end - 1) == '/') {
+				end--;
+			}
+			return end;
+		}
+
+		private static int segmentStartBackward(String path, int start, int end) {
+			while (end > start && path.charAt(end - 1) != '/') {
+				end--;
+			}
+			return end;
+		}
+	}
+
 	/**
 	 * Optimized matcher for trailing wildcards
 	 */
@@ -303,17 +638,15 @@ public final class AntPathRequestMatcher implements RequestMatcher, RequestVaria
 
 		private SubpathMatcher(String subpath, boolean caseSensitive) {
 			Assert.isTrue(!subpath.contains("*"), "subpath cannot contain \"*\"");
-			this.subpath = caseSensitive ? subpath : subpath.toLowerCase();
+			this.subpath = subpath;
 			this.length = subpath.length();
 			this.caseSensitive = caseSensitive;
 		}
 
 		@Override
 		public boolean matches(String path) {
-			if (!this.caseSensitive) {
-				path = path.toLowerCase();
-			}
-			return path.startsWith(this.subpath) && (path.length() == this.length || path.charAt(this.length) == '/');
+			return path.regionMatches(!this.caseSensitive, 0, this.subpath, 0, this.length)
+					&& (path.length() == this.length || path.charAt(this.length) == '/');
 		}
 
 		@Override
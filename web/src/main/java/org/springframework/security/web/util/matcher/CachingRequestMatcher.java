@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.Objects;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RequestMatcher} that remembers the {@link MatchResult} of another
+ * {@link RequestMatcher} for the duration of a request.
+ * <p>
+ * The results are kept in a small, fixed-size cache stored as a request attribute and
+ * keyed by the identity of the delegate {@link RequestMatcher}. This means that several
+ * {@code CachingRequestMatcher}s wrapping the same delegate, for example one given to
+ * {@link org.springframework.security.web.FilterChainProxy} and another to
+ * {@link org.springframework.security.web.csrf.CsrfFilter}, share their results. When
+ * more delegates are evaluated than the cache can hold, the oldest results are evicted.
+ * <p>
+ * The cached results are discarded whenever the method, the request URI, the query
+ * string, the servlet path, the path info or the dispatcher type of the request changes,
+ * for example when the request is forwarded. Delegates whose result depends on anything
+ * else that may change while the request is processed, such as request attributes, should
+ * not be cached.
+ * <p>
+ * Caching is only worthwhile for delegates that are costly to evaluate, such as
+ * {@link RegexRequestMatcher} or
+ * {@link org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher}.
+ *
+ * @since 6.3
+ */
+public final class CachingRequestMatcher implements RequestMatcher {
+
+	static final String CACHE_ATTRIBUTE = CachingRequestMatcher.class.getName().concat(".CACHE");
+
+	private final RequestMatcher delegate;
+
+	/**
+	 * Creates a new instance
+	 * @param delegate the {@link RequestMatcher} whose results should be cached
+	 */
+	public CachingRequestMatcher(RequestMatcher delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public boolean matches(HttpServletRequest request) {
+		return matcher(request).isMatch();
+	}
+
+	@Override
+	public MatchResult matcher(HttpServletRequest request) {
+		MatchResultCache cache = getCache(request);
+		MatchResult result = cache.get(this.delegate);
+		if (result == null) {
+			result = this.delegate.matcher(request);
+			cache.put(this.delegate, result);
+		}
+		return result;
+	}
+
+	private static MatchResultCache getCache(HttpServletRequest request) {
+		Object cache = request.getAttribute(CACHE_ATTRIBUTE);
+		if (cache instanceof MatchResultCache matchResultCache) {
+			matchResultCache.validate(request);
+			return matchResultCache;
+		}
+		MatchResultCache matchResultCache = new MatchResultCache(request);
+		request.setAttribute(CACHE_ATTRIBUTE, matchResultCache);
+		return matchResultCache;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof CachingRequestMatcher other)) {
+			return false;
+		}
+		return this.delegate.equals(other.delegate);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.delegate.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "Caching [" + this.delegate + "]";
+	}
+
+	/**
+	 * A fixed-size cache of {@link MatchResult}s that is only valid for as long as the
+	 * request properties that matchers commonly depend on stay the same.
+	 */
+	static final class MatchResultCache {
+
+		static final int SIZE = 8;
+
+		private final RequestMatcher[] matchers = new RequestMatcher[SIZE];
+
+		private final MatchResult[] results = new MatchResult[SIZE];
+
+		private int next;
+
+		private String method;
+
+		private String requestUri;
+
+		private String queryString;
+
+		private String servletPath;
+
+		private String pathInfo;
+
+		private DispatcherType dispatcherType;
+
+		MatchResultCache(HttpServletRequest request) {
+			capture(request);
+		}
+
+		MatchResult get(RequestMatcher matcher) {
+			for (int i = 0; i < SIZE; i++) {
+				if (this.matchers[i] == matcher) {
+					return this.results[i];
+				}
+			}
+			return null;
+		}
+
+		void put(RequestMatcher matcher, MatchResult result) {
+			this.matchers[this.next] = matcher;
+			this.results[this.next] = result;
+			this.next = (this.next + 1) % SIZE;
+		}
+
+		void validate(HttpServletRequest request) {
+			if (Objects.equals(this.method, request.getMethod())
+					&& Objects.equals(this.requestUri, request.getRequestURI())
+					&& Objects.equals(this.queryString, request.getQueryString())
+					&& Objects.equals(this.servletPath, request.getServletPath())
+					&& Objects.equals(this.pathInfo, request.getPathInfo())
+					&& this.dispatcherType == request.getDispatcherType()) {
+				return;
+			}
+			for (int i = 0; i < SIZE; i++) {
+				this.matchers[i] = null;
+				this.results[i] = null;
+			}
+			this.next = 0;
+			capture(request);
+		}
+
+		private void capture(HttpServletRequest request) {
+			this.method = request.getMethod();
+			this.requestUri = request.getRequestURI();
+			this.queryString = request.getQueryString();
+			this.servletPath = request.getServletPath();
+			this.pathInfo = request.getPathInfo();
+			this.dispatcherType = request.getDispatcherType();
+		}
+
+	}
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RequestMatcher} that matches if any of a list of {@link RegexRequestMatcher}s
+ * matches, like an {@link OrRequestMatcher}, but evaluates all of their patterns with a
+ * single regular expression.
+ * <p>
+ * The patterns are merged up front into one alternation in which each member is wrapped
+ * in its own capturing group, so that the request URL ({@code servletPath + pathInfo +
+ * queryString}) is built and scanned once per request instead of once per member. The
+ * capturing group that participated in the match tells which member matched, see
+ * {@link #getMatchingRequestMatcher(HttpServletRequest)}. Since alternatives are tried in
+ * order, this is always the first member in the list that matches the request.
+ * <p>
+ * HTTP methods are honored by merging, for each method used by the members, only the
+ * members that apply to that method. Patterns that cannot be safely merged, for example
+ * because they use back references or quoting, are still evaluated on their own and in
+ * order.
+ *
+ * @since 6.3
+ * @see RegexRequestMatcher
+ */
+public final class CompositeRegexRequestMatcher implements RequestMatcher {
+
+	private static final Pattern UNMERGEABLE = Pattern.compile("\\\\[1-9kQ]|\\(\\?[a-zA-Z-]*x");
+
+	private static final Log logger = LogFactory.getLog(CompositeRegexRequestMatcher.class);
+
+	private final List<RegexRequestMatcher> requestMatchers;
+
+	/**
+	 * The program used when the request has no method, made of all members
+	 */
+	private final Program program;
+
+	/**
+	 * The program used when the request method is not one of the members' methods, made
+	 * of the members that match any method
+	 */
+	private final Program anyMethodProgram;
+
+	private final Map<HttpMethod, Program> programsByMethod = new IdentityHashMap<>();
+
+	/**
+	 * Creates a new instance
+	 * @param requestMatchers the {@link RegexRequestMatcher} instances to try, in order
+	 */
+	public CompositeRegexRequestMatcher(List<RegexRequestMatcher> requestMatchers) {
+		Assert.notEmpty(requestMatchers, "requestMatchers must contain a value");
+		Assert.noNullElements(requestMatchers, "requestMatchers cannot contain null values");
+		this.requestMatchers = new ArrayList<>(requestMatchers);
+		this.program = compile(null, false);
+		this.anyMethodProgram = compile(null, true);
+		for (RegexRequestMatcher matcher : this.requestMatchers) {
+			HttpMethod method = matcher.getHttpMethod();
+			if (method != null && !this.programsByMethod.containsKey(method)) {
+				this.programsByMethod.put(method, compile(method, true));
+			}
+		}
+	}
+
+	/**
+	 * Creates a new instance
+	 * @param requestMatchers the {@link RegexRequestMatcher} instances to try, in order
+	 */
+	public CompositeRegexRequestMatcher(RegexRequestMatcher... requestMatchers) {
+		this(Arrays.asList(requestMatchers));
+	}
+
+	/**
+	 * Creates a new instance from an {@link OrRequestMatcher} composed only of
+	 * {@link RegexRequestMatcher}s
+	 * @param requestMatcher the {@link OrRequestMatcher} to merge
+	 * @return the {@link CompositeRegexRequestMatcher}
+	 * @throws IllegalArgumentException if one of the {@link RequestMatcher}s is not a
+	 * {@link RegexRequestMatcher}
+	 */
+	public static CompositeRegexRequestMatcher from(OrRequestMatcher requestMatcher) {
+		Assert.notNull(requestMatcher, "requestMatcher cannot be null");
+		List<RegexRequestMatcher> requestMatchers = new ArrayList<>();
+		for (RequestMatcher delegate : requestMatcher.getRequestMatchers()) {
+			Assert.isInstanceOf(RegexRequestMatcher.class, delegate,
+					"requestMatcher must only contain RegexRequestMatcher instances");
+			requestMatchers.add((RegexRequestMatcher) delegate);
+		}
+		return new CompositeRegexRequestMatcher(requestMatchers);
+	}
+
+	@Override
+	public boolean matches(HttpServletRequest request) {
+		return getMatchingRequestMatcher(request) != null;
+	}
+
+	/**
+	 * Returns the first {@link RegexRequestMatcher} that matches the provided request.
+	 * @param request the request to match
+	 * @return the first matching {@link RegexRequestMatcher}, or {@code null} if none
+	 * matches
+	 */
+	public RegexRequestMatcher getMatchingRequestMatcher(HttpServletRequest request) {
+		String url = RegexRequestMatcher.getUrl(request);
+		logger.debug(LogMessage.format("Checking match of request : '%s'; against %s", url, this.requestMatchers));
+		return getProgram(request.getMethod()).match(url);
+	}
+
+	private Program getProgram(String method) {
+		// like RegexRequestMatcher, only a null method matches members for any method; an
+		// empty method is an unknown method and selects the members without a method
+		if (method == null) {
+			return this.program;
+		}
+		Program program = this.programsByMethod.get(HttpMethod.valueOf(method));
+		return (program != null) ? program : this.anyMethodProgram;
+	}
+
+	/**
+	 * Compiles the members that apply to the provided method, or all members when
+	 * {@code methodSpecific} is {@code false}, into a {@link Program}. Consecutive
+	 * members that can be merged share a single {@link Pattern}.
+	 */
+	private Program compile(HttpMethod method, boolean methodSpecific) {
+		List<Segment> segments = new ArrayList<>();
+		List<RegexRequestMatcher> run = new ArrayList<>();
+		for (RegexRequestMatcher matcher : this.requestMatchers) {
+			HttpMethod matcherMethod = matcher.getHttpMethod();
+			if (methodSpecific && matcherMethod != null && matcherMethod != method) {
+				continue;
+			}
+			if (UNMERGEABLE.matcher(matcher.getPattern().pattern()).find()) {
+				addMerged(run, segments);
+				segments.add(new Segment(matcher.getPattern(), new int[] { 0 }, new RegexRequestMatcher[] { matcher }));
+				continue;
+			}
+			run.add(matcher);
+		}
+		addMerged(run, segments);
+		return new Program(segments.toArray(new Segment[0]));
+	}
+
+	private static void addMerged(List<RegexRequestMatcher> run, List<Segment> segments) {
+		if (run.isEmpty()) {
+			return;
+		}
+		StringBuilder regex = new StringBuilder();
+		int[] groups = new int[run.size()];
+		int groupCount = 0;
+		for (int i = 0; i < run.size(); i++) {
+			Pattern pattern = run.get(i).getPattern();
+			groups[i] = ++groupCount;
+			groupCount += pattern.matcher("").groupCount();
+			if (i > 0) {
+				regex.append('|');
+			}
+			regex.append("((?").append(flags(pattern)).append(':').append(pattern.pattern()).append("))");
+		}
+		RegexRequestMatcher[] members = run.toArray(new RegexRequestMatcher[0]);
+		run.clear();
+		Pattern merged = merge(regex.toString(), groupCount);
+		if (merged != null) {
+			segments.add(new Segment(merged, groups, members));
+			return;
+		}
+		for (RegexRequestMatcher member : members) {
+			segments.add(new Segment(member.getPattern(), new int[] { 0 }, new RegexRequestMatcher[] { member }));
+		}
+	}
+
+	private static Pattern merge(String regex, int groupCount) {
+		try {
+			Pattern pattern = Pattern.compile(regex);
+			return (pattern.matcher("").groupCount() == groupCount) ? pattern : null;
+		}
+		catch (PatternSyntaxException ex) {
+			return null;
+		}
+	}
+
+	private static String flags(Pattern pattern) {
+		StringBuilder flags = new StringBuilder();
+		if ((pattern.flags() & Pattern.DOTALL) != 0) {
+			flags.append('s');
+		}
+		if ((pattern.flags() & Pattern.CASE_INSENSITIVE) != 0) {
+			flags.append('i');
+		}
+		return flags.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeRegex " + this.requestMatchers;
+	}
+
+	/**
+	 * The segments to evaluate, in order, for a given request method
+	 */
+	private static final class Program {
+
+		private final Segment[] segments;
+
+		private Program(Segment[] segments) {
+			this.segments = segments;
+		}
+
+		private RegexRequestMatcher match(String url) {
+			for (Segment segment : this.segments) {
+				RegexRequestMatcher matcher = segment.match(url);
+				if (matcher != null) {
+					return matcher;
+				}
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * A {@link Pattern} together with the capturing group that identifies each of the
+	 * members merged into it
+	 */
+	private static final class Segment {
+
+		private final Pattern pattern;
+
+		private final int[] groups;
+
+		private final RegexRequestMatcher[] members;
+
+		private Segment(Pattern pattern, int[] groups, RegexRequestMatcher[] members) {
+			this.pattern = pattern;
+			this.groups = groups;
+			this.members = members;
+		}
+
+		private RegexRequestMatcher match(String url) {
+			Matcher matcher = this.pattern.matcher(url);
+			if (!matcher.matches()) {
+				return null;
+			}
+			for (int i = 0; i < this.groups.length; i++) {
+				if (matcher.start(this.groups[i]) != -1) {
+					return this.members[i];
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
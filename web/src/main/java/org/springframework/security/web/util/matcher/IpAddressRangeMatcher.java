@@ -0,0 +1,440 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Collection;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.util.Assert;
+
+/**
+ * Matches a request if its remote address is within any of a set of IP addresses or
+ * ranges, for example an allow list of partner networks.
+ * <p>
+ * The ranges are kept in a path-compressed binary prefix tree per address family, so that
+ * looking up an address takes at most 32 (IPv4) or 128 (IPv6) steps, regardless of how
+ * many ranges are configured. Addresses are parsed directly into their numeric form
+ * instead of going through {@link InetAddress}, and anything that is not an IP literal,
+ * such as a host name, never matches.
+ * <p>
+ * As with {@link IpAddressMatcher}, IPv4 ranges never match IPv6 addresses and
+ * vice-versa, except for IPv4-mapped IPv6 addresses ({@code ::ffff:192.168.1.1}) which
+ * are treated as IPv4 addresses. The ranges can be replaced at runtime with
+ * {@link #setIpAddresses(Collection)}, which is safe to do while requests are being
+ * matched.
+ *
+ * @since 6.3
+ * @see IpAddressMatcher
+ */
+public final class IpAddressRangeMatcher implements RequestMatcher {
+
+	private volatile Ranges ranges;
+
+	/**
+	 * Creates a new instance
+	 * @param ipAddresses the addresses or ranges of addresses, specified using the
+	 * IP/Netmask notation (e.g. 192.168.1.0/24 or 2001:db8::/32), from which the request
+	 * must come
+	 */
+	public IpAddressRangeMatcher(Collection<String> ipAddresses) {
+		setIpAddresses(ipAddresses);
+	}
+
+	/**
+	 * Replaces the addresses or ranges of addresses to match. The new ranges are parsed
+	 * in full before they are swapped in, so an invalid address leaves the current ranges
+	 * in place.
+	 * @param ipAddresses the addresses or ranges of addresses, specified using the
+	 * IP/Netmask notation (e.g. 192.168.1.0/24 or 2001:db8::/32), from which the request
+	 * must come
+	 */
+	public void setIpAddresses(Collection<String> ipAddresses) {
+		Assert.notNull(ipAddresses, "ipAddresses cannot be null");
+		PrefixTree ipv4 = new PrefixTree(32);
+		PrefixTree ipv6 = new PrefixTree(128);
+		for (String ipAddress : ipAddresses) {
+			Assert.hasText(ipAddress, "ipAddresses cannot contain empty values");
+			int slash = ipAddress.indexOf('/');
+			String address = (slash != -1) ? ipAddress.substring(0, slash) : ipAddress;
+			Address parsed = Address.parse(address);
+			Assert.notNull(parsed, () -> "Failed to parse address '" + address + "'");
+			int maskBits = (slash != -1) ? parseMaskBits(ipAddress.substring(slash + 1)) : parsed.bits;
+			Assert.isTrue(parsed.bits >= maskBits, () -> String
+				.format("IP address %s is too short for bitmask of length %d", address, maskBits));
+			PrefixTree tree = (parsed.bits == 32) ? ipv4 : ipv6;
+			tree.add(parsed.high, parsed.low, maskBits);
+		}
+		this.ranges = new Ranges(ipv4, ipv6, ipAddresses.size());
+	}
+
+	private static int parseMaskBits(String maskBits) {
+		try {
+			int bits = Integer.parseInt(maskBits);
+			Assert.isTrue(bits >= 0, () -> "Invalid bitmask '" + maskBits + "'");
+			return bits;
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid bitmask '" + maskBits + "'", ex);
+		}
+	}
+
+	@Override
+	public boolean matches(HttpServletRequest request) {
+		return matches(request.getRemoteAddr());
+	}
+
+	/**
+	 * Returns whether the provided address is within any of the configured ranges
+	 * @param address the IP address, IPv6 addresses may be enclosed in brackets
+	 * @return {@code true} if the address is within any of the ranges, {@code false}
+	 * otherwise or if the address is not an IP address
+	 */
+	public boolean matches(String address) {
+		Address parsed = (address != null) ? Address.parse(address) : null;
+		if (parsed == null) {
+			return false;
+		}
+		Ranges ranges = this.ranges;
+		PrefixTree tree = (parsed.bits == 32) ? ranges.ipv4 : ranges.ipv6;
+		return tree.contains(parsed.high, parsed.low);
+	}
+
+	/**
+	 * Returns whether the provided address is within any of the configured ranges
+	 * @param address the IP address
+	 * @return {@code true} if the address is within any of the ranges
+	 */
+	public boolean matches(InetAddress address) {
+		Assert.notNull(address, "address cannot be null");
+		Ranges ranges = this.ranges;
+		byte[] bytes = address.getAddress();
+		if (address instanceof Inet4Address) {
+			return ranges.ipv4.contains(toLong(bytes, 0, 4) << 32, 0);
+		}
+		long high = toLong(bytes, 0, 8);
+		long low = toLong(bytes, 8, 8);
+		return ranges.ipv6.contains(high, low);
+	}
+
+	private static long toLong(byte[] bytes, int offset, int length) {
+		long value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			value = (value << 8) | (bytes[i] & 0xFF);
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return "IpAddressRangeMatcher[ranges=" + this.ranges.size + "]";
+	}
+
+	private static final class Ranges {
+
+		private final PrefixTree ipv4;
+
+		private final PrefixTree ipv6;
+
+		private final int size;
+
+		private Ranges(PrefixTree ipv4, PrefixTree ipv6, int size) {
+			this.ipv4 = ipv4;
+			this.ipv6 = ipv6;
+			this.size = size;
+		}
+
+	}
+
+	/**
+	 * An IPv4 or IPv6 address as up to 128 bits, left-aligned in two longs
+	 */
+	private static final class Address {
+
+		private final long high;
+
+		private final long low;
+
+		private final int bits;
+
+		private Address(long high, long low, int bits) {
+			this.high = high;
+			this.low = low;
+			this.bits = bits;
+		}
+
+		/**
+		 * Parses an IPv4 address in dotted-decimal notation or an IPv6 address in any of
+		 * the RFC 4291 text forms, optionally enclosed in brackets and with a zone id.
+		 * @return the address or {@code null} if it is not an IP address
+		 */
+		private static Address parse(String address) {
+			int start = 0;
+			int end = address.length();
+			if (end > 1 && address.charAt(0) == '[' && address.charAt(end - 1) == ']') {
+				start++;
+				end--;
+			}
+			int zone = address.indexOf('%', start);
+			if (zone != -1 && zone < end) {
+				if (!isZoneId(address, zone + 1, end)) {
+					return null;
+				}
+				end = zone;
+			}
+			if (address.indexOf(':', start) == -1) {
+				long ipv4 = parseIpv4(address, start, end);
+				return (ipv4 != -1) ? new Address(ipv4 << 32, 0, 32) : null;
+			}
+			return parseIpv6(address, start, end);
+		}
+
+		private static boolean isZoneId(String address, int start, int end) {
+			for (int i = start; i < end; i++) {
+				char c = address.charAt(i);
+				if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.') {
+					return false;
+				}
+			}
+			return start < end;
+		}
+
+		/**
+		 * Parses the dotted-decimal IPv4 address in the provided region
+		 * @return the address or {@code -1} if the region is not an IPv4 address
+		 */
+		private static long parseIpv4(String address, int start, int end) {
+			long value = 0;
+			int octets = 0;
+			int i = start;
+			while (i < end) {
+				int octet = 0;
+				int digits = 0;
+				char c;
+				while (i < end && (c = address.charAt(i)) >= '0' && c <= '9') {
+					octet = octet * 10 + (c - '0');
+					digits++;
+					i++;
+				}
+				if (digits == 0 || digits > 3 || octet > 255 || ++octets > 4) {
+					return -1;
+				}
+				value = (value << 8) | octet;
+				if (i < end) {
+					if (address.charAt(i) != '.' || i == end - 1) {
+						return -1;
+					}
+					i++;
+				}
+			}
+			return (octets == 4) ? value : -1;
+		}
+
+		private static Address parseIpv6(String address, int start, int end) {
+			long high = 0;
+			long low = 0;
+			int groups = 0;
+			int compressed = -1;
+			int i = start;
+			if (address.startsWith("::", i)) {
+				compressed = 0;
+				i += 2;
+			}
+			while (i < end) {
+				int groupStart = i;
+				int group = 0;
+				int digit;
+				while (i < end && i - groupStart < 4 && (digit = Character.digit(address.charAt(i), 16)) != -1) {
+					group = (group << 4) | digit;
+					i++;
+				}
+				if (i < end && address.charAt(i) == '.') {
+					long ipv4 = parseIpv4(address, groupStart, end);
+					if (ipv4 == -1 || groups > 6) {
+						return null;
+					}
+					high = (high << 32) | (low >>> 32);
+					low = (low << 32) | ipv4;
+					groups += 2;
+					break;
+				}
+				if (i == groupStart || ++groups > 8) {
+					return null;
+				}
+				high = (high << 16) | (low >>> 48);
+				low = (low << 16) | group;
+				if (i == end) {
+					break;
+				}
+				if (address.charAt(i) != ':' || ++i == end) {
+					return null;
+				}
+				if (address.charAt(i) == ':') {
+					if (compressed != -1) {
+						return null;
+					}
+					compressed = groups;
+					i++;
+				}
+			}
+			if ((compressed == -1) ? groups != 8 : groups > 7) {
+				return null;
+			}
+			if (compressed != -1) {
+				// move the groups before "::" up, leaving the groups after it in place
+				int trailing = (groups - compressed) * 16;
+				long trailingHigh = (trailing > 64) ? high & ((1L << (trailing - 64)) - 1) : 0;
+				long trailingLow = (trailing >= 64) ? low : low & ((1L << trailing) - 1);
+				high &= ~trailingHigh;
+				low &= ~trailingLow;
+				for (int shift = groups; shift < 8; shift++) {
+					high = (high << 16) | (low >>> 48);
+					low <<= 16;
+				}
+				high |= trailingHigh;
+				low |= trailingLow;
+			}
+			if (high == 0 && (low >>> 32) == 0xFFFFL) {
+				return new Address(low << 32, 0, 32);
+			}
+			return new Address(high, low, 128);
+		}
+
+	}
+
+	/**
+	 * A path-compressed binary prefix tree of address ranges. Each node holds a prefix,
+	 * left-aligned in two longs, and whether it is a configured range. Since a match only
+	 * needs to find one range containing the address, ranges nested within another range
+	 * are dropped.
+	 */
+	private static final class PrefixTree {
+
+		private final int maxBits;
+
+		private final Node root = new Node(0, 0, 0);
+
+		private PrefixTree(int maxBits) {
+			this.maxBits = maxBits;
+		}
+
+		private void add(long high, long low, int length) {
+			long maskedHigh = high & mask(length);
+			long maskedLow = low & mask(length - 64);
+			Node node = this.root;
+			while (!node.range) {
+				if (node.length == length) {
+					node.range = true;
+					node.zero = null;
+					node.one = null;
+					return;
+				}
+				boolean bit = bit(maskedHigh, maskedLow, node.length);
+				Node child = bit ? node.one : node.zero;
+				if (child == null) {
+					child = new Node(maskedHigh, maskedLow, length);
+					child.range = true;
+					node.setChild(bit, child);
+					return;
+				}
+				int common = Math.min(commonPrefixLength(child.high, child.low, maskedHigh, maskedLow),
+						Math.min(child.length, length));
+				if (common < child.length) {
+					Node split = new Node(maskedHigh & mask(common), maskedLow & mask(common - 64), common);
+					split.setChild(bit(child.high, child.low, common), child);
+					node.setChild(bit, split);
+					child = split;
+				}
+				node = child;
+			}
+		}
+
+		private boolean contains(long high, long low) {
+			Node node = this.root;
+			while (node != null) {
+				if ((high & mask(node.length)) != node.high || (low & mask(node.length - 64)) != node.low) {
+					return false;
+				}
+				if (node.range) {
+					return true;
+				}
+				if (node.length == this.maxBits) {
+					return false;
+				}
+				node = bit(high, low, node.length) ? node.one : node.zero;
+			}
+			return false;
+		}
+
+		/**
+		 * Returns a mask of the {@code bits} most significant bits of a long
+		 */
+		private static long mask(int bits) {
+			if (bits <= 0) {
+				return 0;
+			}
+			return (bits >= 64) ? -1L : -1L << (64 - bits);
+		}
+
+		private static boolean bit(long high, long low, int index) {
+			return (((index < 64) ? (high >>> (63 - index)) : (low >>> (127 - index))) & 1) == 1;
+		}
+
+		private static int commonPrefixLength(long high1, long low1, long high2, long low2) {
+			long difference = high1 ^ high2;
+			if (difference != 0) {
+				return Long.numberOfLeadingZeros(difference);
+			}
+			return 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+		}
+
+	}
+
+	private static final class Node {
+
+		private final long high;
+
+		private final long low;
+
+		private final int length;
+
+		private boolean range;
+
+		private Node zero;
+
+		private Node one;
+
+		private Node(long high, long low, int length) {
+			this.high = high;
+			this.low = low;
+			this.length = length;
+		}
+
+		private void setChild(boolean bit, Node child) {
+			if (bit) {
+				this.one = child;
+			}
+			else {
+				this.zero = child;
+			}
+		}
+
+	}
+
+}
@@ -81,6 +81,10 @@ public final class OrRequestMatcher implements RequestMatcher {
 		return MatchResult.notMatch();
 	}
 
+	List<RequestMatcher> getRequestMatchers() {
+		return this.requestMatchers;
+	}
+
 	@Override
 	public String toString() {
 		return "Or " + this.requestMatchers;
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * An index over an ordered list of items, each guarded by a {@link RequestMatcher}, that
+ * narrows down the items which could possibly match a request by looking at the literal
+ * leading path segments and the HTTP method of their matchers.
+ * <p>
+ * The index is a prefix tree of path segments built once, up front, where each node
+ * groups its items by HTTP method. Looking up the candidates for a request walks the
+ * request path ({@code servletPath + pathInfo}) down the tree, so its cost depends on the
+ * depth of the path rather than on the number of items. The returned candidates are in
+ * the original order and are a superset of the items whose matcher matches the request,
+ * so callers must still evaluate them in turn to preserve first-match semantics.
+ * <p>
+ * Case-sensitive {@link AntPathRequestMatcher}s, {@link AnyRequestMatcher} and
+ * {@link OrRequestMatcher}s composed of those are analyzed. Items with any other matcher
+ * are always returned as candidates.
+ *
+ * @param <T> the type of the indexed items
+ * @since 6.3
+ */
+public final class PathPrefixRequestMatcherIndex<T> {
+
+	private final Node<T> root;
+
+	/**
+	 * Creates a new instance
+	 * @param items the items to index, in the order in which they should be matched
+	 * @param requestMatcher a function returning the {@link RequestMatcher} guarding an
+	 * item, or {@code null} if the item should always be a candidate
+	 */
+	public PathPrefixRequestMatcherIndex(List<T> items, Function<? super T, RequestMatcher> requestMatcher) {
+		Assert.notNull(items, "items cannot be null");
+		Assert.notNull(requestMatcher, "requestMatcher cannot be null");
+		NodeBuilder root = new NodeBuilder();
+		for (int i = 0; i < items.size(); i++) {
+			List<Prefix> prefixes = prefixes(requestMatcher.apply(items.get(i)));
+			if (prefixes == null) {
+				root.add(i, null);
+				continue;
+			}
+			for (Prefix prefix : prefixes) {
+				root.descend(prefix.segments).add(i, prefix.method);
+			}
+		}
+		this.root = root.build(items, Collections.emptySortedMap());
+	}
+
+	/**
+	 * Returns the items that could match the provided request, in their original order.
+	 * Both the request path ({@code servletPath + pathInfo}) and the HTTP method are
+	 * taken into account.
+	 * @param request the request to look up
+	 * @return the candidate items, never {@code null}
+	 */
+	public List<T> getCandidates(HttpServletRequest request) {
+		String servletPath = request.getServletPath();
+		String pathInfo = request.getPathInfo();
+		String path = servletPath;
+		if (pathInfo != null) {
+			path = StringUtils.hasLength(servletPath) ? servletPath + pathInfo : pathInfo;
+		}
+		return descend(path).getCandidates(request.getMethod());
+	}
+
+	/**
+	 * Returns the items that could match a request with the provided path and any HTTP
+	 * method, in their original order.
+	 * @param path the path within the application, that is {@code servletPath + pathInfo}
+	 * @return the candidate items, never {@code null}
+	 */
+	public List<T> getCandidates(String path) {
+		return descend(path).candidates;
+	}
+
+	private Node<T> descend(String path) {
+		Node<T> node = this.root;
+		if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+			return node;
+		}
+		int length = path.length();
+		int start = 0;
+		while (start < length) {
+			if (path.charAt(start) == '/') {
+				start++;
+				continue;
+			}
+			int end = start;
+			int hash = 0;
+			char c;
+			while (end < length && (c = path.charAt(end)) != '/') {
+				hash = 31 * hash + c;
+				end++;
+			}
+			Node<T> child = node.child(path, start, end, hash);
+			if (child == null) {
+				break;
+			}
+			node = child;
+			start = end;
+		}
+		return node;
+	}
+
+	private static List<Prefix> prefixes(RequestMatcher matcher) {
+		if (matcher instanceof AnyRequestMatcher) {
+			return Collections.singletonList(new Prefix(Collections.emptyList(), null));
+		}
+		if (matcher instanceof AntPathRequestMatcher ant) {
+			List<String> segments = ant.getLiteralPathSegments();
+			if (segments == null) {
+				return null;
+			}
+			HttpMethod method = ant.getHttpMethod();
+			return Collections.singletonList(new Prefix(segments, (method != null) ? method.name() : null));
+		}
+		if (matcher instanceof OrRequestMatcher or) {
+			List<Prefix> prefixes = new ArrayList<>();
+			for (RequestMatcher delegate : or.getRequestMatchers()) {
+				List<Prefix> delegatePrefixes = prefixes(delegate);
+				if (delegatePrefixes == null) {
+					return null;
+				}
+				prefixes.addAll(delegatePrefixes);
+			}
+			return prefixes;
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "PathPrefixRequestMatcherIndex " + this.root;
+	}
+
+	private static final class Prefix {
+
+		private final List<String> segments;
+
+		private final String method;
+
+		private Prefix(List<String> segments, String method) {
+			this.segments = segments;
+			this.method = method;
+		}
+
+	}
+
+	private static final class NodeBuilder {
+
+		/**
+		 * The methods each item is restricted to, where a {@code null} method means any
+		 * method
+		 */
+		private final SortedMap<Integer, Set<String>> methods = new TreeMap<>();
+
+		private final Map<String, NodeBuilder> children = new LinkedHashMap<>();
+
+		private NodeBuilder descend(List<String> segments) {
+			NodeBuilder node = this;
+			for (String segment : segments) {
+				node = node.children.computeIfAbsent(segment, (key) -> new NodeBuilder());
+			}
+			return node;
+		}
+
+		private void add(int index, String method) {
+			this.methods.computeIfAbsent(index, (key) -> new HashSet<>()).add(method);
+		}
+
+		private <T> Node<T> build(List<T> items, SortedMap<Integer, Set<String>> inherited) {
+			SortedMap<Integer, Set<String>> methods = new TreeMap<>();
+			merge(inherited, methods);
+			merge(this.methods, methods);
+			List<T> candidates = new ArrayList<>(methods.size());
+			List<T> anyMethodCandidates = new ArrayList<>();
+			Set<String> names = new HashSet<>();
+			methods.forEach((index, itemMethods) -> {
+				candidates.add(items.get(index));
+				if (itemMethods.contains(null)) {
+					anyMethodCandidates.add(items.get(index));
+				}
+				names.addAll(itemMethods);
+			});
+			names.remove(null);
+			Map<String, List<T>> candidatesByMethod = new HashMap<>();
+			for (String name : names) {
+				List<T> methodCandidates = new ArrayList<>();
+				methods.forEach((index, itemMethods) -> {
+					if (itemMethods.contains(null) || itemMethods.contains(name)) {
+						methodCandidates.add(items.get(index));
+					}
+				});
+				candidatesByMethod.put(name, Collections.unmodifiableList(methodCandidates));
+			}
+			Map<String, Node<T>> children = new LinkedHashMap<>();
+			this.children.forEach((segment, child) -> children.put(segment, child.build(items, methods)));
+			return new Node<>(Collections.unmodifiableList(candidates),
+					Collections.unmodifiableList(anyMethodCandidates), candidatesByMethod, children);
+		}
+
+		private static void merge(Map<Integer, Set<String>> source, Map<Integer, Set<String>> target) {
+			source.forEach((index, names) -> target.computeIfAbsent(index, (key) -> new HashSet<>()).addAll(names));
+		}
+
+	}
+
+	/**
+	 * A node of the prefix tree. The children are kept in an open-addressing table keyed
+	 * by segment so that they can be looked up against a region of the request path
+	 * without allocating a substring.
+	 */
+	private static final class Node<T> {
+
+		private final List<T> candidates;
+
+		private final List<T> anyMethodCandidates;
+
+		private final Map<String, List<T>> candidatesByMethod;
+
+		private final String[] segments;
+
+		private final Node<T>[] children;
+
+		private final int mask;
+
+		@SuppressWarnings("unchecked")
+		private Node(List<T> candidates, List<T> anyMethodCandidates, Map<String, List<T>> candidatesByMethod,
+				Map<String, Node<T>> children) {
+			this.candidates = candidates;
+			this.anyMethodCandidates = anyMethodCandidates;
+			this.candidatesByMethod = candidatesByMethod;
+			int size = children.isEmpty() ? 0 : Integer.highestOneBit(children.size() * 2 - 1) << 1;
+			this.segments = new String[size];
+			this.children = new Node[size];
+			this.mask = size - 1;
+			children.forEach((segment, child) -> {
+				int slot = segment.hashCode() & this.mask;
+				while (this.segments[slot] != null) {
+					slot = (slot + 1) & this.mask;
+				}
+				this.segments[slot] = segment;
+				this.children[slot] = child;
+			});
+		}
+
+		private List<T> getCandidates(String method) {
+			if (!StringUtils.hasText(method)) {
+				return this.candidates;
+			}
+			List<T> candidates = this.candidatesByMethod.get(method);
+			return (candidates != null) ? candidates : this.anyMethodCandidates;
+		}
+
+		private Node<T> child(String path, int start, int end, int hash) {
+			if (this.segments.length == 0) {
+				return null;
+			}
+			int length = end - start;
+			int slot = hash & this.mask;
+			String segment;
+			while ((segment = this.segments[slot]) != null) {
+				if (segment.length() == length && segment.hashCode() == hash
+						&& path.regionMatches(start, segment, 0, length)) {
+					return this.children[slot];
+				}
+				slot = (slot + 1) & this.mask;
+			}
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("[candidates=").append(this.candidates.size());
+			for (int i = 0; i < this.segments.length; i++) {
+				if (this.segments[i] != null) {
+					sb.append(", ").append(this.segments[i]).append('=').append(this.children[i]);
+				}
+			}
+			return sb.append(']').toString();
+		}
+
+	}
+
+}
@@ -119,6 +119,17 @@ public final class RegexRequestMatcher implements RequestMatcher {
 				&& this.httpMethod != HttpMethod.valueOf(request.getMethod())) {
 			return false;
 		}
+		String url = getUrl(request);
+		logger.debug(LogMessage.format("Checking match of request : '%s'; against '%s'", url, this.pattern));
+		return this.pattern.matcher(url).matches();
+	}
+
+	/**
+	 * Returns the URL that the pattern is matched against, that is {@code servletPath +
+	 * pathInfo + queryString}, with a question mark prepended to the query string if
+	 * present.
+	 */
+	static String getUrl(HttpServletRequest request) {
 		String url = request.getServletPath();
 		String pathInfo = request.getPathInfo();
 		String query = request.getQueryString();
@@ -132,8 +143,15 @@ public final class RegexRequestMatcher implements RequestMatcher {
 			}
 			url = sb.toString();
 		}
-		logger.debug(LogMessage.format("Checking match of request : '%s'; against '%s'", url, this.pattern));
-		return this.pattern.matcher(url).matches();
+		return url;
+	}
+
+	Pattern getPattern() {
+		return this.pattern;
+	}
+
+	HttpMethod getHttpMethod() {
+		return this.httpMethod;
 	}
 
 	@Override
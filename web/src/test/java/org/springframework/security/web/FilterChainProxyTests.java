@@ -42,12 +42,14 @@ import org.mockito.stubbing.Answer;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.firewall.FirewalledRequest;
 import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -218,6 +220,22 @@ public class FilterChainProxyTests {
 		verify(strategy).clearContext();
 	}
 
+	@Test
+	public void doFilterWhenScopedValueSecurityContextHolderStrategyThenBoundDuringFilterChain() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		this.fcp.setSecurityContextHolderStrategy(strategy);
+		given(this.matcher.matches(any(HttpServletRequest.class))).willReturn(true);
+		willAnswer((Answer<Object>) (inv) -> {
+			assertThat(strategy.isBound()).isTrue();
+			strategy.getContext().setAuthentication(new TestingAuthenticationToken("username", "password"));
+			return null;
+		}).given(this.filter).doFilter(any(), any(), any());
+		this.fcp.doFilter(this.request, this.response, this.chain);
+		verify(this.filter).doFilter(any(), any(), any());
+		assertThat(strategy.isBound()).isFalse();
+		assertThat(strategy.getContext().getAuthentication()).isNull();
+	}
+
 	@Test
 	public void doFilterClearsSecurityContextHolderWithException() throws Exception {
 		given(this.matcher.matches(any(HttpServletRequest.class))).willReturn(true);
@@ -436,6 +454,43 @@ public class FilterChainProxyTests {
 		assertFilterChainObservation(contexts.next(), "after", 3);
 	}
 
+	@Test
+	public void doFilterWhenFilterChainIndexEnabledThenFirstMatchingChainInvoked() throws Exception {
+		Filter api = mock(Filter.class);
+		Filter admin = mock(Filter.class);
+		Filter fallback = mock(Filter.class);
+		RequestMatcher unanalyzable = mock(RequestMatcher.class);
+		FilterChainProxy fcp = new FilterChainProxy(Arrays.asList(
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/api/**"), api),
+				new DefaultSecurityFilterChain(unanalyzable, admin),
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/**"), fallback)));
+		fcp.setFilterChainIndexEnabled(true);
+		given(unanalyzable.matches(any())).willReturn(true);
+		this.request.setServletPath("/api/messages");
+		fcp.doFilter(this.request, this.response, this.chain);
+		verify(api).doFilter(any(), any(), any());
+		verifyNoMoreInteractions(unanalyzable);
+		this.request.setServletPath("/admin");
+		fcp.doFilter(this.request, this.response, this.chain);
+		verify(admin).doFilter(any(), any(), any());
+		verifyNoMoreInteractions(fallback);
+	}
+
+	@Test
+	public void getFiltersWhenFilterChainIndexEnabledThenSameResultAsLinearScan() {
+		List<SecurityFilterChain> chains = Arrays.asList(
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/a/b/**"), mock(Filter.class)),
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/a/*/c"), mock(Filter.class)),
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/a/**"), mock(Filter.class)),
+				new DefaultSecurityFilterChain(AntPathRequestMatcher.antMatcher("/**"), mock(Filter.class)));
+		FilterChainProxy linear = new FilterChainProxy(chains);
+		FilterChainProxy indexed = new FilterChainProxy(chains);
+		indexed.setFilterChainIndexEnabled(true);
+		for (String url : Arrays.asList("/a/b/c", "/a/x/c", "/a", "/a/b", "/b", "/")) {
+			assertThat(indexed.getFilters(url)).isSameAs(linear.getFilters(url));
+		}
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(ObservationFilterChainDecorator.FilterChainObservationContext.class);
 		ObservationFilterChainDecorator.FilterChainObservationContext filterChainObservationContext = (ObservationFilterChainDecorator.FilterChainObservationContext) context;
@@ -36,12 +36,16 @@ import org.mockito.ArgumentCaptor;
 
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -150,6 +154,111 @@ public class ObservationFilterChainDecoratorTests {
 			.isEqualTo(expectedFilterNameTag);
 	}
 
+	@Test
+	void decorateFiltersWhenNotSampledThenRecordsTimingsInsteadOfObserving() throws Exception {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(registry);
+		decorator.setSamplingRatio(0);
+		FilterChain chain = mock(FilterChain.class);
+		SecurityFilterChain securityFilterChain = new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE,
+				new BasicAuthenticationFilter());
+		for (int i = 0; i < 2; i++) {
+			FilterChain decorated = decorator.decorate(chain, securityFilterChain);
+			decorated.doFilter(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+		}
+		verify(chain, times(2)).doFilter(any(), any());
+		verifyNoInteractions(handler);
+		List<FilterTiming> timings = decorator.getFilterTimings();
+		assertThat(timings).hasSize(1);
+		assertThat(timings.get(0).getName()).isEqualTo("BasicAuthenticationFilter");
+		assertThat(timings.get(0).getInvocations()).isEqualTo(2);
+		assertThat(timings.get(0).getBeforeNanos()).isNotNegative();
+		assertThat(timings.get(0).getAfterNanos()).isNotNegative();
+	}
+
+	@Test
+	void decorateFiltersWhenNotSampledAndNoChainThenDoesNotRecordTimings() throws Exception {
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(ObservationRegistry.NOOP);
+		decorator.setSamplingRatio(0);
+		FilterChain chain = mock(FilterChain.class);
+		decorator.decorate(chain, List.of(new BasicAuthenticationFilter()))
+			.doFilter(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+		verify(chain).doFilter(any(), any());
+		assertThat(decorator.getFilterTimings()).isEmpty();
+	}
+
+	@Test
+	void decorateChainWhenNotSampledThenRecordsTimingsPerChain() throws Exception {
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(ObservationRegistry.NOOP);
+		decorator.setSamplingRatio(0);
+		FilterChain chain = mock(FilterChain.class);
+		Filter filter = new BasicAuthenticationFilter();
+		SecurityFilterChain api = new DefaultSecurityFilterChain(new AntPathRequestMatcher("/api/**"), filter);
+		SecurityFilterChain web = new DefaultSecurityFilterChain(new AntPathRequestMatcher("/**"), filter);
+		decorator.decorate(chain, api)
+			.doFilter(new MockHttpServletRequest("GET", "/api"), new MockHttpServletResponse());
+		decorator.decorate(chain, web).doFilter(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+		List<FilterTiming> timings = decorator.getFilterTimings();
+		assertThat(timings).extracting(FilterTiming::getChainName)
+			.containsExactlyInAnyOrder("Ant [pattern='/api/**']", "Ant [pattern='/**']");
+		assertThat(timings).extracting(FilterTiming::getName).containsOnly("BasicAuthenticationFilter");
+		assertThat(timings).extracting(FilterTiming::getInvocations).containsOnly(1L);
+	}
+
+	@Test
+	void decorateChainWhenChainSamplingRatioThenOverridesDefault() throws Exception {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(registry);
+		FilterChain chain = mock(FilterChain.class);
+		SecurityFilterChain health = new DefaultSecurityFilterChain(new AntPathRequestMatcher("/health"),
+				new BasicAuthenticationFilter());
+		decorator.setSamplingRatio(health, 0);
+		decorator.decorate(chain, health)
+			.doFilter(new MockHttpServletRequest("GET", "/health"), new MockHttpServletResponse());
+		verifyNoInteractions(handler);
+		assertThat(decorator.getFilterTimings()).hasSize(1);
+		decorator.setSamplingRatio(0);
+		decorator.setSamplingRatio(health, 1);
+		decorator.decorate(chain, health)
+			.doFilter(new MockHttpServletRequest("GET", "/health"), new MockHttpServletResponse());
+		verify(handler, atLeastOnce()).onStart(any());
+		assertThat(decorator.getFilterTimings().get(0).getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	void decorateWhenNotSampledThenDoesNotObserve() throws Exception {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(registry);
+		decorator.setSamplingRatio(0);
+		FilterChain chain = mock(FilterChain.class);
+		assertThat(decorator.decorate(chain)).isSameAs(chain);
+		verifyNoInteractions(handler);
+	}
+
+	@Test
+	void setSamplingRatioWhenOutOfRangeThenException() {
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(ObservationRegistry.NOOP);
+		assertThatIllegalArgumentException().isThrownBy(() -> decorator.setSamplingRatio(1.5));
+		assertThatIllegalArgumentException().isThrownBy(() -> decorator.setSamplingRatio(-0.1));
+	}
+
+	@Test
+	void setChainSamplingRatioWhenOutOfRangeThenException() {
+		ObservationFilterChainDecorator decorator = new ObservationFilterChainDecorator(ObservationRegistry.NOOP);
+		SecurityFilterChain chain = new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE);
+		assertThatIllegalArgumentException().isThrownBy(() -> decorator.setSamplingRatio(chain, 1.5));
+		assertThatIllegalArgumentException().isThrownBy(() -> decorator.setSamplingRatio(null, 0.5));
+	}
+
 	// gh-13660
 	@Test
 	void observationNamesDoNotContainDashes() {
@@ -20,6 +20,7 @@ import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.authentication.TestingAuthenticationToken;
@@ -121,6 +122,25 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(unmapped.isGranted()).isFalse();
 	}
 
+	@Test
+	public void checkWhenMappingIndexEnabledThenDelegatesFirstMatchingManager() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.add(AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/messages/**"),
+					(a, o) -> new AuthorizationDecision(false))
+			.add(AntPathRequestMatcher.antMatcher("/messages/{id}"),
+					(a, o) -> new AuthorizationDecision(o.getVariables().get("id").equals("1")))
+			.add(AntPathRequestMatcher.antMatcher("/messages/**"), (a, o) -> new AuthorizationDecision(true))
+			.add(AnyRequestMatcher.INSTANCE, (a, o) -> new AuthorizationDecision(false))
+			.mappingIndexEnabled(true)
+			.build();
+		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThat(manager.check(authentication, request("GET", "/messages/1")).isGranted()).isTrue();
+		assertThat(manager.check(authentication, request("GET", "/messages/2")).isGranted()).isFalse();
+		assertThat(manager.check(authentication, request("POST", "/messages/1")).isGranted()).isFalse();
+		assertThat(manager.check(authentication, request("GET", "/messages/1/attachments")).isGranted()).isTrue();
+		assertThat(manager.check(authentication, request("GET", "/unmapped")).isGranted()).isFalse();
+	}
+
 	@Test
 	public void addWhenMappingsConsumerNullThenException() {
 		assertThatIllegalArgumentException()
@@ -404,4 +424,10 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	private static MockHttpServletRequest request(String method, String servletPath) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, servletPath);
+		request.setServletPath(servletPath);
+		return request;
+	}
+
 }
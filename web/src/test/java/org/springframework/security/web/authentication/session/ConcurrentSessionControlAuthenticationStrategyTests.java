@@ -23,6 +23,7 @@ import java.util.Date;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -41,6 +42,8 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Rob Winch
@@ -49,7 +52,7 @@ import static org.mockito.BDDMockito.given;
 @ExtendWith(MockitoExtension.class)
 public class ConcurrentSessionControlAuthenticationStrategyTests {
 
-	@Mock
+	@Mock(answer = Answers.CALLS_REAL_METHODS)
 	private SessionRegistry sessionRegistry;
 
 	private Authentication authentication;
@@ -144,6 +147,29 @@ public class ConcurrentSessionControlAuthenticationStrategyTests {
 		assertThat(this.sessionInformation.isExpired()).isFalse();
 	}
 
+	@Test
+	public void onAuthenticationWhenSessionCountBelowMaximumThenSessionsNotRetrieved() {
+		given(this.sessionRegistry.getSessionCount(any())).willReturn(1);
+		this.strategy.setMaximumSessions(2);
+		this.strategy.setExceptionIfMaximumExceeded(true);
+		this.strategy.onAuthentication(this.authentication, this.request, this.response);
+		verify(this.sessionRegistry, never()).getLeastRecentlyUsedSessions(any(), anyBoolean());
+	}
+
+	@Test
+	public void onAuthenticationWhenMaxSessionsExceededThenLeastRecentlyUsedSessionsExpired() {
+		SessionInformation leastRecentlyUsed = new SessionInformation(this.authentication.getPrincipal(), "unique1",
+				new Date(1374766134214L));
+		given(this.sessionRegistry.getSessionCount(any())).willReturn(2);
+		given(this.sessionRegistry.getLeastRecentlyUsedSessions(any(), anyBoolean()))
+			.willReturn(Arrays.asList(leastRecentlyUsed, this.sessionInformation));
+		this.strategy.setMaximumSessions(2);
+		this.strategy.onAuthentication(this.authentication, this.request, this.response);
+		assertThat(leastRecentlyUsed.isExpired()).isTrue();
+		assertThat(this.sessionInformation.isExpired()).isFalse();
+		verify(this.sessionRegistry, never()).getAllSessions(any(), anyBoolean());
+	}
+
 	@Test
 	public void setMessageSourceNull() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.setMessageSource(null));
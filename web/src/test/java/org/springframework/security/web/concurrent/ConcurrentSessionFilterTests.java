@@ -16,6 +16,11 @@
 
 package org.springframework.security.web.concurrent;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -49,7 +54,9 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -289,6 +296,69 @@ public class ConcurrentSessionFilterTests {
 		verify(securityContextHolderStrategy).getContext();
 	}
 
+	@Test
+	public void doFilterWhenLeaseIntervalThenSessionRegistryConsultedOncePerLease() throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(), new Date());
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setSessionInformationLeaseInterval(Duration.ofSeconds(10));
+		filter.setClock(clock);
+		doFilter(filter, session);
+		doFilter(filter, session);
+		verify(registry).getSessionInformation(session.getId());
+		verify(registry).refreshLastRequest(session.getId());
+		filter.setClock(Clock.offset(clock, Duration.ofSeconds(10)));
+		doFilter(filter, session);
+		verify(registry, times(2)).getSessionInformation(session.getId());
+		verify(registry, times(2)).refreshLastRequest(session.getId());
+	}
+
+	@Test
+	public void doFilterWhenLeaseExpiredAndSessionExpiredThenExpiredSessionDetected() throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(), new Date());
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		SessionInformationExpiredStrategy expiredSessionStrategy = mock(SessionInformationExpiredStrategy.class);
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry, expiredSessionStrategy);
+		filter.setSessionInformationLeaseInterval(Duration.ofSeconds(10));
+		filter.setClock(clock);
+		doFilter(filter, session);
+		information.expireNow();
+		assertThat(doFilter(filter, session).getRequest()).isNotNull();
+		filter.setClock(Clock.offset(clock, Duration.ofSeconds(10)));
+		assertThat(doFilter(filter, session).getRequest()).isNull();
+		verify(expiredSessionStrategy).onExpiredSessionDetected(any());
+	}
+
+	@Test
+	public void doFilterWhenLastRequestRefreshExecutorThenRefreshedByExecutor() throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(), new Date());
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		List<Runnable> tasks = new ArrayList<>();
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setLastRequestRefreshExecutor(tasks::add);
+		doFilter(filter, session);
+		doFilter(filter, session);
+		verify(registry, never()).refreshLastRequest(anyString());
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		verify(registry).refreshLastRequest(session.getId());
+	}
+
+	@Test
+	public void setSessionInformationLeaseIntervalWhenNegativeThenThrowsException() {
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(new SessionRegistryImpl());
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> filter.setSessionInformationLeaseInterval(Duration.ofSeconds(-1)));
+	}
+
 	@Test
 	public void setLogoutHandlersWhenNullThenThrowsException() {
 		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(new SessionRegistryImpl());
@@ -301,4 +371,12 @@ public class ConcurrentSessionFilterTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> filter.setLogoutHandlers(new LogoutHandler[0]));
 	}
 
+	private MockFilterChain doFilter(ConcurrentSessionFilter filter, MockHttpSession session) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(session);
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		return chain;
+	}
+
 }
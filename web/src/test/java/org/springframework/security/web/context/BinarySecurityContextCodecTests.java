@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.util.SerializationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BinarySecurityContextCodec}
+ */
+public class BinarySecurityContextCodecTests {
+
+	private final BinarySecurityContextCodec codec = new BinarySecurityContextCodec();
+
+	private final List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN");
+
+	@Test
+	public void decodeWhenEmptyContextThenEmptyContext() {
+		assertThat(roundTrip(new SecurityContextImpl())).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void decodeWhenUsernamePasswordAuthenticationTokenWithUserThenEqualWithoutCredentials() {
+		User user = new User("user", "password", false, true, false, true, this.authorities);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(user,
+				"password", this.authorities);
+		token.setDetails(new WebAuthenticationDetails("127.0.0.1", "session"));
+		Authentication authentication = roundTrip(new SecurityContextImpl(token)).getAuthentication();
+		assertThat(authentication).isInstanceOf(UsernamePasswordAuthenticationToken.class);
+		assertThat(authentication.isAuthenticated()).isTrue();
+		assertThat(authentication.getCredentials()).isNull();
+		assertThat(authentication.getAuthorities()).isEqualTo(this.authorities);
+		assertThat(authentication.getDetails()).isEqualTo(token.getDetails());
+		User decoded = (User) authentication.getPrincipal();
+		assertThat(decoded.getUsername()).isEqualTo("user");
+		assertThat(decoded.getPassword()).isNull();
+		assertThat(decoded.isEnabled()).isFalse();
+		assertThat(decoded.isAccountNonExpired()).isTrue();
+		assertThat(decoded.isCredentialsNonExpired()).isFalse();
+		assertThat(decoded.isAccountNonLocked()).isTrue();
+		assertThat(decoded.getAuthorities()).containsExactlyInAnyOrderElementsOf(this.authorities);
+	}
+
+	@Test
+	public void decodeWhenUnauthenticatedTokenThenUnauthenticated() {
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("user",
+				"password");
+		Authentication authentication = roundTrip(new SecurityContextImpl(token)).getAuthentication();
+		assertThat(authentication.isAuthenticated()).isFalse();
+		assertThat(authentication.getPrincipal()).isEqualTo("user");
+	}
+
+	@Test
+	public void decodeWhenPreAuthenticatedAuthenticationTokenThenEqual() {
+		PreAuthenticatedAuthenticationToken token = new PreAuthenticatedAuthenticationToken("user", null,
+				this.authorities);
+		assertThat(roundTrip(new SecurityContextImpl(token))).isEqualTo(new SecurityContextImpl(token));
+	}
+
+	@Test
+	public void decodeWhenOtherAuthenticationThenSerialized() {
+		TestingAuthenticationToken token = new TestingAuthenticationToken("user", null, "ROLE_USER");
+		assertThat(roundTrip(new SecurityContextImpl(token))).isEqualTo(new SecurityContextImpl(token));
+	}
+
+	@Test
+	public void encodeWhenAuthoritiesRepeatedThenSmallerThanJavaSerialization() {
+		User user = new User("user", "password", this.authorities);
+		SecurityContext context = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, this.authorities));
+		byte[] bytes = this.codec.encode(context);
+		assertThat(bytes.length).isLessThan(SerializationUtils.serialize(context).length / 10);
+		assertThat(countOccurrences(bytes, "ROLE_ADMIN")).isEqualTo(1);
+	}
+
+	@Test
+	public void decodeWhenUnsupportedVersionThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.codec.decode(new byte[] { 2, 1 }));
+	}
+
+	@Test
+	public void decodeWhenTruncatedThenException() {
+		byte[] bytes = this.codec.encode(new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated("user", null, this.authorities)));
+		byte[] truncated = new byte[bytes.length - 1];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		assertThatIllegalArgumentException().isThrownBy(() -> this.codec.decode(truncated));
+	}
+
+	@Test
+	public void decodeWhenSerializedLengthExceedsInputThenException() {
+		byte[] bytes = { 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+		assertThatIllegalArgumentException().isThrownBy(() -> this.codec.decode(bytes));
+	}
+
+	@Test
+	public void decodeWhenSerializedLengthNegativeThenException() {
+		byte[] bytes = { 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+		assertThatIllegalArgumentException().isThrownBy(() -> this.codec.decode(bytes));
+	}
+
+	private SecurityContext roundTrip(SecurityContext context) {
+		return this.codec.decode(this.codec.encode(context));
+	}
+
+	private static int countOccurrences(byte[] bytes, String value) {
+		byte[] target = value.getBytes();
+		int count = 0;
+		for (int i = 0; i <= bytes.length - target.length; i++) {
+			int j = 0;
+			while (j < target.length && bytes[i + j] == target[j]) {
+				j++;
+			}
+			if (j == target.length) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
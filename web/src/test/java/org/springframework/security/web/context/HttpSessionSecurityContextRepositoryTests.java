@@ -160,6 +160,48 @@ public class HttpSessionSecurityContextRepositoryTests {
 		assertThat(repo.loadDeferredContext(request).get()).isEqualTo(expectedContext);
 	}
 
+	@Test
+	public void loadDeferredContextWhenSavedWithSecurityContextCodecThenStoredAsBytes() {
+		User user = new User("user", "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+		SecurityContextImpl expectedContext = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextCodec(new BinarySecurityContextCodec());
+		repo.saveContext(expectedContext, request, response);
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isInstanceOf(byte[].class);
+		assertThat(repo.loadDeferredContext(request).get()).isEqualTo(expectedContext);
+	}
+
+	@Test
+	public void loadDeferredContextWhenSecurityContextCodecAndStoredAsObjectThenReturned() {
+		SecurityContextImpl expectedContext = new SecurityContextImpl(this.testToken);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.getSession()
+			.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, expectedContext);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextCodec(new BinarySecurityContextCodec());
+		assertThat(repo.loadDeferredContext(request).get()).isEqualTo(expectedContext);
+	}
+
+	@Test
+	public void loadDeferredContextWhenSecurityContextCodecFailsThenEmptyContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.getSession()
+			.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new byte[] { 9 });
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextCodec(new BinarySecurityContextCodec());
+		assertThat(repo.loadDeferredContext(request).get()).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void setSecurityContextCodecWhenNullThenException() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		assertThatIllegalArgumentException().isThrownBy(() -> repo.setSecurityContextCodec(null));
+	}
+
 	@Test
 	public void loadContextHttpServletRequestWhenNotAccessedThenHttpSessionNotAccessed() {
 		HttpSession session = mock(HttpSession.class);
@@ -799,6 +841,72 @@ public class HttpSessionSecurityContextRepositoryTests {
 		assertThat(request.getSession(false)).isNull();
 	}
 
+	@Test
+	public void saveContextWhenSkipSaveWhenUnchangedAndEqualContextThenDoesNotSave() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipSaveWhenUnchanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		assertThat(repo.loadDeferredContext(request).get()).isEqualTo(context);
+		SecurityContext equalContext = createSecurityContext(PasswordEncodedUser.user());
+		repo.saveContext(equalContext, request, response);
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(context);
+		assertThat(repo.getSaveCount()).isZero();
+		assertThat(repo.getSkippedSaveCount()).isOne();
+	}
+
+	@Test
+	public void saveContextWhenSkipSaveWhenUnchangedAndAuthoritiesChangedThenSaves() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipSaveWhenUnchanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		repo.loadDeferredContext(request).get();
+		SecurityContext changedContext = createSecurityContext(PasswordEncodedUser.admin());
+		repo.saveContext(changedContext, request, response);
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(changedContext);
+		repo.saveContext(createSecurityContext(PasswordEncodedUser.admin()), request, response);
+		assertThat(repo.getSaveCount()).isOne();
+		assertThat(repo.getSkippedSaveCount()).isOne();
+	}
+
+	@Test
+	public void saveContextWhenSkipSaveWhenUnchangedAndAttributeRemovedThenSaves() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipSaveWhenUnchanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		repo.loadDeferredContext(request).get();
+		request.getSession().removeAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+		repo.saveContext(context, request, response);
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(context);
+		assertThat(repo.getSaveCount()).isOne();
+	}
+
+	@Test
+	public void saveContextWhenSkipSaveWhenUnchangedDisabledThenSaves() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		repo.loadDeferredContext(request).get();
+		SecurityContext equalContext = createSecurityContext(PasswordEncodedUser.user());
+		repo.saveContext(equalContext, request, response);
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(equalContext);
+		assertThat(repo.getSkippedSaveCount()).isZero();
+	}
+
 	private SecurityContext createSecurityContext(UserDetails userDetails) {
 		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(userDetails,
 				userDetails.getPassword(), userDetails.getAuthorities());
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link SignedCsrfTokenRepository}
+ */
+class SignedCsrfTokenRepositoryTests {
+
+	private final SecretKey key = key("key");
+
+	private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:30:00Z"), ZoneOffset.UTC);
+
+	private SignedCsrfTokenRepository repository;
+
+	private MockHttpServletRequest request;
+
+	@BeforeEach
+	void setup() {
+		this.repository = new SignedCsrfTokenRepository(new CookieCsrfTokenRepository(), this.key);
+		this.repository.setClock(this.clock);
+		this.request = new MockHttpServletRequest();
+	}
+
+	@Test
+	void constructorWhenNullDelegateThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new SignedCsrfTokenRepository(null, this.key));
+	}
+
+	@Test
+	void constructorWhenNullKeyThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new SignedCsrfTokenRepository(new CookieCsrfTokenRepository(), null));
+	}
+
+	@Test
+	void generateTokenThenSignedAndNamesFromDelegate() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		assertThat(token.getHeaderName()).isEqualTo(CookieCsrfTokenRepository.DEFAULT_CSRF_HEADER_NAME);
+		assertThat(token.getParameterName()).isEqualTo(CookieCsrfTokenRepository.DEFAULT_CSRF_PARAMETER_NAME);
+		assertThat(token.getToken()).startsWith("473352.");
+		assertThat(this.repository.generateToken(this.request).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	void loadTokenWhenSavedThenLoadedWithoutSession() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveToken(token, this.request, response);
+		MockHttpServletRequest next = requestWithToken(token.getToken());
+		assertThat(this.repository.loadToken(next).getToken()).isEqualTo(token.getToken());
+		assertThat(response.getCookie(CookieCsrfTokenRepository.DEFAULT_CSRF_COOKIE_NAME).getValue())
+			.isEqualTo(token.getToken());
+		assertThat(next.getSession(false)).isNull();
+	}
+
+	@Test
+	void loadTokenWhenNoTokenThenNull() {
+		assertThat(this.repository.loadToken(this.request)).isNull();
+	}
+
+	@Test
+	void loadTokenWhenNotSignedThenNull() {
+		assertThat(this.repository.loadToken(requestWithToken("473352.invalid"))).isNull();
+		assertThat(this.repository.loadToken(requestWithToken("invalid"))).isNull();
+		assertThat(this.repository.loadToken(requestWithToken("window.invalid"))).isNull();
+		assertThat(this.repository.loadToken(requestWithToken("473352.nonce.invalid"))).isNull();
+		assertThat(this.repository.loadToken(requestWithToken("473352..invalid"))).isNull();
+	}
+
+	@Test
+	void loadTokenWhenNonceChangedThenNull() {
+		String token = this.repository.generateToken(this.request).getToken();
+		String[] parts = token.split("\\.");
+		String otherNonce = this.repository.generateToken(this.request).getToken().split("\\.")[1];
+		String tampered = parts[0] + "." + otherNonce + "." + parts[2];
+		assertThat(this.repository.loadToken(requestWithToken(token))).isNotNull();
+		assertThat(this.repository.loadToken(requestWithToken(tampered))).isNull();
+	}
+
+	@Test
+	void loadTokenWhenOtherSessionThenNull() {
+		this.request.getSession();
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest sameSession = requestWithToken(token.getToken());
+		sameSession.setSession(this.request.getSession());
+		assertThat(this.repository.loadToken(sameSession)).isNotNull();
+		MockHttpServletRequest otherSession = requestWithToken(token.getToken());
+		otherSession.getSession();
+		assertThat(this.repository.loadToken(otherSession)).isNull();
+	}
+
+	@Test
+	void loadTokenWhenAuthenticatedThenBoundToName() {
+		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
+		given(strategy.getContext()).willReturn(
+				new SecurityContextImpl(new TestingAuthenticationToken("user", "password", "ROLE_USER")));
+		this.repository.setSecurityContextHolderStrategy(strategy);
+		this.request.getSession();
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest otherSession = requestWithToken(token.getToken());
+		otherSession.getSession();
+		assertThat(this.repository.loadToken(otherSession)).isNotNull();
+		given(strategy.getContext()).willReturn(
+				new SecurityContextImpl(new TestingAuthenticationToken("other", "password", "ROLE_USER")));
+		assertThat(this.repository.loadToken(otherSession)).isNull();
+	}
+
+	@Test
+	void loadTokenWhenAnonymousThenBoundToSession() {
+		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
+		given(strategy.getContext()).willReturn(new SecurityContextImpl(new AnonymousAuthenticationToken("key",
+				"anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"))));
+		this.repository.setSecurityContextHolderStrategy(strategy);
+		this.request.getSession();
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest sameSession = requestWithToken(token.getToken());
+		sameSession.setSession(this.request.getSession());
+		assertThat(this.repository.loadToken(sameSession)).isNotNull();
+		MockHttpServletRequest otherSession = requestWithToken(token.getToken());
+		otherSession.getSession();
+		assertThat(this.repository.loadToken(otherSession)).isNull();
+	}
+
+	@Test
+	void setSecurityContextHolderStrategyWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setSecurityContextHolderStrategy(null));
+	}
+
+	@Test
+	void loadTokenWhenCustomIdentifierThenBoundToIdentifier() {
+		this.repository.setIdentifierResolver((request) -> request.getRemoteUser());
+		this.request.setRemoteUser("user");
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest sameUser = requestWithToken(token.getToken());
+		sameUser.setRemoteUser("user");
+		assertThat(this.repository.loadToken(sameUser)).isNotNull();
+		MockHttpServletRequest otherUser = requestWithToken(token.getToken());
+		otherUser.setRemoteUser("other");
+		assertThat(this.repository.loadToken(otherUser)).isNull();
+	}
+
+	@Test
+	void loadTokenWhenPreviousWindowThenLoaded() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.setClock(Clock.offset(this.clock, Duration.ofHours(1)));
+		assertThat(this.repository.loadToken(requestWithToken(token.getToken()))).isNotNull();
+		this.repository.setClock(Clock.offset(this.clock, Duration.ofHours(2)));
+		assertThat(this.repository.loadToken(requestWithToken(token.getToken()))).isNull();
+	}
+
+	@Test
+	void loadTokenWhenPreviousSigningKeyThenLoaded() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		SignedCsrfTokenRepository rotated = new SignedCsrfTokenRepository(new CookieCsrfTokenRepository(),
+				key("rotated"));
+		rotated.setClock(this.clock);
+		assertThat(rotated.loadToken(requestWithToken(token.getToken()))).isNull();
+		rotated.setPreviousSigningKeys(List.of(this.key));
+		assertThat(rotated.loadToken(requestWithToken(token.getToken()))).isNotNull();
+		assertThat(rotated.generateToken(this.request).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	void setTimeWindowWhenLessThanOneSecondThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setTimeWindow(Duration.ofMillis(500)));
+	}
+
+	private MockHttpServletRequest requestWithToken(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(CookieCsrfTokenRepository.DEFAULT_CSRF_COOKIE_NAME, token));
+		return request;
+	}
+
+	private static SecretKey key(String value) {
+		return new SecretKeySpec(value.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+	}
+
+}
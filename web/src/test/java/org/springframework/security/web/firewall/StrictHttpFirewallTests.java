@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.firewall;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -731,6 +732,33 @@ public class StrictHttpFirewallTests {
 		assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> request.getHeader("good name"));
 	}
 
+	@Test
+	public void getFirewalledRequestGetHeaderWhenCalledTwiceThenHeaderValidatedOnce() {
+		this.request.addHeader("name", "value");
+		List<String> names = new ArrayList<>();
+		List<String> values = new ArrayList<>();
+		this.firewall.setAllowedHeaderNames((name) -> names.add(name));
+		this.firewall.setAllowedHeaderValues((value) -> values.add(value));
+		HttpServletRequest request = this.firewall.getFirewalledRequest(this.request);
+		assertThat(request.getHeader("name")).isEqualTo("value");
+		assertThat(request.getHeader("name")).isEqualTo("value");
+		assertThat(request.getHeaders("name").nextElement()).isEqualTo("value");
+		assertThat(request.getHeaderNames().nextElement()).isEqualTo("name");
+		assertThat(names).containsExactly("name");
+		assertThat(values).containsExactly("value");
+	}
+
+	@Test
+	public void getFirewalledRequestGetHeaderWhenNotAllowedHeaderValueThenExceptionEveryTime() {
+		this.request.addHeader("good name", "bad value");
+		this.firewall.setAllowedHeaderValues((value) -> !value.equals("bad value"));
+		HttpServletRequest request = this.firewall.getFirewalledRequest(this.request);
+		assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> request.getHeader("good name"));
+		assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> request.getHeader("good name"));
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> request.getHeaders("good name").nextElement());
+	}
+
 	@Test
 	public void getFirewalledRequestGetDateHeaderWhenControlCharacterInHeaderNameThenException() {
 		this.request.addHeader("Bad\0Name", "some value");
@@ -863,6 +891,45 @@ public class StrictHttpFirewallTests {
 		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> request.getParameterValues(null));
 	}
 
+	@Test
+	public void getFirewalledRequestWhenBlocklistModifiedAfterUseThenModificationApplied() {
+		this.request.setRequestURI("/context/secured");
+		this.request.setContextPath("/context");
+		this.request.setServletPath("/secured");
+		this.firewall.getFirewalledRequest(this.request);
+		this.firewall.getDecodedUrlBlocklist().add("secured");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage(
+					"The request was rejected because the URL contained a potentially malicious String \"secured\"");
+		this.firewall.getDecodedUrlBlocklist().removeIf("secured"::equals);
+		this.firewall.getFirewalledRequest(this.request);
+	}
+
+	@Test
+	public void getFirewalledRequestWhenBlocklistedAndNotNormalizedThenBlocklistRejectedFirst() {
+		this.request.setRequestURI("/a/../b;c");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage("The request was rejected because the URL contained a potentially malicious String \";\"");
+		this.firewall.setAllowSemicolon(true);
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage("The request was rejected because the URL was not normalized.");
+	}
+
+	@Test
+	public void getFirewalledRequestWhenNotNormalizedAndNotPrintableThenNotNormalizedRejectedFirst() {
+		this.request.setRequestURI("/a/./b\u00e9");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage("The request was rejected because the URL was not normalized.");
+		this.request.setRequestURI("/a/b\u00e9");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage("The requestURI was rejected because it can only contain printable ASCII characters.");
+	}
+
 	// gh-9598
 	@Test
 	public void getFirewalledRequestGetHeaderWhenNameIsNullThenNull() {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UrlBlocklist}
+ */
+public class UrlBlocklistTests {
+
+	@Test
+	public void scanWhenSeveralStringsContainedThenFirstInIterationOrder() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.addAll(Arrays.asList(";", "%3b", "%3B", "//", "%2f%2f", "%2F", " ", "%"));
+		List<String> values = Arrays.asList("/a;b//c%2F%3b", "/a b%2f%2f", "/a%3B", "/plain/path");
+		for (String value : values) {
+			String expected = blocklist.stream().filter(value::contains).findFirst().orElse(null);
+			assertThat(scan(blocklist, value)).describedAs(value).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void scanWhenEmptyStringThenAlwaysContained() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.add("");
+		assertThat(scan(blocklist, "/path")).isEmpty();
+		assertThat(scan(blocklist, null)).isNull();
+	}
+
+	@Test
+	public void scanWhenModifiedThenRecompiled() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.add(";");
+		assertThat(scan(blocklist, "/a;b")).isEqualTo(";");
+		blocklist.iterator().next();
+		blocklist.removeIf(";"::equals);
+		assertThat(scan(blocklist, "/a;b")).isNull();
+		blocklist.add("b");
+		assertThat(scan(blocklist, "/a;b")).isEqualTo("b");
+		blocklist.clear();
+		assertThat(scan(blocklist, "/a;b")).isNull();
+	}
+
+	@Test
+	public void scanWhenTraversalSegmentThenNotNormalized() {
+		UrlBlocklist.Scanner scanner = new UrlBlocklist().getScanner();
+		for (String path : Arrays.asList("/..", "/./path/", "/path/path/.", "./path", ".", "..", "/a/../b")) {
+			UrlBlocklist.Result result = new UrlBlocklist.Result();
+			scanner.scan(path, false, result);
+			assertThat(result.isNormalized()).describedAs(path).isFalse();
+		}
+		for (String path : Arrays.asList("", "/", "/.a/", "/a./...", "/a..b", "//path")) {
+			UrlBlocklist.Result result = new UrlBlocklist.Result();
+			scanner.scan(path, false, result);
+			assertThat(result.isNormalized()).describedAs(path).isTrue();
+		}
+	}
+
+	@Test
+	public void scanWhenNonPrintableThenOnlyReportedIfRequested() {
+		UrlBlocklist.Scanner scanner = new UrlBlocklist().getScanner();
+		UrlBlocklist.Result result = new UrlBlocklist.Result();
+		scanner.scan("/\u00e9t\u00e9", false, result);
+		assertThat(result.isPrintableAscii()).isTrue();
+		scanner.scan("/\u00e9t\u00e9", true, result);
+		assertThat(result.isPrintableAscii()).isFalse();
+	}
+
+	private static String scan(UrlBlocklist blocklist, String value) {
+		UrlBlocklist.Scanner scanner = blocklist.getScanner();
+		UrlBlocklist.Result result = new UrlBlocklist.Result();
+		scanner.scan(value, false, result);
+		return result.isBlocklisted() ? scanner.getBlocklisted(result) : null;
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.header.writers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link PrecomputedHeadersWriter}
+ */
+public class PrecomputedHeadersWriterTests {
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	public void setup() {
+		this.request = new MockHttpServletRequest();
+		this.response = new MockHttpServletResponse();
+	}
+
+	@Test
+	public void constructorWhenEmptyThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PrecomputedHeadersWriter(Collections.emptyList()));
+	}
+
+	@Test
+	public void writeHeadersWhenDefaultWritersThenSameHeadersAsWriters() {
+		List<HeaderWriter> writers = defaultWriters();
+		MockHttpServletResponse expected = new MockHttpServletResponse();
+		for (HeaderWriter writer : writers) {
+			writer.writeHeaders(this.request, expected);
+		}
+		new PrecomputedHeadersWriter(writers).writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeaderNames()).containsExactlyInAnyOrderElementsOf(expected.getHeaderNames());
+		for (String name : expected.getHeaderNames()) {
+			assertThat(this.response.getHeaderValues(name)).isEqualTo(expected.getHeaderValues(name));
+		}
+	}
+
+	@Test
+	public void writeHeadersWhenHeaderPresentThenNotOverridden() {
+		this.response.setHeader("Pragma", "mock");
+		this.response.setHeader("X-Content-Type-Options", "mock");
+		new PrecomputedHeadersWriter(defaultWriters()).writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeader("Pragma")).isEqualTo("mock");
+		assertThat(this.response.getHeader("Cache-Control")).isNull();
+		assertThat(this.response.getHeader("Expires")).isNull();
+		assertThat(this.response.getHeaderValues("X-Content-Type-Options")).containsExactly("mock");
+		assertThat(this.response.getHeader("X-XSS-Protection")).isEqualTo("0");
+	}
+
+	@Test
+	public void writeHeadersWhenNotModifiedThenNoCacheControl() {
+		this.response.setStatus(HttpStatus.NOT_MODIFIED.value());
+		new PrecomputedHeadersWriter(defaultWriters()).writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeader("Cache-Control")).isNull();
+		assertThat(this.response.getHeader("X-Frame-Options")).isEqualTo("DENY");
+	}
+
+	@Test
+	public void writeHeadersWhenRequestDependentWriterThenInvokedForEachRequest() {
+		PrecomputedHeadersWriter writer = new PrecomputedHeadersWriter(defaultWriters());
+		writer.writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeader("Strict-Transport-Security")).isNull();
+		this.request.setSecure(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		writer.writeHeaders(this.request, response);
+		assertThat(response.getHeader("Strict-Transport-Security")).isEqualTo("max-age=31536000 ; includeSubDomains");
+	}
+
+	@Test
+	public void writeHeadersWhenDelegatingRequestMatcherHeaderWriterThenInvokedForEachRequest() {
+		HeaderWriter delegate = mock(HeaderWriter.class);
+		HeaderWriter header = new StaticHeadersWriter("X-Custom", "value");
+		HeaderWriter matching = new DelegatingRequestMatcherHeaderWriter(new AntPathRequestMatcher("/admin/**"),
+				delegate);
+		PrecomputedHeadersWriter writer = new PrecomputedHeadersWriter(Arrays.asList(header, matching));
+		this.request.setServletPath("/admin/users");
+		writer.writeHeaders(this.request, this.response);
+		writer.writeHeaders(this.request, new MockHttpServletResponse());
+		assertThat(this.response.getHeader("X-Custom")).isEqualTo("value");
+		verify(delegate, times(2)).writeHeaders(any(), any());
+	}
+
+	@Test
+	public void writeHeadersWhenOneOfSeveralHeadersPresentThenOthersWritten() {
+		HeaderWriter headers = new StaticHeadersWriter(
+				Arrays.asList(new Header("X-First", "first"), new Header("X-Second", "second")));
+		this.response.setHeader("X-First", "mock");
+		new PrecomputedHeadersWriter(List.of(headers)).writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeaderValues("X-First")).containsExactly("mock");
+		assertThat(this.response.getHeader("X-Second")).isEqualTo("second");
+	}
+
+	@Test
+	public void writeHeadersWhenSubclassOfBuiltInWriterThenInvokedForEachRequest() {
+		HeaderWriter subclass = new StaticHeadersWriter("X-Custom", "value") {
+			@Override
+			public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+				response.setHeader("X-Custom", request.getRequestURI());
+			}
+		};
+		PrecomputedHeadersWriter writer = new PrecomputedHeadersWriter(List.of(subclass));
+		this.request.setRequestURI("/first");
+		writer.writeHeaders(this.request, this.response);
+		assertThat(this.response.getHeader("X-Custom")).isEqualTo("/first");
+	}
+
+	private static List<HeaderWriter> defaultWriters() {
+		return Arrays.asList(new XContentTypeOptionsHeaderWriter(), new XXssProtectionHeaderWriter(),
+				new CacheControlHeadersWriter(), new HstsHeaderWriter(), new XFrameOptionsHeaderWriter());
+	}
+
+}
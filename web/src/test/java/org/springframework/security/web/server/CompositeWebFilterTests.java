@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link CompositeWebFilter}
+ */
+public class CompositeWebFilterTests {
+
+	private final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+	@Test
+	public void constructorWhenEmptyThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CompositeWebFilter(Collections.emptyList()));
+	}
+
+	@Test
+	public void constructorWhenNullElementThenException() {
+		WebFilter filter = new RecordingWebFilter("a", new ArrayList<>());
+		assertThatIllegalArgumentException().isThrownBy(() -> new CompositeWebFilter(Arrays.asList(filter, null)));
+	}
+
+	@Test
+	public void filterWhenInvokedThenFiltersInOrderThenChain() {
+		List<String> invocations = new ArrayList<>();
+		CompositeWebFilter filter = new CompositeWebFilter(
+				Arrays.asList(new RecordingWebFilter("a", invocations), new RecordingWebFilter("b", invocations)));
+		filter.filter(this.exchange, (exchange) -> Mono.fromRunnable(() -> invocations.add("chain"))).block();
+		assertThat(invocations).containsExactly("a", "b", "chain");
+	}
+
+	@Test
+	public void filterWhenFilterDoesNotInvokeChainThenChainNotInvoked() {
+		WebFilter stop = mock(WebFilter.class);
+		given(stop.filter(any(), any())).willReturn(Mono.empty());
+		WebFilterChain chain = mock(WebFilterChain.class);
+		List<String> invocations = new ArrayList<>();
+		CompositeWebFilter filter = new CompositeWebFilter(
+				Arrays.asList(new RecordingWebFilter("a", invocations), stop));
+		filter.filter(this.exchange, chain).block();
+		assertThat(invocations).containsExactly("a");
+		verifyNoInteractions(chain);
+	}
+
+	@Test
+	public void getWebFiltersThenUnmodifiable() {
+		CompositeWebFilter filter = new CompositeWebFilter(
+				Arrays.asList(new RecordingWebFilter("a", new ArrayList<>())));
+		assertThat(filter.getWebFilters()).hasSize(1);
+		assertThat(filter.getWebFilters()).isUnmodifiable();
+	}
+
+	static class RecordingWebFilter implements WebFilter {
+
+		private final String name;
+
+		private final List<String> invocations;
+
+		RecordingWebFilter(String name, List<String> invocations) {
+			this.name = name;
+			this.invocations = invocations;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+			return Mono.defer(() -> {
+				this.invocations.add(this.name);
+				return chain.filter(exchange);
+			});
+		}
+
+	}
+
+}
@@ -33,6 +33,9 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.FilterTiming;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -170,6 +173,104 @@ public class ObservationWebFilterChainDecoratorTests {
 		handler.assertSpanStop(10, "http");
 	}
 
+	@Test
+	void decorateFiltersWhenNotSampledThenRecordsTimingsInsteadOfObserving() {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationWebFilterChainDecorator decorator = new ObservationWebFilterChainDecorator(registry);
+		decorator.setSamplingRatio(0);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		List<WebFilter> filters = List.of(new BasicAuthenticationFilter(), new TerminatingFilter());
+		SecurityWebFilterChain securityWebFilterChain = new MatcherSecurityWebFilterChain(
+				ServerWebExchangeMatchers.anyExchange(), filters);
+		for (int i = 0; i < 2; i++) {
+			WebFilterChain decorated = decorator.decorate(chain, securityWebFilterChain, filters);
+			decorated.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build())).block();
+		}
+		verifyNoInteractions(handler, chain);
+		List<FilterTiming> timings = decorator.getFilterTimings();
+		assertThat(timings).extracting(FilterTiming::getName)
+			.containsExactlyInAnyOrder("BasicAuthenticationFilter", "TerminatingFilter");
+		assertThat(timings).extracting(FilterTiming::getInvocations).containsOnly(2L);
+	}
+
+	@Test
+	void decorateFiltersWhenNotSampledAndCancelledThenRecordsTimings() {
+		ObservationWebFilterChainDecorator decorator = new ObservationWebFilterChainDecorator(
+				ObservationRegistry.NOOP);
+		decorator.setSamplingRatio(0);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.never());
+		List<WebFilter> filters = List.of(new BasicAuthenticationFilter());
+		SecurityWebFilterChain securityWebFilterChain = new MatcherSecurityWebFilterChain(
+				ServerWebExchangeMatchers.anyExchange(), filters);
+		decorator.decorate(chain, securityWebFilterChain, filters)
+			.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()))
+			.subscribe()
+			.dispose();
+		List<FilterTiming> timings = decorator.getFilterTimings();
+		assertThat(timings).extracting(FilterTiming::getInvocations).containsExactly(1L);
+		assertThat(timings).extracting(FilterTiming::getAfterNanos).containsExactly(0L);
+	}
+
+	@Test
+	void decorateFiltersWhenNotSampledAndNoChainThenDoesNotRecordTimings() {
+		ObservationWebFilterChainDecorator decorator = new ObservationWebFilterChainDecorator(
+				ObservationRegistry.NOOP);
+		decorator.setSamplingRatio(0);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		decorator.decorate(chain, List.of(new BasicAuthenticationFilter()))
+			.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()))
+			.block();
+		assertThat(decorator.getFilterTimings()).isEmpty();
+	}
+
+	@Test
+	void decorateChainWhenChainNotSampledThenRecordsTimingsPerChain() {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationWebFilterChainDecorator decorator = new ObservationWebFilterChainDecorator(registry);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		List<WebFilter> filters = List.of(new BasicAuthenticationFilter());
+		MatcherSecurityWebFilterChain api = new MatcherSecurityWebFilterChain(
+				new PathPatternParserServerWebExchangeMatcher("/api/**"), filters);
+		MatcherSecurityWebFilterChain web = new MatcherSecurityWebFilterChain(
+				new PathPatternParserServerWebExchangeMatcher("/**"), filters);
+		decorator.setSamplingRatio(api, 0);
+		decorator.setSamplingRatio(web, 0);
+		decorator.decorate(chain, api, filters)
+			.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api").build()))
+			.block();
+		decorator.decorate(chain, web, filters)
+			.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()))
+			.block();
+		verifyNoInteractions(handler);
+		List<FilterTiming> timings = decorator.getFilterTimings();
+		assertThat(timings).extracting(FilterTiming::getChainName)
+			.containsExactlyInAnyOrder(String.valueOf(api.getMatcher()), String.valueOf(web.getMatcher()));
+		assertThat(timings).extracting(FilterTiming::getInvocations).containsOnly(1L);
+	}
+
+	@Test
+	void decorateWhenNotSampledThenDoesNotObserve() {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		ObservationWebFilterChainDecorator decorator = new ObservationWebFilterChainDecorator(registry);
+		decorator.setSamplingRatio(0);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		assertThat(decorator.decorate(chain)).isSameAs(chain);
+		verifyNoInteractions(handler);
+	}
+
 	// gh-12849
 	@Test
 	void decorateWhenCustomAfterFilterThenObserves() {
@@ -25,6 +25,7 @@ import io.micrometer.observation.ObservationHandler;
 import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.http.HttpStatus;
@@ -71,6 +72,45 @@ public class WebFilterChainProxyTests {
 			.isNotFound();
 	}
 
+	@Test
+	public void filterWhenDeferredMatcherThenSelectsMatchingChain() {
+		ServerWebExchangeMatcher notMatch = (exchange) -> Mono.defer(MatchResult::notMatch);
+		ServerWebExchangeMatcher match = (exchange) -> Mono.defer(MatchResult::match);
+		WebFilter notSelected = mock(WebFilter.class);
+		MatcherSecurityWebFilterChain first = new MatcherSecurityWebFilterChain(notMatch, Arrays.asList(notSelected));
+		MatcherSecurityWebFilterChain second = new MatcherSecurityWebFilterChain(match,
+				Arrays.asList(new Http200WebFilter()));
+		WebFilterChainProxy filter = new WebFilterChainProxy(first, second);
+		WebTestClient.bindToController(new Object())
+			.webFilter(filter)
+			.build()
+			.get()
+			.exchange()
+			.expectStatus()
+			.isForbidden();
+		verify(notSelected, times(0)).filter(any(), any());
+	}
+
+	@Test
+	public void filterWhenMatcherChainOverridesWebFiltersThenUsesOverriddenFilters() {
+		ServerWebExchangeMatcher match = (exchange) -> MatchResult.match();
+		MatcherSecurityWebFilterChain chain = new MatcherSecurityWebFilterChain(match,
+				Arrays.asList(new PassthroughWebFilter())) {
+			@Override
+			public Flux<WebFilter> getWebFilters() {
+				return Flux.just(new Http200WebFilter());
+			}
+		};
+		WebFilterChainProxy filter = new WebFilterChainProxy(chain);
+		WebTestClient.bindToController(new Object())
+			.webFilter(filter)
+			.build()
+			.get()
+			.exchange()
+			.expectStatus()
+			.isForbidden();
+	}
+
 	@Test
 	public void doFilterWhenMatchesThenObservationRegistryObserves() {
 		ObservationHandler<Observation.Context> handler = mock(ObservationHandler.class);
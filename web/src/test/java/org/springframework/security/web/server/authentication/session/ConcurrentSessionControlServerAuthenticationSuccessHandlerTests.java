@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -46,6 +47,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -58,7 +60,7 @@ class ConcurrentSessionControlServerAuthenticationSuccessHandlerTests {
 
 	private ConcurrentSessionControlServerAuthenticationSuccessHandler strategy;
 
-	ReactiveSessionRegistry sessionRegistry = mock();
+	ReactiveSessionRegistry sessionRegistry = mock(ReactiveSessionRegistry.class, Answers.CALLS_REAL_METHODS);
 
 	ServerWebExchange exchange = mock();
 
@@ -164,6 +166,28 @@ class ConcurrentSessionControlServerAuthenticationSuccessHandlerTests {
 		assertThat(this.contextCaptor.getValue().getAuthentication()).isEqualTo(user);
 	}
 
+	@Test
+	void onAuthenticationWhenSessionCountBelowMaximumThenSessionsNotRetrieved() {
+		Authentication authentication = TestAuthentication.authenticatedUser();
+		given(this.sessionRegistry.getSessionCount(authentication.getPrincipal())).willReturn(Mono.just(0));
+		this.strategy.onAuthenticationSuccess(new WebFilterExchange(this.exchange, this.chain), authentication).block();
+		verify(this.sessionRegistry, never()).getLeastRecentlyUsedSessions(any());
+		verifyNoInteractions(this.handler);
+	}
+
+	@Test
+	void onAuthenticationWhenMaximumSessionsExceededThenHandlerCalledWithLeastRecentlyUsedSessions() {
+		Authentication authentication = TestAuthentication.authenticatedUser();
+		ReactiveSessionInformation leastRecentlyUsed = new ReactiveSessionInformation("100", "principal",
+				Instant.now().minusSeconds(60));
+		ReactiveSessionInformation mostRecentlyUsed = createSessionInformation("101");
+		given(this.sessionRegistry.getAllSessions(authentication.getPrincipal()))
+			.willReturn(Flux.just(mostRecentlyUsed, leastRecentlyUsed));
+		this.strategy.onAuthenticationSuccess(new WebFilterExchange(this.exchange, this.chain), authentication).block();
+		verify(this.handler).handle(this.contextCaptor.capture());
+		assertThat(this.contextCaptor.getValue().getSessions()).containsExactly(leastRecentlyUsed, mostRecentlyUsed);
+	}
+
 	private ReactiveSessionInformation createSessionInformation(String sessionId) {
 		return new ReactiveSessionInformation(sessionId, "principal", Instant.now());
 	}
@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.server.authorization;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -27,6 +29,7 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
 import org.springframework.web.server.ServerWebExchange;
@@ -35,6 +38,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 /**
@@ -95,4 +100,55 @@ public class DelegatingReactiveAuthorizationManagerTests {
 		verifyNoMoreInteractions(this.delegate1);
 	}
 
+	@Test
+	public void checkWhenMatchersSynchronousThenMatchesWithoutSubscribing() {
+		given(this.match1.matchesNow(any())).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		given(this.match2.matchesNow(any())).willReturn(ServerWebExchangeMatcher.MatchResult.matched(Map.of()));
+		given(this.delegate2.check(eq(this.authentication), any(AuthorizationContext.class)))
+			.willReturn(Mono.just(this.decision));
+		assertThat(this.manager.check(this.authentication, this.exchange).block()).isEqualTo(this.decision);
+		verify(this.match1, never()).matches(any());
+		verify(this.match2, never()).matches(any());
+		verifyNoMoreInteractions(this.delegate1);
+	}
+
+	@Test
+	public void checkWhenSynchronousMatchDelegateEmptyThenNextDelegateInvoked() {
+		given(this.match1.matchesNow(any())).willReturn(ServerWebExchangeMatcher.MatchResult.matched(Map.of()));
+		given(this.match2.matchesNow(any())).willReturn(ServerWebExchangeMatcher.MatchResult.matched(Map.of()));
+		given(this.delegate1.check(eq(this.authentication), any(AuthorizationContext.class))).willReturn(Mono.empty());
+		given(this.delegate2.check(eq(this.authentication), any(AuthorizationContext.class)))
+			.willReturn(Mono.just(this.decision));
+		assertThat(this.manager.check(this.authentication, this.exchange).block()).isEqualTo(this.decision);
+	}
+
+	@Test
+	public void checkWhenSecondMatcherNotSynchronousThenFallsBackToSubscribing() {
+		given(this.match1.matchesNow(any())).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		given(this.match2.matches(any())).willReturn(ServerWebExchangeMatcher.MatchResult.match());
+		given(this.delegate2.check(eq(this.authentication), any(AuthorizationContext.class)))
+			.willReturn(Mono.just(this.decision));
+		assertThat(this.manager.check(this.authentication, this.exchange).block()).isEqualTo(this.decision);
+		verify(this.match1, never()).matches(any());
+	}
+
+	@Test
+	public void checkWhenManyMappingsThenOnlyCandidateMatchersInvoked() {
+		DelegatingReactiveAuthorizationManager.Builder builder = DelegatingReactiveAuthorizationManager.builder();
+		for (int i = 0; i < 20; i++) {
+			builder.add(new ServerWebExchangeMatcherEntry<>(
+					new PathPatternParserServerWebExchangeMatcher("/resource" + i + "/**"), this.delegate1));
+		}
+		builder.add(new ServerWebExchangeMatcherEntry<>(this.match1, this.delegate1));
+		builder.add(new ServerWebExchangeMatcherEntry<>(
+				new PathPatternParserServerWebExchangeMatcher("/test/{id}"), this.delegate2));
+		given(this.match1.matches(any())).willReturn(ServerWebExchangeMatcher.MatchResult.notMatch());
+		given(this.delegate2.check(eq(this.authentication), any(AuthorizationContext.class)))
+			.willReturn(Mono.just(this.decision));
+		this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test/1").build());
+		assertThat(builder.build().check(this.authentication, this.exchange).block()).isEqualTo(this.decision);
+		verify(this.match1).matches(any());
+		verifyNoMoreInteractions(this.delegate1);
+	}
+
 }
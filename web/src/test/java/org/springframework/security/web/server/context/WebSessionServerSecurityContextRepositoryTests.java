@@ -22,8 +22,10 @@ import reactor.test.publisher.PublisherProbe;
 
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.BinarySecurityContextCodec;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebSession;
 
@@ -61,6 +63,28 @@ public class WebSessionServerSecurityContextRepositoryTests {
 		assertThat(actual).isEqualTo(expected);
 	}
 
+	@Test
+	public void saveAndLoadWhenSecurityContextCodecThenStoredAsBytes() {
+		this.repository.setSecurityContextCodec(new BinarySecurityContextCodec());
+		SecurityContext expected = new SecurityContextImpl(new TestingAuthenticationToken("user", null, "ROLE_USER"));
+		this.repository.save(this.exchange, expected).block();
+		WebSession session = this.exchange.getSession().block();
+		String attrName = WebSessionServerSecurityContextRepository.DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME;
+		assertThat(session.<Object>getAttribute(attrName)).isInstanceOf(byte[].class);
+		SecurityContext actual = this.repository.load(this.exchange).block();
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void loadWhenSecurityContextCodecCannotDecodeThenEmpty() {
+		this.repository.setSecurityContextCodec(new BinarySecurityContextCodec());
+		WebSession session = this.exchange.getSession().block();
+		session.getAttributes()
+			.put(WebSessionServerSecurityContextRepository.DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME, new byte[] { 1 });
+		SecurityContext actual = this.repository.load(this.exchange).block();
+		assertThat(actual).isNull();
+	}
+
 	@Test
 	public void saveAndLoadWhenNullThenDeletes() {
 		SecurityContext context = new SecurityContextImpl();
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.mock.web.server.MockWebSession;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SignedServerCsrfTokenRepository}
+ */
+class SignedServerCsrfTokenRepositoryTests {
+
+	private final SecretKey key = key("key");
+
+	private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:30:00Z"), ZoneOffset.UTC);
+
+	private SignedServerCsrfTokenRepository repository;
+
+	@BeforeEach
+	void setup() {
+		this.repository = new SignedServerCsrfTokenRepository(new CookieServerCsrfTokenRepository(), this.key);
+		this.repository.setClock(this.clock);
+	}
+
+	@Test
+	void constructorWhenNullDelegateThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new SignedServerCsrfTokenRepository(null, this.key));
+	}
+
+	@Test
+	void generateTokenThenSignedAndNamesFromDelegate() {
+		CsrfToken token = this.repository.generateToken(exchange(null)).block();
+		assertThat(token.getHeaderName()).isEqualTo(CookieServerCsrfTokenRepository.DEFAULT_CSRF_HEADER_NAME);
+		assertThat(token.getParameterName()).isEqualTo(CookieServerCsrfTokenRepository.DEFAULT_CSRF_PARAMETER_NAME);
+		assertThat(token.getToken()).startsWith("473352.");
+		assertThat(this.repository.generateToken(exchange(null)).block().getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	void loadTokenWhenSavedThenLoaded() {
+		MockServerWebExchange exchange = exchange(null);
+		CsrfToken token = this.repository.generateToken(exchange).block();
+		this.repository.saveToken(exchange, token).block();
+		ResponseCookie cookie = exchange.getResponse()
+			.getCookies()
+			.getFirst(CookieServerCsrfTokenRepository.DEFAULT_CSRF_COOKIE_NAME);
+		assertThat(cookie.getValue()).isEqualTo(token.getToken());
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken())).map(CsrfToken::getToken))
+			.expectNext(token.getToken())
+			.verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenNotSignedThenEmpty() {
+		StepVerifier.create(this.repository.loadToken(exchange("473352.invalid"))).verifyComplete();
+		StepVerifier.create(this.repository.loadToken(exchange("invalid"))).verifyComplete();
+		StepVerifier.create(this.repository.loadToken(exchange("473352.nonce.invalid"))).verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenOtherSessionThenEmpty() {
+		MockWebSession session = new MockWebSession();
+		session.start();
+		CsrfToken token = this.repository.generateToken(exchange(null, session)).block();
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken(), session)))
+			.expectNextCount(1)
+			.verifyComplete();
+		MockWebSession otherSession = new MockWebSession();
+		otherSession.start();
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken(), otherSession))).verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenAuthenticatedThenBoundToName() {
+		MockWebSession session = new MockWebSession();
+		session.start();
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		CsrfToken token = this.repository.generateToken(exchange(null, session))
+			.contextWrite(ReactiveSecurityContextHolder.withAuthentication(user))
+			.block();
+		MockWebSession otherSession = new MockWebSession();
+		otherSession.start();
+		StepVerifier
+			.create(this.repository.loadToken(exchange(token.getToken(), otherSession))
+				.contextWrite(ReactiveSecurityContextHolder.withAuthentication(user)))
+			.expectNextCount(1)
+			.verifyComplete();
+		Authentication other = new TestingAuthenticationToken("other", "password", "ROLE_USER");
+		StepVerifier
+			.create(this.repository.loadToken(exchange(token.getToken(), session))
+				.contextWrite(ReactiveSecurityContextHolder.withAuthentication(other)))
+			.verifyComplete();
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken(), session))).verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenAnonymousThenBoundToSession() {
+		MockWebSession session = new MockWebSession();
+		session.start();
+		Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymous",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+		CsrfToken token = this.repository.generateToken(exchange(null, session))
+			.contextWrite(ReactiveSecurityContextHolder.withAuthentication(anonymous))
+			.block();
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken(), session)))
+			.expectNextCount(1)
+			.verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenCustomIdentifierThenBoundToIdentifier() {
+		this.repository.setIdentifierResolver((exchange) -> Mono.just("user"));
+		CsrfToken token = this.repository.generateToken(exchange(null)).block();
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken()))).expectNextCount(1).verifyComplete();
+		this.repository.setIdentifierResolver((exchange) -> Mono.just("other"));
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken()))).verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenExpiredWindowThenEmpty() {
+		CsrfToken token = this.repository.generateToken(exchange(null)).block();
+		this.repository.setClock(Clock.offset(this.clock, Duration.ofHours(1)));
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken()))).expectNextCount(1).verifyComplete();
+		this.repository.setClock(Clock.offset(this.clock, Duration.ofHours(2)));
+		StepVerifier.create(this.repository.loadToken(exchange(token.getToken()))).verifyComplete();
+	}
+
+	@Test
+	void loadTokenWhenPreviousSigningKeyThenLoaded() {
+		CsrfToken token = this.repository.generateToken(exchange(null)).block();
+		SignedServerCsrfTokenRepository rotated = new SignedServerCsrfTokenRepository(
+				new CookieServerCsrfTokenRepository(), key("rotated"));
+		rotated.setClock(this.clock);
+		StepVerifier.create(rotated.loadToken(exchange(token.getToken()))).verifyComplete();
+		rotated.setPreviousSigningKeys(List.of(this.key));
+		StepVerifier.create(rotated.loadToken(exchange(token.getToken()))).expectNextCount(1).verifyComplete();
+	}
+
+	private MockServerWebExchange exchange(String token) {
+		return exchange(token, new MockWebSession());
+	}
+
+	private MockServerWebExchange exchange(String token, WebSession session) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/");
+		if (token != null) {
+			request.cookie(new HttpCookie(CookieServerCsrfTokenRepository.DEFAULT_CSRF_COOKIE_NAME, token));
+		}
+		return MockServerWebExchange.builder(request.build()).session(session).build();
+	}
+
+	private static SecretKey key(String value) {
+		return new SecretKeySpec(value.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+	}
+
+}
@@ -102,4 +102,44 @@ public class AndServerWebExchangeMatcherTests {
 		verify(this.matcher2, never()).matches(this.exchange);
 	}
 
+	@Test
+	public void matchesNowWhenTrueTrueThenTrueWithoutSubscribing() {
+		Map<String, Object> params1 = Collections.singletonMap("foo", "bar");
+		Map<String, Object> params2 = Collections.singletonMap("x", "y");
+		given(this.matcher1.matchesNow(this.exchange))
+			.willReturn(ServerWebExchangeMatcher.MatchResult.matched(params1));
+		given(this.matcher2.matchesNow(this.exchange))
+			.willReturn(ServerWebExchangeMatcher.MatchResult.matched(params2));
+		ServerWebExchangeMatcher.MatchResult matches = this.matcher.matchesNow(this.exchange);
+		assertThat(matches.isMatch()).isTrue();
+		assertThat(matches.getVariables()).hasSize(2);
+		assertThat(matches.getVariables()).containsAllEntriesOf(params1);
+		assertThat(matches.getVariables()).containsAllEntriesOf(params2);
+		verify(this.matcher1, never()).matches(this.exchange);
+		verify(this.matcher2, never()).matches(this.exchange);
+	}
+
+	@Test
+	public void matchesWhenSecondRequiresSubscriptionThenFirstNotInvokedAgain() {
+		Map<String, Object> params1 = Collections.singletonMap("foo", "bar");
+		Map<String, Object> params2 = Collections.singletonMap("x", "y");
+		given(this.matcher1.matchesNow(this.exchange))
+			.willReturn(ServerWebExchangeMatcher.MatchResult.matched(params1));
+		given(this.matcher2.matches(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.match(params2));
+		ServerWebExchangeMatcher.MatchResult matches = this.matcher.matches(this.exchange).block();
+		assertThat(matches.isMatch()).isTrue();
+		assertThat(matches.getVariables()).hasSize(2);
+		assertThat(matches.getVariables()).containsAllEntriesOf(params1);
+		assertThat(matches.getVariables()).containsAllEntriesOf(params2);
+		verify(this.matcher1).matchesNow(this.exchange);
+		verify(this.matcher1, never()).matches(this.exchange);
+	}
+
+	@Test
+	public void matchesNowWhenFalseThenFalseAndMatcher2NotInvoked() {
+		given(this.matcher1.matchesNow(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		assertThat(this.matcher.matchesNow(this.exchange).isMatch()).isFalse();
+		verify(this.matcher2, never()).matchesNow(this.exchange);
+	}
+
 }
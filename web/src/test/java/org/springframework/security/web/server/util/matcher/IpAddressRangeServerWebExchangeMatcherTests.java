@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.util.matcher.IpAddressRangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link IpAddressRangeServerWebExchangeMatcher}
+ */
+public class IpAddressRangeServerWebExchangeMatcherTests {
+
+	@Test
+	public void constructorWhenMatcherNullThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new IpAddressRangeServerWebExchangeMatcher((IpAddressRangeMatcher) null));
+	}
+
+	@Test
+	public void matchesWhenAddressInRangeThenMatch() throws UnknownHostException {
+		IpAddressRangeServerWebExchangeMatcher matcher = new IpAddressRangeServerWebExchangeMatcher(
+				List.of("192.168.1.0/24", "fe80::/64"));
+		assertThat(matcher.matches(exchange("192.168.1.104", false)).block().isMatch()).isTrue();
+		assertThat(matcher.matches(exchange("fe80::21f:5bff:fe33:bd68", false)).block().isMatch()).isTrue();
+		assertThat(matcher.matches(exchange("192.168.1.104", true)).block().isMatch()).isTrue();
+		assertThat(matcher.matches(exchange("192.168.2.104", false)).block().isMatch()).isFalse();
+	}
+
+	@Test
+	public void matchesWhenNoRemoteAddressThenNotMatch() {
+		IpAddressRangeServerWebExchangeMatcher matcher = new IpAddressRangeServerWebExchangeMatcher(
+				List.of("0.0.0.0/0"));
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		assertThat(matcher.matches(exchange).block().isMatch()).isFalse();
+	}
+
+	@Test
+	public void matchesWhenRangesReloadedThenNewRangesUsed() throws UnknownHostException {
+		IpAddressRangeMatcher ranges = new IpAddressRangeMatcher(List.of("192.168.1.0/24"));
+		IpAddressRangeServerWebExchangeMatcher matcher = new IpAddressRangeServerWebExchangeMatcher(ranges);
+		ServerWebExchange exchange = exchange("10.0.0.1", false);
+		assertThat(matcher.matches(exchange).block().isMatch()).isFalse();
+		ranges.setIpAddresses(List.of("10.0.0.0/8"));
+		assertThat(matcher.matches(exchange).block().isMatch()).isTrue();
+	}
+
+	private static ServerWebExchange exchange(String ipAddress, boolean unresolved) throws UnknownHostException {
+		return MockServerWebExchange
+			.builder(MockServerHttpRequest.get("/")
+				.remoteAddress(unresolved ? InetSocketAddress.createUnresolved(ipAddress, 8080)
+						: new InetSocketAddress(InetAddress.getByName(ipAddress), 8080)))
+			.build();
+	}
+
+}
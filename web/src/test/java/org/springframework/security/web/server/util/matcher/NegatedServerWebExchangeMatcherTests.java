@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.server.util.matcher;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,4 +68,16 @@ public class NegatedServerWebExchangeMatcherTests {
 		verify(this.matcher1).matches(this.exchange);
 	}
 
+	@Test
+	public void matchesNowWhenTrueThenFalse() {
+		given(this.matcher1.matchesNow(this.exchange))
+			.willReturn(ServerWebExchangeMatcher.MatchResult.matched(Map.of()));
+		assertThat(this.matcher.matchesNow(this.exchange).isMatch()).isFalse();
+	}
+
+	@Test
+	public void matchesNowWhenMatcherRequiresSubscriptionThenNull() {
+		assertThat(this.matcher.matchesNow(this.exchange)).isNull();
+	}
+
 }
@@ -89,4 +89,34 @@ public class OrServerWebExchangeMatcherTests {
 		verify(this.matcher2).matches(this.exchange);
 	}
 
+	@Test
+	public void matchesNowWhenFalseTrueThenTrueWithoutSubscribing() {
+		Map<String, Object> params = Collections.singletonMap("foo", "bar");
+		given(this.matcher1.matchesNow(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		given(this.matcher2.matchesNow(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.matched(params));
+		ServerWebExchangeMatcher.MatchResult matches = this.matcher.matches(this.exchange).block();
+		assertThat(matches.isMatch()).isTrue();
+		assertThat(matches.getVariables()).isEqualTo(params);
+		verify(this.matcher1, never()).matches(this.exchange);
+		verify(this.matcher2, never()).matches(this.exchange);
+	}
+
+	@Test
+	public void matchesWhenSecondRequiresSubscriptionThenFirstNotInvokedAgain() {
+		Map<String, Object> params = Collections.singletonMap("foo", "bar");
+		given(this.matcher1.matchesNow(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		given(this.matcher2.matches(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.match(params));
+		ServerWebExchangeMatcher.MatchResult matches = this.matcher.matches(this.exchange).block();
+		assertThat(matches.isMatch()).isTrue();
+		assertThat(matches.getVariables()).isEqualTo(params);
+		verify(this.matcher1).matchesNow(this.exchange);
+		verify(this.matcher1, never()).matches(this.exchange);
+	}
+
+	@Test
+	public void matchesNowWhenMatcherRequiresSubscriptionThenNull() {
+		given(this.matcher1.matchesNow(this.exchange)).willReturn(ServerWebExchangeMatcher.MatchResult.notMatched());
+		assertThat(this.matcher.matchesNow(this.exchange)).isNull();
+	}
+
 }
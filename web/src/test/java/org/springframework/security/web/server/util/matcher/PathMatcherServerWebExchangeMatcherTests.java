@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.server.util.matcher;
 
+import java.util.Collections;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -111,4 +112,20 @@ public class PathMatcherServerWebExchangeMatcherTests {
 		verifyNoMoreInteractions(this.pattern);
 	}
 
+	@Test
+	public void matchesNowWhenPathMatcherTrueThenReturnTrue() {
+		given(this.pattern.matches(any())).willReturn(true);
+		given(this.pattern.matchAndExtract(any())).willReturn(this.pathMatchInfo);
+		given(this.pathMatchInfo.getUriVariables()).willReturn(Collections.singletonMap("id", "1"));
+		ServerWebExchangeMatcher.MatchResult result = this.matcher.matchesNow(this.exchange);
+		assertThat(result.isMatch()).isTrue();
+		assertThat(result.getVariables()).containsEntry("id", "1");
+	}
+
+	@Test
+	public void matchesNowWhenPathMatcherFalseThenReturnFalse() {
+		given(this.pattern.matches(any())).willReturn(false);
+		assertThat(this.matcher.matchesNow(this.exchange).isMatch()).isFalse();
+	}
+
 }
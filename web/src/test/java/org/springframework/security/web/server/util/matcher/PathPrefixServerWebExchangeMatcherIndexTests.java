@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PathPrefixServerWebExchangeMatcherIndex}
+ */
+public class PathPrefixServerWebExchangeMatcherIndexTests {
+
+	@Test
+	public void constructorWhenItemsNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> new PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher>(null, Function.identity()));
+	}
+
+	@Test
+	public void getCandidatesWhenLiteralPrefixThenOnlyCompatibleMatchers() {
+		ServerWebExchangeMatcher api = new PathPatternParserServerWebExchangeMatcher("/api/**");
+		ServerWebExchangeMatcher messages = new PathPatternParserServerWebExchangeMatcher("/api/messages/{id}");
+		ServerWebExchangeMatcher users = new PathPatternParserServerWebExchangeMatcher("/users/*");
+		ServerWebExchangeMatcher any = ServerWebExchangeMatchers.anyExchange();
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(messages, users, api, any);
+		assertThat(index.getCandidates(path("/api/messages/1"))).containsExactly(messages, api, any);
+		assertThat(index.getCandidates(path("/api/other"))).containsExactly(api, any);
+		assertThat(index.getCandidates(path("/users/1"))).containsExactly(users, any);
+		assertThat(index.getCandidates(path("/other"))).containsExactly(any);
+		assertThat(index.getCandidates(path(""))).containsExactly(any);
+	}
+
+	@Test
+	public void getCandidatesWhenEncodedPathOrParametersThenMatchesDecodedSegment() {
+		ServerWebExchangeMatcher matcher = new PathPatternParserServerWebExchangeMatcher("/a b/c/**");
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(matcher);
+		assertThat(index.getCandidates(path("/a%20b/c;v=1/d"))).containsExactly(matcher);
+		assertThat(index.getCandidates(path("/a%20b/d"))).isEmpty();
+	}
+
+	@Test
+	public void getCandidatesWhenUnanalyzableMatcherThenAlwaysCandidateInOrder() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		ServerWebExchangeMatcher insensitive = new PathPatternParserServerWebExchangeMatcher(
+				parser.parse("/admin/**"));
+		ServerWebExchangeMatcher api = new PathPatternParserServerWebExchangeMatcher("/api/**");
+		ServerWebExchangeMatcher custom = mock(ServerWebExchangeMatcher.class);
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(insensitive, api, custom);
+		assertThat(index.getCandidates(path("/api/messages"))).containsExactly(insensitive, api, custom);
+		assertThat(index.getCandidates(path("/ADMIN"))).containsExactly(insensitive, custom);
+	}
+
+	@Test
+	public void getCandidatesWhenOrServerWebExchangeMatcherThenIndexedUnderEachDelegate() {
+		ServerWebExchangeMatcher or = ServerWebExchangeMatchers.pathMatchers("/a/**", "/b/**");
+		ServerWebExchangeMatcher a = new PathPatternParserServerWebExchangeMatcher("/a/**");
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(a, or);
+		assertThat(index.getCandidates(path("/a/x"))).containsExactly(a, or);
+		assertThat(index.getCandidates(path("/b/x"))).containsExactly(or);
+		assertThat(index.getCandidates(path("/c"))).isEmpty();
+	}
+
+	@Test
+	public void getCandidatesWhenHttpMethodThenOnlyMatchersForMethod() {
+		ServerWebExchangeMatcher get = new PathPatternParserServerWebExchangeMatcher("/messages/**", HttpMethod.GET);
+		ServerWebExchangeMatcher post = new PathPatternParserServerWebExchangeMatcher("/messages/**", HttpMethod.POST);
+		ServerWebExchangeMatcher messages = new PathPatternParserServerWebExchangeMatcher("/messages/**");
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(get, post, messages);
+		assertThat(index.getCandidates(exchange(HttpMethod.GET, "/messages"))).containsExactly(get, messages);
+		assertThat(index.getCandidates(exchange(HttpMethod.POST, "/messages"))).containsExactly(post, messages);
+		assertThat(index.getCandidates(exchange(HttpMethod.PUT, "/messages"))).containsExactly(messages);
+		assertThat(index.getCandidates(path("/messages"))).containsExactly(get, post, messages);
+	}
+
+	@Test
+	public void getCandidatesWhenContextPathThenUsesPathWithinApplication() {
+		ServerWebExchangeMatcher matcher = new PathPatternParserServerWebExchangeMatcher("/api/**");
+		PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index = index(matcher);
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("/context/api/messages").contextPath("/context"));
+		assertThat(index.getCandidates(exchange)).containsExactly(matcher);
+	}
+
+	private static PathPrefixServerWebExchangeMatcherIndex<ServerWebExchangeMatcher> index(
+			ServerWebExchangeMatcher... matchers) {
+		return new PathPrefixServerWebExchangeMatcherIndex<>(Arrays.asList(matchers), Function.identity());
+	}
+
+	private static PathContainer path(String path) {
+		return PathContainer.parsePath(path);
+	}
+
+	private static MockServerWebExchange exchange(HttpMethod method, String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+	}
+
+}
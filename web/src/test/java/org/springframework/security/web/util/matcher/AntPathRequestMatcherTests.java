@@ -16,6 +16,9 @@
 
 package org.springframework.security.web.util.matcher;
 
+import java.util.List;
+import java.util.Map;
+
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.util.UrlPathHelper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -250,6 +254,50 @@ public class AntPathRequestMatcherTests {
 		assertThat(matcher.matches(request)).isFalse();
 	}
 
+	@Test
+	public void matchesWhenCompiledPatternThenSameAsAntPathMatcher() {
+		List<String> patterns = List.of("/a/b", "/a/b/", "/a/*", "/a/*/c", "/a/**/c", "/**/c", "/a/**/b/**/c",
+				"/a?/b*c", "/{id}", "/a/{id}/c", "/a/x{id}y", "/*.html", "a/b", "/a/**/*");
+		List<String> paths = List.of("", "/", "/a", "/a/", "/a/b", "/a/b/", "/A/B", "//a//b", "/a/b/c", "/a/x/y/c",
+				"/a/b/x/c", "/ab/bxc", "/a/xzy", "/index.html", "/c", "a/b", "/a/b/c/d");
+		for (boolean caseSensitive : new boolean[] { true, false }) {
+			AntPathMatcher antPathMatcher = new AntPathMatcher();
+			antPathMatcher.setTrimTokens(false);
+			antPathMatcher.setCaseSensitive(caseSensitive);
+			for (String pattern : patterns) {
+				AntPathRequestMatcher matcher = new AntPathRequestMatcher(pattern, null, caseSensitive);
+				for (String path : paths) {
+					assertThat(matcher.matches(createRequest(path)))
+						.describedAs("pattern '%s', path '%s', caseSensitive %s", pattern, path, caseSensitive)
+						.isEqualTo(antPathMatcher.match(pattern, path));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void matcherWhenCompiledPatternWithVariablesThenExtractsVariables() {
+		AntPathRequestMatcher matcher = new AntPathRequestMatcher("/users/{user}/messages/{id}.json");
+		assertThat(matcher.matcher(createRequest("/users/rob/messages/1.json")).getVariables())
+			.isEqualTo(Map.of("user", "rob", "id", "1"));
+		assertThat(matcher.matcher(createRequest("/users/rob/messages/1.xml")).isMatch()).isFalse();
+	}
+
+	@Test
+	public void matcherWhenVariableWithRegexThenMatchesWithAntPathMatcher() {
+		AntPathRequestMatcher matcher = new AntPathRequestMatcher("/messages/{id:[0-9]+}");
+		assertThat(matcher.matcher(createRequest("/messages/12")).getVariables()).containsEntry("id", "12");
+		assertThat(matcher.matches(createRequest("/messages/abc"))).isFalse();
+	}
+
+	@Test
+	public void matchesWhenCaseInsensitiveTrailingWildcardThenIgnoresCase() {
+		AntPathRequestMatcher matcher = new AntPathRequestMatcher("/Admin/**", null, false);
+		assertThat(matcher.matches(createRequest("/ADMIN"))).isTrue();
+		assertThat(matcher.matches(createRequest("/admin/users"))).isTrue();
+		assertThat(matcher.matches(createRequest("/administrator"))).isFalse();
+	}
+
 	private HttpServletRequest createRequestWithNullMethod(String path) {
 		given(this.request.getServletPath()).willReturn(path);
 		return this.request;
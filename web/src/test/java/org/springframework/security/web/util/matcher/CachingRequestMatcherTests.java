@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.Map;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CachingRequestMatcher}
+ */
+public class CachingRequestMatcherTests {
+
+	@Test
+	public void constructorWhenDelegateNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CachingRequestMatcher(null));
+	}
+
+	@Test
+	public void matcherWhenCalledTwiceThenDelegateEvaluatedOnce() {
+		RequestMatcher delegate = mock(RequestMatcher.class);
+		MatchResult result = MatchResult.match(Map.of("id", "1"));
+		given(delegate.matcher(any())).willReturn(result);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/messages/1");
+		RequestMatcher first = new CachingRequestMatcher(delegate);
+		RequestMatcher second = new CachingRequestMatcher(delegate);
+		assertThat(first.matcher(request)).isSameAs(result);
+		assertThat(second.matches(request)).isTrue();
+		verify(delegate).matcher(request);
+	}
+
+	@Test
+	public void matcherWhenDifferentRequestsThenNotShared() {
+		RequestMatcher delegate = mock(RequestMatcher.class);
+		given(delegate.matcher(any())).willReturn(MatchResult.notMatch());
+		RequestMatcher matcher = new CachingRequestMatcher(delegate);
+		matcher.matches(new MockHttpServletRequest());
+		matcher.matches(new MockHttpServletRequest());
+		verify(delegate, times(2)).matcher(any(HttpServletRequest.class));
+	}
+
+	@Test
+	public void matcherWhenRequestPathChangesThenReevaluated() {
+		RequestMatcher matcher = new CachingRequestMatcher(new AntPathRequestMatcher("/admin/**"));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/admin/users");
+		assertThat(matcher.matches(request)).isTrue();
+		request.setServletPath("/public");
+		assertThat(matcher.matches(request)).isFalse();
+	}
+
+	@Test
+	public void matcherWhenQueryStringChangesThenReevaluated() {
+		RequestMatcher matcher = new CachingRequestMatcher(new RegexRequestMatcher(".*\\?debug=true", null));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/messages");
+		request.setQueryString("debug=true");
+		assertThat(matcher.matches(request)).isTrue();
+		request.setQueryString("debug=false");
+		assertThat(matcher.matches(request)).isFalse();
+	}
+
+	@Test
+	public void matcherWhenDispatcherTypeChangesThenReevaluated() {
+		RequestMatcher delegate = mock(RequestMatcher.class);
+		given(delegate.matcher(any())).willReturn(MatchResult.match());
+		RequestMatcher matcher = new CachingRequestMatcher(delegate);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		matcher.matches(request);
+		request.setDispatcherType(DispatcherType.ERROR);
+		matcher.matches(request);
+		verify(delegate, times(2)).matcher(request);
+	}
+
+	@Test
+	public void matcherWhenMoreDelegatesThanCacheSizeThenOldestEvicted() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestMatcher oldest = mock(RequestMatcher.class);
+		given(oldest.matcher(any())).willReturn(MatchResult.match());
+		new CachingRequestMatcher(oldest).matches(request);
+		for (int i = 0; i < CachingRequestMatcher.MatchResultCache.SIZE; i++) {
+			new CachingRequestMatcher(mock(RequestMatcher.class)).matcher(request);
+		}
+		new CachingRequestMatcher(oldest).matches(request);
+		verify(oldest, times(2)).matcher(request);
+	}
+
+}
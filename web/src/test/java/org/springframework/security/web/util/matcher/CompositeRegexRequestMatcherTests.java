@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CompositeRegexRequestMatcher}
+ */
+public class CompositeRegexRequestMatcherTests {
+
+	@Test
+	public void constructorWhenEmptyThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CompositeRegexRequestMatcher(Collections.emptyList()));
+	}
+
+	@Test
+	public void fromWhenNotRegexRequestMatcherThenException() {
+		OrRequestMatcher or = new OrRequestMatcher(new RegexRequestMatcher("/a", null),
+				new AntPathRequestMatcher("/b"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CompositeRegexRequestMatcher.from(or));
+	}
+
+	@Test
+	public void getMatchingRequestMatcherWhenSeveralMatchThenFirst() {
+		RegexRequestMatcher messages = new RegexRequestMatcher("/messages/[0-9]+", null);
+		RegexRequestMatcher all = new RegexRequestMatcher("/messages/.*", null);
+		RegexRequestMatcher users = new RegexRequestMatcher("/(users|admins)/([a-z]+)", null);
+		CompositeRegexRequestMatcher matcher = new CompositeRegexRequestMatcher(messages, all, users);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/messages/1"))).isSameAs(messages);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/messages/abc"))).isSameAs(all);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/admins/rob"))).isSameAs(users);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/other"))).isNull();
+		assertThat(matcher.matches(request("GET", "/users/rob"))).isTrue();
+		assertThat(matcher.matches(request("GET", "/users/1"))).isFalse();
+	}
+
+	@Test
+	public void matchesWhenQueryStringThenMatchedAgainstUrl() {
+		CompositeRegexRequestMatcher matcher = CompositeRegexRequestMatcher
+			.from(new OrRequestMatcher(new RegexRequestMatcher("/a", null), new RegexRequestMatcher(".*\\?x=y", null)));
+		MockHttpServletRequest request = request("GET", "/any");
+		request.setPathInfo("/path");
+		request.setQueryString("x=y");
+		assertThat(matcher.matches(request)).isTrue();
+		request.setQueryString("x=z");
+		assertThat(matcher.matches(request)).isFalse();
+	}
+
+	@Test
+	public void getMatchingRequestMatcherWhenHttpMethodThenOnlyMembersForMethod() {
+		RegexRequestMatcher get = new RegexRequestMatcher("/messages", "GET");
+		RegexRequestMatcher post = new RegexRequestMatcher("/messages", "POST");
+		RegexRequestMatcher any = new RegexRequestMatcher("/mess.*", null);
+		CompositeRegexRequestMatcher matcher = new CompositeRegexRequestMatcher(get, post, any);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/messages"))).isSameAs(get);
+		assertThat(matcher.getMatchingRequestMatcher(request("POST", "/messages"))).isSameAs(post);
+		assertThat(matcher.getMatchingRequestMatcher(request("PUT", "/messages"))).isSameAs(any);
+		assertThat(matcher.getMatchingRequestMatcher(request(null, "/messages"))).isSameAs(get);
+	}
+
+	@Test
+	public void matchesWhenEmptyHttpMethodThenSameAsMembers() {
+		RegexRequestMatcher get = new RegexRequestMatcher("/messages", "GET");
+		RegexRequestMatcher any = new RegexRequestMatcher("/other", "");
+		CompositeRegexRequestMatcher matcher = new CompositeRegexRequestMatcher(get, any);
+		MockHttpServletRequest messages = request("", "/messages");
+		assertThat(get.matches(messages)).isFalse();
+		assertThat(matcher.matches(messages)).isFalse();
+		MockHttpServletRequest other = request("", "/other");
+		assertThat(any.matches(other)).isTrue();
+		assertThat(matcher.getMatchingRequestMatcher(other)).isSameAs(any);
+	}
+
+	@Test
+	public void getMatchingRequestMatcherWhenCaseInsensitiveMemberThenOnlyThatMemberIgnoresCase() {
+		RegexRequestMatcher sensitive = new RegexRequestMatcher("/a", null);
+		RegexRequestMatcher insensitive = new RegexRequestMatcher("/b", null, true);
+		CompositeRegexRequestMatcher matcher = new CompositeRegexRequestMatcher(sensitive, insensitive);
+		assertThat(matcher.matches(request("GET", "/A"))).isFalse();
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/B"))).isSameAs(insensitive);
+	}
+
+	@Test
+	public void getMatchingRequestMatcherWhenBackReferenceThenEvaluatedInOrder() {
+		RegexRequestMatcher first = new RegexRequestMatcher("/(x)/y", null);
+		RegexRequestMatcher backReference = new RegexRequestMatcher("/([a-z])/\\1", null);
+		RegexRequestMatcher last = new RegexRequestMatcher("/.*", null);
+		CompositeRegexRequestMatcher matcher = new CompositeRegexRequestMatcher(first, backReference, last);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/x/y"))).isSameAs(first);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/a/a"))).isSameAs(backReference);
+		assertThat(matcher.getMatchingRequestMatcher(request("GET", "/a/b"))).isSameAs(last);
+	}
+
+	private static MockHttpServletRequest request(String method, String servletPath) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, servletPath);
+		request.setServletPath(servletPath);
+		return request;
+	}
+
+}
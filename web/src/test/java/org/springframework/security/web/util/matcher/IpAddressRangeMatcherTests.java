@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link IpAddressRangeMatcher}
+ */
+public class IpAddressRangeMatcherTests {
+
+	@Test
+	public void constructorWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new IpAddressRangeMatcher(null));
+	}
+
+	@Test
+	public void constructorWhenHostNameThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new IpAddressRangeMatcher(List.of("example.org")))
+			.withMessage("Failed to parse address 'example.org'");
+	}
+
+	@Test
+	public void constructorWhenMaskTooLongThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new IpAddressRangeMatcher(List.of("192.168.1.104/33")))
+			.withMessage("IP address 192.168.1.104 is too short for bitmask of length 33");
+	}
+
+	@Test
+	public void matchesWhenIpv4RangesThenMatchesAddressesInAnyRange() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(
+				List.of("10.0.0.0/8", "192.168.1.128/25", "192.168.1.10", "172.16.0.0/12"));
+		assertThat(matcher.matches("10.1.2.3")).isTrue();
+		assertThat(matcher.matches("192.168.1.159")).isTrue();
+		assertThat(matcher.matches("192.168.1.104")).isFalse();
+		assertThat(matcher.matches("192.168.1.10")).isTrue();
+		assertThat(matcher.matches("192.168.1.11")).isFalse();
+		assertThat(matcher.matches("172.31.255.255")).isTrue();
+		assertThat(matcher.matches("172.32.0.0")).isFalse();
+	}
+
+	@Test
+	public void matchesWhenIpv6RangesThenMatchesAddressesInAnyRange() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(List.of("2001:DB8::/48", "fe80::21f:5bff:fe33:bd68"));
+		assertThat(matcher.matches("2001:db8:0:ffff:ffff:ffff:ffff:ffff")).isTrue();
+		assertThat(matcher.matches("2001:db8:1::")).isFalse();
+		assertThat(matcher.matches("[fe80::21f:5bff:fe33:bd68]")).isTrue();
+		assertThat(matcher.matches("fe80::21f:5bff:fe33:bd68%eth0")).isTrue();
+		assertThat(matcher.matches("fe80::21f:5bff:fe33:bd69")).isFalse();
+	}
+
+	@Test
+	public void matchesWhenOtherAddressFamilyThenFalse() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(List.of("0.0.0.0/0"));
+		assertThat(matcher.matches("123.4.5.6")).isTrue();
+		assertThat(matcher.matches("::1")).isFalse();
+		assertThat(matcher.matches("::ffff:123.4.5.6")).isTrue();
+	}
+
+	@Test
+	public void matchesWhenNotIpAddressThenFalse() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(List.of("0.0.0.0/0", "::/0"));
+		assertThat(matcher.matches("localhost")).isFalse();
+		assertThat(matcher.matches("1.2.3")).isFalse();
+		assertThat(matcher.matches("1.2.3.256")).isFalse();
+		assertThat(matcher.matches("1::2::3")).isFalse();
+		assertThat(matcher.matches("")).isFalse();
+		assertThat(matcher.matches((String) null)).isFalse();
+	}
+
+	@Test
+	public void matchesWhenManyRangesThenSameAsIpAddressMatcher() throws Exception {
+		List<String> ranges = new ArrayList<>();
+		for (int i = 0; i < 256; i += 3) {
+			ranges.add("10." + i + ".0.0/" + (16 + i % 17));
+			ranges.add("2001:db8:" + Integer.toHexString(i) + "::/" + (48 + i % 81));
+		}
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(ranges);
+		List<IpAddressMatcher> matchers = ranges.stream().map(IpAddressMatcher::new).toList();
+		for (int i = 0; i < 256; i++) {
+			String ipv4 = "10." + i + "." + (i * 7 % 256) + ".1";
+			String ipv6 = "2001:db8:" + Integer.toHexString(i) + ":" + Integer.toHexString(i * 31) + "::1";
+			for (String address : List.of(ipv4, ipv6)) {
+				boolean expected = matchers.stream().anyMatch((m) -> m.matches(address));
+				assertThat(matcher.matches(address)).describedAs(address).isEqualTo(expected);
+				assertThat(matcher.matches(InetAddress.getByName(address))).describedAs(address).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	public void setIpAddressesWhenReloadedThenNewRangesUsed() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(List.of("192.168.1.0/24"));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr("192.168.1.104");
+		assertThat(matcher.matches(request)).isTrue();
+		matcher.setIpAddresses(List.of("10.0.0.0/8"));
+		assertThat(matcher.matches(request)).isFalse();
+	}
+
+	@Test
+	public void setIpAddressesWhenInvalidThenPreviousRangesKept() {
+		IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(List.of("192.168.1.0/24"));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> matcher.setIpAddresses(List.of("10.0.0.0/8", "10.0.0.0/abc")));
+		assertThat(matcher.matches("192.168.1.104")).isTrue();
+		assertThat(matcher.matches("10.0.0.1")).isFalse();
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PathPrefixRequestMatcherIndex}
+ */
+public class PathPrefixRequestMatcherIndexTests {
+
+	@Test
+	public void constructorWhenItemsNullThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new PathPrefixRequestMatcherIndex<RequestMatcher>(null, Function.identity()));
+	}
+
+	@Test
+	public void getCandidatesWhenLiteralPrefixThenOnlyCompatibleMatchers() {
+		RequestMatcher api = new AntPathRequestMatcher("/api/**");
+		RequestMatcher messages = new AntPathRequestMatcher("/api/messages/{id}");
+		RequestMatcher users = new AntPathRequestMatcher("/users/*");
+		RequestMatcher any = AnyRequestMatcher.INSTANCE;
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(
+				Arrays.asList(messages, users, api, any), Function.identity());
+		assertThat(index.getCandidates("/api/messages/1")).containsExactly(messages, api, any);
+		assertThat(index.getCandidates("/api/other")).containsExactly(api, any);
+		assertThat(index.getCandidates("/users/1")).containsExactly(users, any);
+		assertThat(index.getCandidates("/other")).containsExactly(any);
+		assertThat(index.getCandidates("")).containsExactly(any);
+	}
+
+	@Test
+	public void getCandidatesWhenEmptySegmentsThenIgnored() {
+		RequestMatcher api = new AntPathRequestMatcher("/api/v1/**");
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(List.of(api),
+				Function.identity());
+		assertThat(index.getCandidates("//api//v1/")).containsExactly(api);
+		assertThat(index.getCandidates("/api/v1x")).isEmpty();
+	}
+
+	@Test
+	public void getCandidatesWhenUnanalyzableMatcherThenAlwaysCandidateInOrder() {
+		RequestMatcher api = new AntPathRequestMatcher("/api/**");
+		RequestMatcher insensitive = new AntPathRequestMatcher("/admin/**", null, false);
+		RequestMatcher custom = mock(RequestMatcher.class);
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(
+				Arrays.asList(insensitive, api, custom), Function.identity());
+		assertThat(index.getCandidates("/api/messages")).containsExactly(insensitive, api, custom);
+		assertThat(index.getCandidates("/ADMIN")).containsExactly(insensitive, custom);
+	}
+
+	@Test
+	public void getCandidatesWhenOrRequestMatcherThenIndexedUnderEachDelegate() {
+		RequestMatcher or = new OrRequestMatcher(new AntPathRequestMatcher("/a/**"),
+				new AntPathRequestMatcher("/b/**"));
+		RequestMatcher a = new AntPathRequestMatcher("/a/**");
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(
+				Arrays.asList(a, or), Function.identity());
+		assertThat(index.getCandidates("/a/x")).containsExactly(a, or);
+		assertThat(index.getCandidates("/b/x")).containsExactly(or);
+		assertThat(index.getCandidates("/c")).isEmpty();
+	}
+
+	@Test
+	public void getCandidatesWhenHttpMethodThenOnlyMatchersForMethod() {
+		RequestMatcher get = AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/messages/**");
+		RequestMatcher post = AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/messages/**");
+		RequestMatcher messages = AntPathRequestMatcher.antMatcher("/messages/**");
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(
+				Arrays.asList(get, post, messages), Function.identity());
+		assertThat(index.getCandidates(request("GET", "/messages"))).containsExactly(get, messages);
+		assertThat(index.getCandidates(request("POST", "/messages"))).containsExactly(post, messages);
+		assertThat(index.getCandidates(request("PUT", "/messages"))).containsExactly(messages);
+		assertThat(index.getCandidates(request("", "/messages"))).containsExactly(get, post, messages);
+		assertThat(index.getCandidates("/messages")).containsExactly(get, post, messages);
+	}
+
+	@Test
+	public void getCandidatesWhenRequestThenUsesServletPathAndPathInfo() {
+		RequestMatcher matcher = new AntPathRequestMatcher("/spring/api/**");
+		PathPrefixRequestMatcherIndex<RequestMatcher> index = new PathPrefixRequestMatcherIndex<>(List.of(matcher),
+				Function.identity());
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/spring");
+		request.setPathInfo("/api/messages");
+		assertThat(index.getCandidates(request)).containsExactly(matcher);
+		request.setServletPath("/other");
+		assertThat(index.getCandidates(request)).isEmpty();
+	}
+
+	private static MockHttpServletRequest request(String method, String servletPath) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, servletPath);
+		request.setServletPath(servletPath);
+		return request;
+	}
+
+}